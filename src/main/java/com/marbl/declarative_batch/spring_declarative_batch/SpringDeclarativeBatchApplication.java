@@ -16,6 +16,8 @@ import org.springframework.boot.context.properties.ConfigurationPropertiesScan;
 @ConfigurationPropertiesScan
 public class SpringDeclarativeBatchApplication implements CommandLineRunner {
 
+    private static final long POLL_INTERVAL_MILLIS = 1000;
+
     private final BatchJobExecutor jobExecutor;
 
     public static void main(String[] args) {
@@ -23,11 +25,14 @@ public class SpringDeclarativeBatchApplication implements CommandLineRunner {
     }
 
     @Override
-    public void run(String... args) {
+    public void run(String... args) throws InterruptedException {
         log.info("Starting batch job from @SpringBootApplication...");
 
         JobExecution execution = jobExecutor.runJob(JobParametersUtils.fromArgs(args));
 
+        // Executor threads are daemon threads: keep the process alive until an async launch completes
+        execution = jobExecutor.awaitCompletion(execution, POLL_INTERVAL_MILLIS);
+
         if (execution != null) {
             log.info("Job execution status: {}", execution.getStatus());
         } else {
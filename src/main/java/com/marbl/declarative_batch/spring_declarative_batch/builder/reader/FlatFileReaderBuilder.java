@@ -2,13 +2,17 @@ package com.marbl.declarative_batch.spring_declarative_batch.builder.reader;
 
 import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.ComponentConfig;
 import com.marbl.declarative_batch.spring_declarative_batch.configuration.reader.FlatFileReaderConfig;
-import com.marbl.declarative_batch.spring_declarative_batch.utils.MapUtils;
+import com.marbl.declarative_batch.spring_declarative_batch.support.mapping.FieldMappers;
+import com.marbl.declarative_batch.spring_declarative_batch.support.partition.ByteRangePartitioner;
+import com.marbl.declarative_batch.spring_declarative_batch.support.partition.ByteRangeResource;
 import com.marbl.declarative_batch.spring_declarative_batch.utils.ResourceUtils;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.partition.support.MultiResourcePartitioner;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.item.file.FlatFileItemReader;
-import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.batch.item.file.mapping.FieldSetMapper;
 import org.springframework.batch.item.file.mapping.DefaultLineMapper;
 import org.springframework.batch.item.file.transform.DelimitedLineTokenizer;
 import org.springframework.core.io.Resource;
@@ -21,6 +25,8 @@ import org.springframework.core.io.Resource;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class FlatFileReaderBuilder {
 
+    private static final String PARTITION_FILE_KEY = ByteRangePartitioner.FILE_NAME_KEY;
+
     /**
      * Builds a fully configured {@link FlatFileItemReader} instance based on the provided {@link ComponentConfig}.
      *
@@ -29,23 +35,50 @@ public class FlatFileReaderBuilder {
      * @return Configured {@link FlatFileItemReader} instance
      */
     public static <I> FlatFileItemReader<I> build(ComponentConfig config) {
-        log.debug("Building FlatFileItemReader for component '{}'", config.getName());
+        return build(config, null);
+    }
 
-        // Normalize nested map structures (convert indexed maps into lists, etc.)
-        Object normalizedMap = MapUtils.normalizeMapStructure(config.getConfig());
-        log.debug("Normalized configuration map: {}", normalizedMap);
+    /**
+     * Builds a {@link FlatFileItemReader} for a single partition. When the partition context
+     * carries a {@code fileName} entry (see {@link MultiResourcePartitioner}) it replaces the configured resource,
+     * and byte range bounds (see {@link ByteRangePartitioner}) restrict reading to that slice of the file.
+     *
+     * @param config           The declarative component configuration
+     * @param partitionContext The worker step execution context, or {@code null} when not partitioned
+     * @param <I>              The target item type
+     * @return Configured {@link FlatFileItemReader} instance
+     */
+    public static <I> FlatFileItemReader<I> build(ComponentConfig config, ExecutionContext partitionContext) {
+        log.debug("Building FlatFileItemReader for component '{}'", config.getName());
 
-        // Map normalized configuration into DTO
-        FlatFileReaderConfig flatConfig = MapUtils.mapToConfigDto(normalizedMap, FlatFileReaderConfig.class);
+        // Typed configuration, bound and validated with the job configuration
+        FlatFileReaderConfig flatConfig = config.getTypedConfig(FlatFileReaderConfig.class);
         log.debug("Mapped FlatFileReaderConfig DTO: {}", flatConfig);
 
         try {
             FlatFileItemReader<I> reader = new FlatFileItemReader<>();
             reader.setName(config.getName());
 
-            Resource resource = ResourceUtils.resolveResource(flatConfig.getResource());
+            String resourcePath = flatConfig.getResource();
+            if (partitionContext != null && partitionContext.containsKey(PARTITION_FILE_KEY)) {
+                resourcePath = partitionContext.getString(PARTITION_FILE_KEY);
+                log.debug("Using partition resource '{}' for component '{}'", resourcePath, config.getName());
+            }
+
+            Resource resource = ResourceUtils.resolveResource(resourcePath);
+            int linesToSkip = flatConfig.getLineToSkip();
+
+            // Byte range partition: read only its own lines, the header belongs to the first range
+            if (partitionContext != null && partitionContext.containsKey(ByteRangePartitioner.START_KEY)) {
+                long start = partitionContext.getLong(ByteRangePartitioner.START_KEY);
+                long end = partitionContext.getLong(ByteRangePartitioner.END_KEY);
+                resource = new ByteRangeResource(resource, start, end);
+                linesToSkip = start == 0 ? linesToSkip : 0;
+                log.debug("Restricted component '{}' to bytes [{}, {})", config.getName(), start, end);
+            }
+
             reader.setResource(resource);
-            reader.setLinesToSkip(flatConfig.getLineToSkip());
+            reader.setLinesToSkip(linesToSkip);
 
             // Configure LineMapper
             DefaultLineMapper<I> lineMapper = new DefaultLineMapper<>();
@@ -54,10 +87,10 @@ public class FlatFileReaderBuilder {
             tokenizer.setDelimiter(flatConfig.getDelimiter());
             tokenizer.setNames(flatConfig.getFieldNames());
 
-            BeanWrapperFieldSetMapper<I> fieldSetMapper = new BeanWrapperFieldSetMapper<>();
             @SuppressWarnings("unchecked")
             Class<I> targetClass = (Class<I>) Class.forName(flatConfig.getMappedClass());
-            fieldSetMapper.setTargetType(targetClass);
+            FieldSetMapper<I> fieldSetMapper = FieldMappers.fieldSetMapper(
+                    targetClass, flatConfig.getFieldNames(), flatConfig.isGeneratedMapping());
 
             lineMapper.setLineTokenizer(tokenizer);
             lineMapper.setFieldSetMapper(fieldSetMapper);
@@ -66,7 +99,7 @@ public class FlatFileReaderBuilder {
             reader.afterPropertiesSet();
 
             log.info("FlatFileItemReader '{}' successfully created for resource '{}'",
-                    config.getName(), flatConfig.getResource());
+                    config.getName(), resourcePath);
             return reader;
 
         } catch (ClassNotFoundException e) {
@@ -2,13 +2,15 @@ package com.marbl.declarative_batch.spring_declarative_batch.builder.reader;
 
 import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.ComponentConfig;
 import com.marbl.declarative_batch.spring_declarative_batch.configuration.reader.JdbcCursorReaderConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.support.partition.PartitionBounds;
 import com.marbl.declarative_batch.spring_declarative_batch.utils.DatasourceUtils;
-import com.marbl.declarative_batch.spring_declarative_batch.utils.MapUtils;
 import com.marbl.declarative_batch.spring_declarative_batch.utils.ReflectionUtils;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.item.database.JdbcCursorItemReader;
+import org.springframework.batch.item.database.JdbcParameterUtils;
 import org.springframework.batch.item.database.builder.JdbcCursorItemReaderBuilder;
 import org.springframework.context.ApplicationContext;
 import org.springframework.jdbc.core.PreparedStatementSetter;
@@ -24,6 +26,8 @@ import javax.sql.DataSource;
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
 public class JdbcCursorReaderBuilder {
 
+    private static final int DEFAULT_STREAMING_FETCH_SIZE = 1000;
+
     /**
      * Builds a fully configured {@link JdbcCursorItemReader} from the provided configuration.
      *
@@ -33,15 +37,26 @@ public class JdbcCursorReaderBuilder {
      * @return a configured {@link JdbcCursorItemReader} instance
      */
     public static <I> JdbcCursorItemReader<I> build(ComponentConfig config, ApplicationContext context) {
+        return build(config, context, null);
+    }
+
+    /**
+     * Builds a {@link JdbcCursorItemReader} restricted to a single partition: the configured query
+     * is wrapped in a filtering select and the partition bounds are bound after the configured parameters.
+     *
+     * @param config           the declarative component configuration
+     * @param context          the Spring {@link ApplicationContext} to resolve dependencies
+     * @param partitionContext the worker step execution context, or {@code null} when not partitioned
+     * @param <I>              the target item type
+     * @return a configured {@link JdbcCursorItemReader} instance
+     */
+    public static <I> JdbcCursorItemReader<I> build(ComponentConfig config, ApplicationContext context,
+                                                    ExecutionContext partitionContext) {
         log.debug("Building JdbcCursorItemReader for component '{}'", config.getName());
 
         try {
-            // Normalize configuration structure (convert indexed maps, etc.)
-            Object normalizedMap = MapUtils.normalizeMapStructure(config.getConfig());
-            log.debug("Normalized configuration map: {}", normalizedMap);
-
-            // Map normalized configuration into DTO
-            JdbcCursorReaderConfig jdbcConfig = MapUtils.mapToConfigDto(normalizedMap, JdbcCursorReaderConfig.class);
+            // Typed configuration, bound and validated with the job configuration
+            JdbcCursorReaderConfig jdbcConfig = config.getTypedConfig(JdbcCursorReaderConfig.class);
             log.debug("Mapped JdbcCursorReaderConfig DTO: {}", jdbcConfig);
 
             // Resolve datasource
@@ -54,16 +69,36 @@ public class JdbcCursorReaderBuilder {
                     jdbcConfig.getPreparedStatementClass(), PreparedStatementSetter.class
             );
 
-            JdbcCursorItemReader<I> reader = new JdbcCursorItemReaderBuilder<I>()
+            String sql = jdbcConfig.getSql();
+            PartitionBounds bounds = PartitionBounds.from(partitionContext);
+            if (bounds != null) {
+                psSetter = partitionStatementSetter(psSetter, sql, bounds);
+                sql = bounds.wrapQuery(sql);
+                log.debug("Restricted component '{}' to partition {}", config.getName(), bounds);
+            }
+
+            JdbcCursorItemReaderBuilder<I> builder = new JdbcCursorItemReaderBuilder<I>()
                     .name(config.getName())
                     .dataSource(dataSource)
-                    .sql(jdbcConfig.getSql())
+                    .sql(sql)
                     .rowMapper(rowMapper)
                     .preparedStatementSetter(psSetter)
-                    .build();
+                    .fetchSize(resolveFetchSize(jdbcConfig))
+                    .maxRows(jdbcConfig.getMaxRows() != null ? jdbcConfig.getMaxRows() : -1)
+                    .queryTimeout(jdbcConfig.getQueryTimeout() != null ? jdbcConfig.getQueryTimeout() : -1)
+                    .verifyCursorPosition(jdbcConfig.isVerifyCursorPosition())
+                    .useSharedExtendedConnection(jdbcConfig.isUseSharedExtendedConnection());
+
+            // Drivers such as PostgreSQL only use a server-side cursor outside autocommit mode,
+            // otherwise the whole result set is loaded before the first row is returned
+            if (jdbcConfig.isStreaming()) {
+                builder.connectionAutoCommit(false);
+            }
+
+            JdbcCursorItemReader<I> reader = builder.build();
 
-            log.info("JdbcCursorItemReader '{}' successfully created using datasource '{}'",
-                    config.getName(), jdbcConfig.getDatasource());
+            log.info("JdbcCursorItemReader '{}' successfully created using datasource '{}' (streaming={}, fetchSize={})",
+                    config.getName(), jdbcConfig.getDatasource(), jdbcConfig.isStreaming(), resolveFetchSize(jdbcConfig));
 
             return reader;
 
@@ -76,4 +111,32 @@ public class JdbcCursorReaderBuilder {
             throw new IllegalArgumentException(errorMsg, e);
         }
     }
+
+    /**
+     * Streaming without a fetch size would still load every row, so a default is applied.
+     */
+    private static int resolveFetchSize(JdbcCursorReaderConfig jdbcConfig) {
+        if (jdbcConfig.getFetchSize() != null) {
+            return jdbcConfig.getFetchSize();
+        }
+        return jdbcConfig.isStreaming() ? DEFAULT_STREAMING_FETCH_SIZE : -1;
+    }
+
+    /**
+     * Binds the configured parameters first, then the partition bounds appended by {@link PartitionBounds#wrapQuery(String)}.
+     */
+    private static PreparedStatementSetter partitionStatementSetter(PreparedStatementSetter delegate, String sql,
+                                                                    PartitionBounds bounds) {
+        int offset = JdbcParameterUtils.countParameterPlaceholders(sql, null);
+        Object[] values = bounds.positionalParameters();
+
+        return ps -> {
+            if (delegate != null) {
+                delegate.setValues(ps);
+            }
+            for (int i = 0; i < values.length; i++) {
+                ps.setObject(offset + i + 1, values[i]);
+            }
+        };
+    }
 }
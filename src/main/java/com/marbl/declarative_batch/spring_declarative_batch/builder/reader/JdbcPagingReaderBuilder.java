@@ -2,24 +2,31 @@ package com.marbl.declarative_batch.spring_declarative_batch.builder.reader;
 
 import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.ComponentConfig;
 import com.marbl.declarative_batch.spring_declarative_batch.configuration.reader.JdbcPagingReaderConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.reader.PrefetchConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.factory.executor.TaskExecutorFactory;
+import com.marbl.declarative_batch.spring_declarative_batch.support.partition.PartitionBounds;
+import com.marbl.declarative_batch.spring_declarative_batch.support.reader.PrefetchingJdbcPagingItemReader;
 import com.marbl.declarative_batch.spring_declarative_batch.utils.DatasourceUtils;
-import com.marbl.declarative_batch.spring_declarative_batch.utils.MapUtils;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.batch.item.database.JdbcPagingItemReader;
 import org.springframework.batch.item.database.PagingQueryProvider;
 import org.springframework.context.ApplicationContext;
 import org.springframework.jdbc.core.RowMapper;
 
 import javax.sql.DataSource;
+import java.util.HashMap;
 import java.util.Map;
 
 import static com.marbl.declarative_batch.spring_declarative_batch.utils.ReflectionUtils.instantiateClass;
 
 /**
  * Factory builder responsible for creating and configuring {@link JdbcPagingItemReader}
- * instances from declarative {@link ComponentConfig} definitions.
+ * instances from declarative {@link ComponentConfig} definitions. When 'prefetch' is configured
+ * a {@link PrefetchingJdbcPagingItemReader} is built instead.
  */
 @Slf4j
 @NoArgsConstructor(access = AccessLevel.PRIVATE)
@@ -30,20 +37,36 @@ public class JdbcPagingReaderBuilder {
      *
      * @param config the component configuration containing reader properties
      * @param context the Spring {@link ApplicationContext} used to resolve dependencies
-     * @param chunk the chunk size (page size) for pagination
+     * @param chunk the chunk size, used as page size when 'pageSize' is not configured
+     * @param taskExecutorFactory the factory of the prefetch executor, used when 'prefetch' is configured
      * @param <I> the item type
-     * @return a configured {@link JdbcPagingItemReader} instance
+     * @return a configured paging reader instance
      */
-    public static <I> JdbcPagingItemReader<I> build(ComponentConfig config, ApplicationContext context, int chunk) {
+    public static <I> ItemStreamReader<I> build(ComponentConfig config, ApplicationContext context, int chunk,
+                                                TaskExecutorFactory taskExecutorFactory) {
+        return build(config, context, chunk, null, taskExecutorFactory);
+    }
+
+    /**
+     * Builds a {@link JdbcPagingItemReader} restricted to a single partition: the partition predicate
+     * is appended to the where clause and its named parameters merged with the configured ones.
+     *
+     * @param config the component configuration containing reader properties
+     * @param context the Spring {@link ApplicationContext} used to resolve dependencies
+     * @param chunk the chunk size, used as page size when 'pageSize' is not configured
+     * @param partitionContext the worker step execution context, or {@code null} when not partitioned
+     * @param taskExecutorFactory the factory of the prefetch executor, used when 'prefetch' is configured
+     * @param <I> the item type
+     * @return a configured paging reader instance
+     */
+    public static <I> ItemStreamReader<I> build(ComponentConfig config, ApplicationContext context, int chunk,
+                                                ExecutionContext partitionContext,
+                                                TaskExecutorFactory taskExecutorFactory) {
         log.debug("Building JdbcPagingItemReader for component '{}'", config.getName());
 
         try {
-            // Normalize map structure (convert numeric-keyed maps to lists)
-            Object normalizedMap = MapUtils.normalizeMapStructure(config.getConfig());
-            log.debug("Normalized configuration map: {}", normalizedMap);
-
-            // Convert normalized map into typed configuration DTO
-            JdbcPagingReaderConfig jdbcConfig = MapUtils.mapToConfigDto(normalizedMap, JdbcPagingReaderConfig.class);
+            // Typed configuration, bound and validated with the job configuration
+            JdbcPagingReaderConfig jdbcConfig = config.getTypedConfig(JdbcPagingReaderConfig.class);
             log.debug("Mapped JdbcPagingReaderConfig DTO: {}", jdbcConfig);
 
             // Resolve datasource
@@ -53,24 +76,43 @@ public class JdbcPagingReaderBuilder {
             // Instantiate RowMapper dynamically
             RowMapper<I> rowMapper = instantiateClass(jdbcConfig.getMappedClass(), RowMapper.class);
 
+            int pageSize = jdbcConfig.getPageSize() != null ? jdbcConfig.getPageSize() : chunk;
+
+            // Restrict the query to the partition rows; the DTO is shared by all the builds and is never modified
+            Map<String, Object> parameters = jdbcConfig.getParameters();
+            String whereClause = jdbcConfig.getClause().getWhereClause();
+            PartitionBounds bounds = PartitionBounds.from(partitionContext);
+            if (bounds != null) {
+                whereClause = combineWhereClause(whereClause, bounds);
+                parameters = parameters != null ? new HashMap<>(parameters) : new HashMap<>();
+                parameters.putAll(bounds.namedParameters());
+                log.debug("Restricted component '{}' to partition {}", config.getName(), bounds);
+            }
+
+            // Configure query provider and parameters
+            PagingQueryProvider queryProvider = jdbcConfig.getProviderType().create(jdbcConfig, whereClause);
+
+            if (jdbcConfig.getPrefetch() != null) {
+                return buildPrefetching(config, jdbcConfig, dataSource, rowMapper, queryProvider, parameters, pageSize,
+                        taskExecutorFactory);
+            }
+
             // Configure JdbcPagingItemReader
             JdbcPagingItemReader<I> reader = new JdbcPagingItemReader<>();
             reader.setName(config.getName());
             reader.setDataSource(dataSource);
             reader.setRowMapper(rowMapper);
-            reader.setPageSize(chunk);
-
-            // Configure query provider and parameters
-            PagingQueryProvider queryProvider = jdbcConfig.getProviderType().create(jdbcConfig);
+            reader.setPageSize(pageSize);
+            if (jdbcConfig.getFetchSize() != null) {
+                reader.setFetchSize(jdbcConfig.getFetchSize());
+            }
             reader.setQueryProvider(queryProvider);
-
-            Map<String, Object> parameters = jdbcConfig.getParameters();
             reader.setParameterValues(parameters);
 
             reader.afterPropertiesSet();
 
-            log.info("JdbcPagingItemReader '{}' successfully created with datasource '{}' and page size {}",
-                    config.getName(), jdbcConfig.getDatasource(), chunk);
+            log.info("JdbcPagingItemReader '{}' successfully created with datasource '{}', page size {} and fetch size {}",
+                    config.getName(), jdbcConfig.getDatasource(), pageSize, jdbcConfig.getFetchSize());
 
             return reader;
 
@@ -91,4 +133,48 @@ public class JdbcPagingReaderBuilder {
             throw new IllegalArgumentException(errorMsg, e);
         }
     }
+
+    private static <I> PrefetchingJdbcPagingItemReader<I> buildPrefetching(ComponentConfig config,
+                                                                         JdbcPagingReaderConfig jdbcConfig,
+                                                                         DataSource dataSource,
+                                                                         RowMapper<I> rowMapper,
+                                                                         PagingQueryProvider queryProvider,
+                                                                         Map<String, Object> parameters,
+                                                                         int pageSize,
+                                                                         TaskExecutorFactory taskExecutorFactory) throws Exception {
+        PrefetchConfig prefetch = jdbcConfig.getPrefetch();
+        PrefetchingJdbcPagingItemReader<I> reader = new PrefetchingJdbcPagingItemReader<>();
+        reader.setName(config.getName());
+        reader.setDataSource(dataSource);
+        reader.setRowMapper(rowMapper);
+        reader.setPageSize(pageSize);
+        if (jdbcConfig.getFetchSize() != null) {
+            reader.setFetchSize(jdbcConfig.getFetchSize());
+        }
+        reader.setQueueDepth(prefetch.getQueueDepth());
+        // One producer task per reader, each page query runs after the previous one
+        reader.setTaskExecutor(taskExecutorFactory.create(config.getName() + "-prefetch", 1, prefetch.getExecutor()));
+        reader.setQueryProvider(queryProvider);
+        reader.setParameterValues(parameters);
+
+        reader.afterPropertiesSet();
+
+        log.info("PrefetchingJdbcPagingItemReader '{}' successfully created with datasource '{}', page size {}, fetch size {}, queue depth {} and executor {}",
+                config.getName(), jdbcConfig.getDatasource(), pageSize, jdbcConfig.getFetchSize(),
+                prefetch.getQueueDepth(), taskExecutorFactory.resolveType(prefetch.getExecutor()));
+
+        return reader;
+    }
+
+    /**
+     * Appends the partition predicate to the configured where clause. Named parameters are used,
+     * so a configured where clause must use named parameters as well.
+     */
+    private static String combineWhereClause(String whereClause, PartitionBounds bounds) {
+        if (whereClause == null || whereClause.isBlank()) {
+            return bounds.namedPredicate();
+        }
+        String condition = whereClause.trim().replaceFirst("(?i)^where\\s+", "");
+        return "(" + condition + ") AND " + bounds.namedPredicate();
+    }
 }
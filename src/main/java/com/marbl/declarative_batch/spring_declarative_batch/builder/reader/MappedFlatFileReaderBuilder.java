@@ -0,0 +1,85 @@
+package com.marbl.declarative_batch.spring_declarative_batch.builder.reader;
+
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.ComponentConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.reader.FlatFileReaderConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.support.mapping.FieldMappers;
+import com.marbl.declarative_batch.spring_declarative_batch.support.partition.ByteRangePartitioner;
+import com.marbl.declarative_batch.spring_declarative_batch.support.reader.MappedFlatFileItemReader;
+import com.marbl.declarative_batch.spring_declarative_batch.utils.ResourceUtils;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.file.mapping.FieldSetMapper;
+
+/**
+ * Factory builder responsible for creating and configuring {@link MappedFlatFileItemReader}
+ * instances from declarative {@link ComponentConfig} definitions. Shares {@link FlatFileReaderConfig}
+ * with {@link FlatFileReaderBuilder}.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class MappedFlatFileReaderBuilder {
+
+    /**
+     * Builds a fully configured {@link MappedFlatFileItemReader}, restricted to the file or byte range
+     * of the given partition when {@code partitionContext} is not {@code null}.
+     *
+     * @param config           The declarative component configuration
+     * @param partitionContext The worker step execution context, or {@code null} when not partitioned
+     * @param <I>              The target item type
+     * @return Configured {@link MappedFlatFileItemReader} instance
+     */
+    public static <I> MappedFlatFileItemReader<I> build(ComponentConfig config, ExecutionContext partitionContext) {
+        log.debug("Building MappedFlatFileItemReader for component '{}'", config.getName());
+
+        // Typed configuration, bound and validated with the job configuration
+        FlatFileReaderConfig flatConfig = config.getTypedConfig(FlatFileReaderConfig.class);
+        log.debug("Mapped FlatFileReaderConfig DTO: {}", flatConfig);
+
+        try {
+            MappedFlatFileItemReader<I> reader = new MappedFlatFileItemReader<>();
+            reader.setName(config.getName());
+
+            String resourcePath = flatConfig.getResource();
+            if (partitionContext != null && partitionContext.containsKey(ByteRangePartitioner.FILE_NAME_KEY)) {
+                resourcePath = partitionContext.getString(ByteRangePartitioner.FILE_NAME_KEY);
+            }
+            if (partitionContext != null && partitionContext.containsKey(ByteRangePartitioner.START_KEY)) {
+                reader.setStartOffset(partitionContext.getLong(ByteRangePartitioner.START_KEY));
+                reader.setEndOffset(partitionContext.getLong(ByteRangePartitioner.END_KEY));
+            }
+
+            reader.setResource(ResourceUtils.resolveResource(resourcePath));
+            reader.setLinesToSkip(flatConfig.getLineToSkip());
+            reader.setDelimiter(flatConfig.getDelimiter());
+            reader.setNames(flatConfig.getFieldNames());
+
+            @SuppressWarnings("unchecked")
+            Class<I> targetClass = (Class<I>) Class.forName(flatConfig.getMappedClass());
+            FieldSetMapper<I> fieldSetMapper = FieldMappers.fieldSetMapper(
+                    targetClass, flatConfig.getFieldNames(), flatConfig.isGeneratedMapping());
+            reader.setFieldSetMapper(fieldSetMapper);
+
+            log.info("MappedFlatFileItemReader '{}' successfully created for resource '{}'",
+                    config.getName(), resourcePath);
+            return reader;
+
+        } catch (ClassNotFoundException e) {
+            String errorMsg = String.format(
+                    "Invalid MappedFlatFileReader configuration: mapped class '%s' not found for component '%s'",
+                    flatConfig.getMappedClass(), config.getName()
+            );
+            log.error(errorMsg, e);
+            throw new IllegalArgumentException(errorMsg, e);
+
+        } catch (Exception e) {
+            String errorMsg = String.format(
+                    "Failed to initialize MappedFlatFileItemReader for component '%s': %s",
+                    config.getName(), e.getMessage()
+            );
+            log.error(errorMsg, e);
+            throw new IllegalArgumentException(errorMsg, e);
+        }
+    }
+}
@@ -2,12 +2,12 @@ package com.marbl.declarative_batch.spring_declarative_batch.builder.writer;
 
 import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.ComponentConfig;
 import com.marbl.declarative_batch.spring_declarative_batch.configuration.writer.FlatFileWriterConfig;
-import com.marbl.declarative_batch.spring_declarative_batch.utils.MapUtils;
+import com.marbl.declarative_batch.spring_declarative_batch.support.mapping.FieldMappers;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.item.file.FlatFileItemWriter;
-import org.springframework.batch.item.file.transform.BeanWrapperFieldExtractor;
+import org.springframework.batch.item.file.transform.FieldExtractor;
 import org.springframework.batch.item.file.transform.DelimitedLineAggregator;
 import org.springframework.core.io.FileSystemResource;
 
@@ -33,12 +33,8 @@ public class FlatFileWriterBuilder {
         try {
             log.info("🧩 Building FlatFileItemWriter for component: {}", config.getName());
 
-            // Normalize the map structure (convert numeric-keyed maps to lists)
-            Object normalizedMap = MapUtils.normalizeMapStructure(config.getConfig());
-            log.debug("Normalized configuration map for FlatFileWriter: {}", normalizedMap);
-
-            // Convert normalized map to configuration DTO
-            FlatFileWriterConfig flatConfig = MapUtils.mapToConfigDto(normalizedMap, FlatFileWriterConfig.class);
+            // Typed configuration, bound and validated with the job configuration
+            FlatFileWriterConfig flatConfig = config.getTypedConfig(FlatFileWriterConfig.class);
             log.debug("Mapped configuration to FlatFileWriterConfig DTO: {}", flatConfig);
 
             // Create writer instance
@@ -64,8 +60,8 @@ public class FlatFileWriterBuilder {
             lineAggregator.setDelimiter(flatConfig.getDelimiter());
 
             // Field extractor
-            BeanWrapperFieldExtractor<O> fieldExtractor = new BeanWrapperFieldExtractor<>();
-            fieldExtractor.setNames(flatConfig.getFieldNames());
+            FieldExtractor<O> fieldExtractor = FieldMappers.fieldExtractor(
+                    resolveMappedClass(flatConfig), flatConfig.getFieldNames(), flatConfig.isGeneratedMapping());
             lineAggregator.setFieldExtractor(fieldExtractor);
 
             writer.setLineAggregator(lineAggregator);
@@ -84,4 +80,17 @@ public class FlatFileWriterBuilder {
             throw new IllegalArgumentException(errorMsg, e);
         }
     }
+
+    @SuppressWarnings("unchecked")
+    private static <O> Class<O> resolveMappedClass(FlatFileWriterConfig flatConfig) {
+        if (!flatConfig.isGeneratedMapping()) {
+            return null;
+        }
+        try {
+            return (Class<O>) Class.forName(flatConfig.getMappedClass());
+        } catch (ClassNotFoundException e) {
+            log.warn("Mapped class '{}' not found, field extraction will use BeanWrapper", flatConfig.getMappedClass());
+            return null;
+        }
+    }
 }
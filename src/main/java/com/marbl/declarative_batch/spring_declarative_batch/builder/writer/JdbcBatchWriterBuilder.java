@@ -2,8 +2,8 @@ package com.marbl.declarative_batch.spring_declarative_batch.builder.writer;
 
 import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.ComponentConfig;
 import com.marbl.declarative_batch.spring_declarative_batch.configuration.writer.JdbcBatchWriterConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.support.writer.SubBatchJdbcBatchItemWriter;
 import com.marbl.declarative_batch.spring_declarative_batch.utils.DatasourceUtils;
-import com.marbl.declarative_batch.spring_declarative_batch.utils.MapUtils;
 import lombok.AccessLevel;
 import lombok.NoArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -35,12 +35,8 @@ public class JdbcBatchWriterBuilder {
         log.debug("Building JdbcBatchItemWriter for component '{}'", config.getName());
 
         try {
-            // Normalize configuration structure (convert numeric-keyed maps to lists)
-            Object normalizedMap = MapUtils.normalizeMapStructure(config.getConfig());
-            log.debug("Normalized configuration map: {}", normalizedMap);
-
-            // Map normalized configuration into DTO
-            JdbcBatchWriterConfig jdbcConfig = MapUtils.mapToConfigDto(normalizedMap, JdbcBatchWriterConfig.class);
+            // Typed configuration, bound and validated with the job configuration
+            JdbcBatchWriterConfig jdbcConfig = config.getTypedConfig(JdbcBatchWriterConfig.class);
             log.debug("Mapped JdbcBatchWriterConfig DTO: {}", jdbcConfig);
 
             // Resolve datasource
@@ -52,8 +48,16 @@ public class JdbcBatchWriterBuilder {
                     instantiateClass(jdbcConfig.getPreparedStatementClass(), ItemPreparedStatementSetter.class);
             log.debug("Instantiated ItemPreparedStatementSetter of type '{}'", psSetter.getClass().getName());
 
-            // Configure JdbcBatchItemWriter
-            JdbcBatchItemWriter<O> writer = new JdbcBatchItemWriter<>();
+            // Configure JdbcBatchItemWriter, splitting chunks into smaller JDBC batches when requested
+            JdbcBatchItemWriter<O> writer;
+            if (jdbcConfig.getBatchSize() != null) {
+                SubBatchJdbcBatchItemWriter<O> subBatchWriter = new SubBatchJdbcBatchItemWriter<>();
+                subBatchWriter.setBatchSize(jdbcConfig.getBatchSize());
+                writer = subBatchWriter;
+                log.debug("JDBC batch size {} configured for component '{}'", jdbcConfig.getBatchSize(), config.getName());
+            } else {
+                writer = new JdbcBatchItemWriter<>();
+            }
             writer.setDataSource(dataSource);
             writer.setSql(jdbcConfig.getSql());
             writer.setItemPreparedStatementSetter(psSetter);
@@ -0,0 +1,69 @@
+package com.marbl.declarative_batch.spring_declarative_batch.builder.writer;
+
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.ComponentConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.writer.PostgresCopyWriterConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.support.mapping.FieldMappers;
+import com.marbl.declarative_batch.spring_declarative_batch.support.writer.PostgresCopyItemWriter;
+import com.marbl.declarative_batch.spring_declarative_batch.utils.DatasourceUtils;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationContext;
+
+import javax.sql.DataSource;
+
+/**
+ * Factory builder responsible for creating and configuring {@link PostgresCopyItemWriter}
+ * instances based on declarative {@link ComponentConfig} definitions.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class PostgresCopyWriterBuilder {
+
+    /**
+     * Builds and configures a {@link PostgresCopyItemWriter} using declarative configuration.
+     *
+     * @param config  the component configuration containing writer properties
+     * @param context the Spring {@link ApplicationContext} used to resolve dependencies
+     * @param <O>     the output item type
+     * @return a configured {@link PostgresCopyItemWriter} instance
+     */
+    public static <O> PostgresCopyItemWriter<O> build(ComponentConfig config, ApplicationContext context) {
+        log.debug("Building PostgresCopyItemWriter for component '{}'", config.getName());
+
+        try {
+            // Typed configuration, bound and validated with the job configuration
+            PostgresCopyWriterConfig copyConfig = config.getTypedConfig(PostgresCopyWriterConfig.class);
+            log.debug("Mapped PostgresCopyWriterConfig DTO: {}", copyConfig);
+
+            // Resolve datasource
+            DataSource dataSource = DatasourceUtils.getDataSource(context, copyConfig.getDatasource());
+            log.debug("Resolved DataSource '{}' for component '{}'", copyConfig.getDatasource(), config.getName());
+
+            PostgresCopyItemWriter<O> writer = new PostgresCopyItemWriter<>();
+            writer.setDataSource(dataSource);
+            writer.setTable(copyConfig.getTable());
+            writer.setColumns(copyConfig.getColumns());
+            writer.setFormat(copyConfig.getFormat());
+            writer.setFieldExtractor(FieldMappers.fieldExtractor(
+                    copyConfig.getFieldExtractorClass(),
+                    copyConfig.getMappedClass(),
+                    copyConfig.resolveFieldNames(),
+                    copyConfig.isGeneratedMapping()));
+            writer.afterPropertiesSet();
+
+            log.info("PostgresCopyItemWriter '{}' successfully created using datasource '{}', table '{}' and format {}",
+                    config.getName(), copyConfig.getDatasource(), copyConfig.getTable(), copyConfig.getFormat());
+
+            return writer;
+
+        } catch (Exception e) {
+            String errorMsg = String.format(
+                    "Failed to initialize PostgresCopyItemWriter for component '%s': %s",
+                    config.getName(), e.getMessage()
+            );
+            log.error(errorMsg, e);
+            throw new IllegalArgumentException(errorMsg, e);
+        }
+    }
+}
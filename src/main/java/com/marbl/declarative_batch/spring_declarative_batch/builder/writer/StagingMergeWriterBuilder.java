@@ -0,0 +1,73 @@
+package com.marbl.declarative_batch.spring_declarative_batch.builder.writer;
+
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.ComponentConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.writer.StagingMergeWriterConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.support.mapping.FieldMappers;
+import com.marbl.declarative_batch.spring_declarative_batch.support.writer.StagingMergeItemWriter;
+import com.marbl.declarative_batch.spring_declarative_batch.utils.DatasourceUtils;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationContext;
+
+import javax.sql.DataSource;
+
+/**
+ * Factory builder responsible for creating and configuring {@link StagingMergeItemWriter}
+ * instances based on declarative {@link ComponentConfig} definitions.
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class StagingMergeWriterBuilder {
+
+    /**
+     * Builds and configures a {@link StagingMergeItemWriter} using declarative configuration.
+     *
+     * @param config  the component configuration containing writer properties
+     * @param context the Spring {@link ApplicationContext} used to resolve dependencies
+     * @param <O>     the output item type
+     * @return a configured {@link StagingMergeItemWriter} instance
+     */
+    public static <O> StagingMergeItemWriter<O> build(ComponentConfig config, ApplicationContext context) {
+        log.debug("Building StagingMergeItemWriter for component '{}'", config.getName());
+
+        try {
+            // Typed configuration, bound and validated with the job configuration
+            StagingMergeWriterConfig stagingConfig = config.getTypedConfig(StagingMergeWriterConfig.class);
+            log.debug("Mapped StagingMergeWriterConfig DTO: {}", stagingConfig);
+
+            // Resolve datasource
+            DataSource dataSource = DatasourceUtils.getDataSource(context, stagingConfig.getDatasource());
+            log.debug("Resolved DataSource '{}' for component '{}'", stagingConfig.getDatasource(), config.getName());
+
+            StagingMergeItemWriter<O> writer = new StagingMergeItemWriter<>();
+            writer.setDataSource(dataSource);
+            writer.setStagingTable(stagingConfig.getStagingTable());
+            writer.setColumns(stagingConfig.getColumns());
+            writer.setStagingDdl(stagingConfig.getStagingDdl());
+            writer.setMergeSql(stagingConfig.getMergeSql());
+            writer.setLoadMethod(stagingConfig.getLoadMethod());
+            writer.setCopyFormat(stagingConfig.getCopyFormat());
+            writer.setClearMode(stagingConfig.getClearMode());
+            writer.setFieldExtractor(FieldMappers.fieldExtractor(
+                    stagingConfig.getFieldExtractorClass(),
+                    stagingConfig.getMappedClass(),
+                    stagingConfig.resolveFieldNames(),
+                    stagingConfig.isGeneratedMapping()));
+            writer.afterPropertiesSet();
+
+            log.info("StagingMergeItemWriter '{}' successfully created using datasource '{}', staging table '{}' and load method {}",
+                    config.getName(), stagingConfig.getDatasource(), stagingConfig.getStagingTable(), stagingConfig.getLoadMethod());
+
+            return writer;
+
+        } catch (Exception e) {
+            String errorMsg = String.format(
+                    "Failed to initialize StagingMergeItemWriter for component '%s': %s",
+                    config.getName(), e.getMessage()
+            );
+            log.error(errorMsg, e);
+            throw new IllegalArgumentException(errorMsg, e);
+        }
+    }
+}
@@ -1,23 +1,45 @@
 package com.marbl.declarative_batch.spring_declarative_batch.configuration;
 
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.BatchJobConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.ExecutionConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.StepsConfig;
 import com.marbl.declarative_batch.spring_declarative_batch.configuration.datasource.BatchDatasourceConfig;
 import com.marbl.declarative_batch.spring_declarative_batch.configuration.datasource.DataSourceConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.datasource.DeclarativeBatchProperties;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.datasource.DeclarativeBatchProperties.RepositoryMode;
 import com.marbl.declarative_batch.spring_declarative_batch.factory.datasource.DataSourceFactory;
+import com.marbl.declarative_batch.spring_declarative_batch.factory.executor.TaskExecutorFactory;
+import com.marbl.declarative_batch.spring_declarative_batch.support.repository.CompactExecutionContextSerializer;
+import com.marbl.declarative_batch.spring_declarative_batch.support.repository.ResourcelessJobExplorer;
+import com.marbl.declarative_batch.spring_declarative_batch.support.repository.ThrottledContextJobRepository;
+import com.marbl.declarative_batch.spring_declarative_batch.utils.StepGraphUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.configuration.BatchConfigurationException;
 import org.springframework.batch.core.configuration.support.DefaultBatchConfiguration;
 import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.explore.support.JobExplorerFactoryBean;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.repository.ExecutionContextSerializer;
 import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.dao.DefaultExecutionContextSerializer;
+import org.springframework.batch.core.repository.dao.Jackson2ExecutionContextStringSerializer;
 import org.springframework.batch.core.repository.support.JobRepositoryFactoryBean;
+import org.springframework.batch.core.repository.support.ResourcelessJobRepository;
 import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.*;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
 import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.util.ClassUtils;
 
 import javax.sql.DataSource;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @Slf4j
@@ -28,6 +50,11 @@ public class BatchCoreConfig extends DefaultBatchConfiguration {
 
     private final DataSourceFactory dataSourceFactory;
     private final BatchDatasourceConfig batchDatasourceConfig;
+    private final ExecutionConfig executionConfig;
+    private final BatchJobConfig batchJobConfig;
+    private final TaskExecutorFactory taskExecutorFactory;
+
+    private EmbeddedDatabase inMemoryMetadataDataSource;
 
     @Bean
     public Map<String, DataSource> dataSources() {
@@ -68,16 +95,77 @@ public class BatchCoreConfig extends DefaultBatchConfiguration {
         return new DataSourceTransactionManager(mainDataSource);
     }
 
+    /**
+     * Main datasource and its transaction manager used by the inherited batch infrastructure beans.
+     * The batch beans below override the no-arg methods of {@link DefaultBatchConfiguration} instead of
+     * overloading them, so that the AOT processing resolves the same factory methods as the runtime.
+     */
+    @Override
+    protected DataSource getDataSource() {
+        return mainDataSource(dataSources());
+    }
+
+    @Override
+    protected PlatformTransactionManager getTransactionManager() {
+        return transactionManager(getDataSource());
+    }
+
     @Bean
-    public JobRepository jobRepository(DataSource mainDataSource,
-                                       PlatformTransactionManager transactionManager) throws Exception {
+    @Override
+    public JobRepository jobRepository() {
+
+        RepositoryMode mode = batchDatasourceConfig.getBatchProperties().getRepositoryMode();
+        log.info("Initializing JobRepository (mode: {})...", mode);
+
+        try {
+            return switch (mode) {
+                case JDBC -> throttleContextWrites(createJdbcJobRepository(getDataSource(), getTransactionManager()));
+                case IN_MEMORY -> throttleContextWrites(createInMemoryJobRepository());
+                case RESOURCELESS -> {
+                    validateResourcelessUsage(executionConfig, batchJobConfig);
+                    log.info("JobRepository initialized without metadata persistence, restart is not supported");
+                    yield new ResourcelessJobRepository();
+                }
+            };
+        } catch (Exception e) {
+            log.error("Unable to configure the JobRepository (mode: {}): {}", mode, e.getMessage(), e);
+            throw new BatchConfigurationException("Unable to configure the JobRepository (mode: " + mode + ")", e);
+        }
+    }
 
-        log.info("Initializing JobRepository...");
+    /**
+     * The resourceless repository is not thread-safe and keeps a single job execution, always with id 1:
+     * only one launch at a time, whose steps run one after the other, can use it.
+     */
+    static void validateResourcelessUsage(ExecutionConfig executionConfig, BatchJobConfig jobConfig) {
+        if (executionConfig.isAsyncLaunch() && executionConfig.getLaunchThreads() > 1) {
+            throw new IllegalStateException(
+                    "[BatchCoreConfig] Repository mode RESOURCELESS tracks a single execution and cannot run jobs with 'async-launch' and 'launch-threads' > 1.");
+        }
+        List<StepsConfig> steps = jobConfig.getSteps();
+        if (steps == null) {
+            return;
+        }
+        for (StepsConfig step : steps) {
+            if (step.getConcurrency() != null || step.getType() == StepsConfig.StepType.PARTITIONED) {
+                throw new IllegalStateException("[BatchCoreConfig] Repository mode RESOURCELESS is not thread-safe and cannot run step '"
+                        + step.getName() + "' with 'concurrency' or as PARTITIONED.");
+            }
+        }
+        if (StepGraphUtils.hasDependencies(steps)
+                && StepGraphUtils.topologicalLevels(steps).stream().anyMatch(level -> level.size() > 1)) {
+            throw new IllegalStateException(
+                    "[BatchCoreConfig] Repository mode RESOURCELESS is not thread-safe and cannot run steps in parallel with 'depends-on'.");
+        }
+    }
 
+    private JobRepository createJdbcJobRepository(DataSource mainDataSource,
+                                                  PlatformTransactionManager transactionManager) throws Exception {
         JobRepositoryFactoryBean jobRepositoryFactory = new JobRepositoryFactoryBean();
         jobRepositoryFactory.setDataSource(mainDataSource);
         jobRepositoryFactory.setTransactionManager(transactionManager);
         jobRepositoryFactory.setTablePrefix(batchDatasourceConfig.getBatchProperties().getJdbc().getTablePrefix());
+        jobRepositoryFactory.setSerializer(createContextSerializer());
 
         String isolationLevel = batchDatasourceConfig.getDatasources().values().stream()
                 .filter(DataSourceConfig::isMain)
@@ -108,16 +196,60 @@ public class BatchCoreConfig extends DefaultBatchConfiguration {
         return jobRepositoryFactory.getObject();
     }
 
+    /**
+     * JDBC repository on a private embedded H2 database: same behavior as the JDBC mode within the
+     * running application, without any write on the main datasource.
+     */
+    private JobRepository createInMemoryJobRepository() throws Exception {
+        DataSource metadataDataSource = getInMemoryMetadataDataSource();
+
+        JobRepositoryFactoryBean jobRepositoryFactory = new JobRepositoryFactoryBean();
+        jobRepositoryFactory.setDataSource(metadataDataSource);
+        jobRepositoryFactory.setTransactionManager(new DataSourceTransactionManager(metadataDataSource));
+        jobRepositoryFactory.setDatabaseType("H2");
+        jobRepositoryFactory.setSerializer(createContextSerializer());
+        jobRepositoryFactory.afterPropertiesSet();
+
+        log.info("JobRepository initialized successfully on in-memory database");
+        return jobRepositoryFactory.getObject();
+    }
+
     @Bean
-    public JobExplorer jobExplorer(DataSource mainDataSource,
-                                   BatchDatasourceConfig batchDatasourceConfig) throws Exception {
+    @Override
+    public JobExplorer jobExplorer() {
 
         log.info("Initializing JobExplorer...");
 
+        RepositoryMode mode = batchDatasourceConfig.getBatchProperties().getRepositoryMode();
+        if (mode == RepositoryMode.RESOURCELESS) {
+            log.info("JobExplorer initialized on the resourceless JobRepository");
+            return new ResourcelessJobExplorer((ResourcelessJobRepository) jobRepository());
+        }
+        try {
+            return createJdbcJobExplorer(mode);
+        } catch (Exception e) {
+            log.error("Unable to configure the JobExplorer (mode: {}): {}", mode, e.getMessage(), e);
+            throw new BatchConfigurationException("Unable to configure the JobExplorer (mode: " + mode + ")", e);
+        }
+    }
+
+    private JobExplorer createJdbcJobExplorer(RepositoryMode mode) throws Exception {
+        if (mode == RepositoryMode.IN_MEMORY) {
+            DataSource metadataDataSource = getInMemoryMetadataDataSource();
+            JobExplorerFactoryBean jobExplorerFactoryBean = new JobExplorerFactoryBean();
+            jobExplorerFactoryBean.setDataSource(metadataDataSource);
+            jobExplorerFactoryBean.setTransactionManager(new DataSourceTransactionManager(metadataDataSource));
+            jobExplorerFactoryBean.setSerializer(createContextSerializer());
+            jobExplorerFactoryBean.afterPropertiesSet();
+            log.info("JobExplorer initialized successfully on in-memory database");
+            return jobExplorerFactoryBean.getObject();
+        }
+
         JobExplorerFactoryBean jobExplorerFactoryBean = new JobExplorerFactoryBean();
-        jobExplorerFactoryBean.setDataSource(mainDataSource);
-        jobExplorerFactoryBean.setTransactionManager(transactionManager(mainDataSource));
+        jobExplorerFactoryBean.setDataSource(getDataSource());
+        jobExplorerFactoryBean.setTransactionManager(getTransactionManager());
         jobExplorerFactoryBean.setTablePrefix(batchDatasourceConfig.getBatchProperties().getJdbc().getTablePrefix());
+        jobExplorerFactoryBean.setSerializer(createContextSerializer());
         jobExplorerFactoryBean.afterPropertiesSet();
 
         log.debug("JobExplorer configuration: tablePrefix={}",
@@ -127,6 +259,65 @@ public class BatchCoreConfig extends DefaultBatchConfiguration {
         return jobExplorerFactoryBean.getObject();
     }
 
+    /**
+     * Defers the step execution context writes when 'bulk.batch-properties.execution-context' asks for it.
+     */
+    private JobRepository throttleContextWrites(JobRepository jobRepository) {
+        DeclarativeBatchProperties.ExecutionContext executionContext = batchDatasourceConfig.getBatchProperties().getExecutionContext();
+        if (!executionContext.isThrottled()) {
+            return jobRepository;
+        }
+        log.info("Step execution context persisted every {} chunks or {} ms",
+                executionContext.getPersistEveryChunks(),
+                executionContext.getPersistIntervalMillis() != null ? executionContext.getPersistIntervalMillis() : "-");
+        return new ThrottledContextJobRepository(jobRepository,
+                executionContext.getPersistEveryChunks(),
+                executionContext.getPersistIntervalMillis());
+    }
+
+    /**
+     * Serializer of the execution contexts, shared by repository and explorer. DEFAULT is the one the
+     * factory beans fall back to when none is set, so contexts already stored stay readable.
+     */
+    private ExecutionContextSerializer createContextSerializer() {
+        return switch (batchDatasourceConfig.getBatchProperties().getExecutionContext().getSerializer()) {
+            case DEFAULT -> new DefaultExecutionContextSerializer();
+            case JACKSON -> new Jackson2ExecutionContextStringSerializer();
+            case COMPACT -> new CompactExecutionContextSerializer();
+        };
+    }
+
+    /**
+     * Embedded database holding the batch metadata in IN_MEMORY mode, shared by repository and explorer.
+     */
+    private synchronized DataSource getInMemoryMetadataDataSource() {
+        if (inMemoryMetadataDataSource == null) {
+            if (!ClassUtils.isPresent("org.h2.Driver", getClass().getClassLoader())) {
+                throw new IllegalStateException(
+                        "[BatchCoreConfig] Repository mode IN_MEMORY requires the H2 driver (com.h2database:h2) on the classpath.");
+            }
+            inMemoryMetadataDataSource = new EmbeddedDatabaseBuilder()
+                    .setType(EmbeddedDatabaseType.H2)
+                    .generateUniqueName(true)
+                    .addScript("org/springframework/batch/core/schema-h2.sql")
+                    .build();
+            log.info("Created in-memory database for batch metadata");
+        }
+        return inMemoryMetadataDataSource;
+    }
+
+    /**
+     * Executor of the {@code JobLauncher}: the caller thread unless 'bulk.execution.async-launch' is enabled.
+     */
+    @Override
+    protected TaskExecutor getTaskExecutor() {
+        if (!executionConfig.isAsyncLaunch()) {
+            return new SyncTaskExecutor();
+        }
+        log.info("Jobs will be launched asynchronously");
+        return taskExecutorFactory.create("job-launcher", executionConfig.getLaunchThreads(), null);
+    }
+
     @Bean
     @Profile("local")
     public RunIdIncrementer runIdIncrementer() {
@@ -0,0 +1,27 @@
+package com.marbl.declarative_batch.spring_declarative_batch.configuration.batch;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+@Data
+public class AdaptiveChunkConfig {
+
+    @Min(value = 1, message = "'minChunk' must be greater than zero")
+    private int minChunk = 1;
+
+    @Min(value = 1, message = "'maxChunk' must be greater than zero")
+    private int maxChunk = 10_000;
+
+    // Wanted duration of a chunk transaction (read, process, write and commit)
+    @Min(value = 1, message = "'targetLatencyMillis' must be greater than zero")
+    private long targetLatencyMillis = 1000;
+
+    /**
+     * Validation: the bounds must define a non-empty interval
+     */
+    @AssertTrue(message = "'minChunk' must not be greater than 'maxChunk'")
+    public boolean isValidBounds() {
+        return minChunk <= maxChunk;
+    }
+}
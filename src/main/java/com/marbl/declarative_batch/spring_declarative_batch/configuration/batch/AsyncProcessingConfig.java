@@ -0,0 +1,15 @@
+package com.marbl.declarative_batch.spring_declarative_batch.configuration.batch;
+
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.ConcurrencyConfig.ExecutorType;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+@Data
+public class AsyncProcessingConfig {
+
+    // Items of a chunk processed at the same time
+    @Min(value = 1, message = "'threads' must be greater than zero")
+    private int threads = 4;
+
+    private ExecutorType executor; // defaults to the 'bulk.execution' setting
+}
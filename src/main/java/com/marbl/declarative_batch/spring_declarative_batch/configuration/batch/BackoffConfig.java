@@ -0,0 +1,37 @@
+package com.marbl.declarative_batch.spring_declarative_batch.configuration.batch;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class BackoffConfig {
+
+    public enum BackoffPolicy {
+        FIXED,              // same pause before every retry
+        EXPONENTIAL,        // pause multiplied at every retry, up to the max interval
+        EXPONENTIAL_RANDOM  // exponential pause with random jitter, spreads retries of concurrent threads
+    }
+
+    @NotNull(message = "'policy' must be specified")
+    private BackoffPolicy policy = BackoffPolicy.EXPONENTIAL_RANDOM;
+
+    @Min(value = 1, message = "'initialIntervalMillis' must be greater than zero")
+    private long initialIntervalMillis = 100;
+
+    @DecimalMin(value = "1.0", message = "'multiplier' must be at least 1")
+    private double multiplier = 2.0;
+
+    @Min(value = 1, message = "'maxIntervalMillis' must be greater than zero")
+    private long maxIntervalMillis = 30_000;
+
+    /**
+     * Validation: the first pause cannot exceed the max interval
+     */
+    @AssertTrue(message = "'initialIntervalMillis' must not be greater than 'maxIntervalMillis'")
+    public boolean isValidIntervals() {
+        return initialIntervalMillis <= maxIntervalMillis;
+    }
+}
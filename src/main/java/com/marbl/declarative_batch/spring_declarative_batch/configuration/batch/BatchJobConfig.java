@@ -1,14 +1,19 @@
 package com.marbl.declarative_batch.spring_declarative_batch.configuration.batch;
 
+import com.marbl.declarative_batch.spring_declarative_batch.utils.StepGraphUtils;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.validation.annotation.Validated;
 
 import java.util.List;
 
 @Data
+@Slf4j
 @Validated
 @ConfigurationProperties(prefix = "bulk.batch-job")
 public class BatchJobConfig {
@@ -23,5 +28,33 @@ public class BatchJobConfig {
     @NotEmpty(message = "The batch job must contain at least one step")
     private List<StepsConfig> steps;
 
+    // Steps of a DAG job running at the same time, defaults to the widest level of the graph
+    @Min(value = 1, message = "'maxParallelSteps' must be greater than zero")
+    private Integer maxParallelSteps;
+
+    private ConcurrencyConfig.ExecutorType executor; // defaults to the 'bulk.execution' setting
+
+    /**
+     * Validation: when steps declare 'dependsOn', the whole job is a DAG, so no step may use
+     * 'next' or 'transitions' and the dependencies must reference known steps without cycles.
+     */
+    @AssertTrue(message = "Invalid step dependencies: 'dependsOn' must reference existing steps without cycles and cannot be mixed with 'next' or 'transitions'")
+    public boolean isValidStepDependencies() {
+        if (!StepGraphUtils.hasDependencies(steps)) {
+            return true;
+        }
+        boolean linear = steps.stream()
+                .anyMatch(step -> step.getNext() != null || (step.getTransitions() != null && !step.getTransitions().isEmpty()));
+        if (linear) {
+            log.error("Job [{}] - 'dependsOn' cannot be mixed with 'next' or 'transitions'.", name);
+            return false;
+        }
+        try {
+            StepGraphUtils.topologicalLevels(steps);
+            return true;
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
 }
 
@@ -0,0 +1,19 @@
+package com.marbl.declarative_batch.spring_declarative_batch.configuration.batch;
+
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+@Data
+public class CircuitBreakerConfig {
+
+    // Failed attempts within the failure window opening the circuit
+    @Min(value = 1, message = "'failureThreshold' must be greater than zero")
+    private int failureThreshold = 5;
+
+    @Min(value = 1, message = "'failureWindowMillis' must be greater than zero")
+    private long failureWindowMillis = 10_000;
+
+    // Time the circuit stays open, failing without retrying, before retries are tried again
+    @Min(value = 1, message = "'openTimeoutMillis' must be greater than zero")
+    private long openTimeoutMillis = 30_000;
+}
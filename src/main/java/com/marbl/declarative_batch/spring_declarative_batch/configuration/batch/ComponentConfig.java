@@ -1,14 +1,36 @@
 package com.marbl.declarative_batch.spring_declarative_batch.configuration.batch;
 
-import jakarta.validation.constraints.NotBlank;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.reader.FlatFileReaderConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.reader.JdbcCursorReaderConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.reader.JdbcPagingReaderConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.writer.FlatFileWriterConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.writer.JdbcBatchWriterConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.writer.PostgresCopyWriterConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.writer.StagingMergeWriterConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.utils.MapUtils;
+import jakarta.validation.Valid;
 import jakarta.validation.constraints.NotEmpty;
 import lombok.Data;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
 
 import java.util.Map;
 
 @Data
 public class ComponentConfig {
 
+    // Typed configuration of the built-in components, selected by component type
+    private static final Map<String, Class<? extends AdditionalConfig>> CONFIG_TYPES = Map.of(
+            "FlatFileItemReader", FlatFileReaderConfig.class,
+            "MappedFlatFileItemReader", FlatFileReaderConfig.class,
+            "JdbcCursorItemReader", JdbcCursorReaderConfig.class,
+            "JdbcPagingItemReader", JdbcPagingReaderConfig.class,
+            "FlatFileItemWriter", FlatFileWriterConfig.class,
+            "JdbcBatchItemWriter", JdbcBatchWriterConfig.class,
+            "PostgresCopyItemWriter", PostgresCopyWriterConfig.class,
+            "StagingMergeItemWriter", StagingMergeWriterConfig.class
+    );
+
     @NotEmpty(message = "The Component name must be provided and cannot be empty")
     private String name;
     @NotEmpty(message = "The Component type must be provided and cannot be empty")
@@ -16,4 +38,40 @@ public class ComponentConfig {
 
     private Map<String, Object> config;
 
+    // Bound once from 'config' when both type and config are set, validated with the job configuration
+    @Valid
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
+    private AdditionalConfig typedConfig;
+
+    public void setType(String type) {
+        this.type = type;
+        bindTypedConfig();
+    }
+
+    public void setConfig(Map<String, Object> config) {
+        this.config = config;
+        bindTypedConfig();
+    }
+
+    /**
+     * Returns the typed configuration bound from {@code config}.
+     *
+     * @throws IllegalArgumentException if the component has no configuration of the expected type
+     */
+    public <T extends AdditionalConfig> T getTypedConfig(Class<T> expectedType) {
+        if (!expectedType.isInstance(typedConfig)) {
+            throw new IllegalArgumentException("Component '" + name + "' of type '" + type
+                    + "' has no " + expectedType.getSimpleName() + " configuration");
+        }
+        return expectedType.cast(typedConfig);
+    }
+
+    private void bindTypedConfig() {
+        Class<? extends AdditionalConfig> configType = type != null ? CONFIG_TYPES.get(type) : null;
+        typedConfig = configType != null && config != null
+                ? MapUtils.mapToConfigDto(config, configType)
+                : null;
+    }
+
 }
@@ -0,0 +1,45 @@
+package com.marbl.declarative_batch.spring_declarative_batch.configuration.batch;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class ConcurrencyConfig {
+
+    public enum ExecutorType {
+        PLATFORM,
+        VIRTUAL
+    }
+
+    public enum ReaderPolicy {
+        SYNCHRONIZE,
+        REJECT
+    }
+
+    @Min(value = 1, message = "'threads' must be greater than zero")
+    private int threads = 4;
+
+    private Integer throttleLimit; // defaults to threads
+
+    private ExecutorType executor; // defaults to the 'bulk.execution' setting
+
+    @NotNull(message = "'readerPolicy' must be specified (SYNCHRONIZE or REJECT)")
+    private ReaderPolicy readerPolicy = ReaderPolicy.SYNCHRONIZE;
+
+    /**
+     * Validation: throttle limit, when provided, must be a positive number
+     */
+    @AssertTrue(message = "'throttleLimit' must be greater than zero when specified")
+    public boolean isValidThrottleLimit() {
+        return throttleLimit == null || throttleLimit > 0;
+    }
+
+    /**
+     * Effective number of chunks processed concurrently.
+     */
+    public int resolveThrottleLimit() {
+        return throttleLimit != null ? throttleLimit : threads;
+    }
+}
@@ -0,0 +1,51 @@
+package com.marbl.declarative_batch.spring_declarative_batch.configuration.batch;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.validation.annotation.Validated;
+
+@Data
+@Validated
+@ConfigurationProperties(prefix = "bulk.execution")
+public class ExecutionConfig {
+
+    // Default executor type for every executor without an explicit 'executor' (requires Java 21+)
+    private boolean virtualThreads = false;
+
+    // Launch the job on the framework executor instead of the caller thread
+    private boolean asyncLaunch = false;
+
+    @Min(value = 1, message = "'launchThreads' must be greater than zero")
+    private int launchThreads = 1;
+
+    // Log virtual threads pinned to their carrier (e.g. blocking inside synchronized blocks)
+    private boolean tracePinning = false;
+
+    @Min(value = 1, message = "'pinningThresholdMillis' must be greater than zero")
+    private long pinningThresholdMillis = 20;
+
+    @Valid
+    private RunId runId = new RunId();
+
+    @Data
+    public static class RunId {
+
+        public enum Allocator {
+            LOOKUP,   // next value after the run.id of the last execution, read from the job metadata
+            SEQUENCE  // database sequence (counter table on databases without sequences)
+        }
+
+        private Allocator allocator = Allocator.LOOKUP;
+
+        // Sequence (or counter table) on the main datasource, used by the SEQUENCE allocator
+        @NotBlank(message = "'sequence' must be specified")
+        private String sequence = "BATCH_RUN_ID_SEQ";
+
+        // Run ids reserved locally with a single sequence call, for burst launches
+        @Min(value = 1, message = "'blockSize' must be greater than zero")
+        private int blockSize = 1;
+    }
+}
@@ -0,0 +1,74 @@
+package com.marbl.declarative_batch.spring_declarative_batch.configuration.batch;
+
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.ConcurrencyConfig.ExecutorType;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class PartitionConfig {
+
+    public enum PartitionerType {
+        RANGE,
+        HASH,
+        FILE,
+        BYTE_RANGE
+    }
+
+    @NotNull(message = "'partitioner' must be specified (RANGE, HASH, FILE or BYTE_RANGE)")
+    private PartitionerType partitioner;
+
+    @Min(value = 1, message = "'gridSize' must be greater than zero")
+    private int gridSize = 4;
+
+    // --- RANGE / HASH ---
+    private String column;     // numeric column used to split rows between partitions
+    private String table;      // RANGE only: FROM target of the MIN/MAX query (joins and aliases allowed)
+    private String datasource; // RANGE only: datasource used for the MIN/MAX query
+
+    // --- FILE / BYTE_RANGE ---
+    private String resources;  // FILE: resource pattern, e.g. file:/data/in/*.csv; BYTE_RANGE: single file to split
+
+    // --- Execution ---
+    private Integer threads;   // defaults to gridSize
+    private ExecutorType executor; // defaults to the 'bulk.execution' setting
+
+    /**
+     * Validation: RANGE and HASH need a column, RANGE also needs table and datasource
+     */
+    @AssertTrue(message = "RANGE requires 'column', 'table' and 'datasource'; HASH requires 'column'")
+    public boolean isValidColumnPartitioner() {
+        if (partitioner == PartitionerType.RANGE) {
+            return hasText(column) && hasText(table) && hasText(datasource);
+        }
+        if (partitioner == PartitionerType.HASH) {
+            return hasText(column);
+        }
+        return true;
+    }
+
+    /**
+     * Validation: FILE and BYTE_RANGE require a resource
+     */
+    @AssertTrue(message = "FILE and BYTE_RANGE partitioners require 'resources'")
+    public boolean isValidFilePartitioner() {
+        return (partitioner != PartitionerType.FILE && partitioner != PartitionerType.BYTE_RANGE) || hasText(resources);
+    }
+
+    @AssertTrue(message = "'threads' must be greater than zero when specified")
+    public boolean isValidThreads() {
+        return threads == null || threads > 0;
+    }
+
+    /**
+     * Effective number of partitions executed concurrently.
+     */
+    public int resolveThreads() {
+        return threads != null ? threads : gridSize;
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.isBlank();
+    }
+}
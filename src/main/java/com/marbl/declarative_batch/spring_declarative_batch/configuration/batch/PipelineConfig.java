@@ -0,0 +1,33 @@
+package com.marbl.declarative_batch.spring_declarative_batch.configuration.batch;
+
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.ConcurrencyConfig.ExecutorType;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+@Data
+public class PipelineConfig {
+
+    // Threads running the processor, items are still handed to the writer in read order
+    @Min(value = 1, message = "'processorThreads' must be greater than zero")
+    private int processorThreads = 1;
+
+    private Integer queueCapacity; // defaults to twice the chunk size
+
+    private ExecutorType executor; // defaults to the 'bulk.execution' setting
+
+    /**
+     * Validation: queue capacity, when provided, must be a positive number
+     */
+    @AssertTrue(message = "'queueCapacity' must be greater than zero when specified")
+    public boolean isValidQueueCapacity() {
+        return queueCapacity == null || queueCapacity > 0;
+    }
+
+    /**
+     * Items read or being processed ahead of the writer.
+     */
+    public int resolveQueueCapacity(int chunk) {
+        return queueCapacity != null ? queueCapacity : Math.max(1, chunk * 2);
+    }
+}
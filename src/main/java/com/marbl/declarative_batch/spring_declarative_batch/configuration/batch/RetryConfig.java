@@ -1,11 +1,51 @@
 package com.marbl.declarative_batch.spring_declarative_batch.configuration.batch;
 
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
 import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
 
 import java.util.List;
 
+@Slf4j
 @Data
 public class RetryConfig {
     private int limit = 3; // default retry limit
     private List<Class<? extends Throwable>> exceptions; // exceptions to retry
-}
\ No newline at end of file
+
+    @Valid
+    private BackoffConfig backoff; // pause between attempts, retries are immediate when absent
+
+    private Integer maxRetriesPerMinute; // retry budget shared by all the threads of the step, unlimited when absent
+
+    @Valid
+    private CircuitBreakerConfig circuitBreaker; // stop retrying while the failures keep going on
+
+    /**
+     * Validation: the retry budget, when provided, must be a positive number
+     */
+    @AssertTrue(message = "'maxRetriesPerMinute' must be greater than zero when specified")
+    public boolean isValidRetryBudget() {
+        return maxRetriesPerMinute == null || maxRetriesPerMinute > 0;
+    }
+
+    /**
+     * Validation: budget and circuit breaker only guard the retries of the configured exceptions,
+     * within a retry limit allowing at least one retry
+     */
+    @AssertTrue(message = "'maxRetriesPerMinute' and 'circuitBreaker' require retryable 'exceptions' and a 'limit' greater than 1")
+    public boolean isValidGuardUsage() {
+        if (maxRetriesPerMinute == null && circuitBreaker == null) {
+            return true;
+        }
+        if (exceptions == null || exceptions.isEmpty()) {
+            log.error("Retry budget or circuit breaker configured without retryable exceptions");
+            return false;
+        }
+        if (limit <= 1) {
+            log.error("Retry budget or circuit breaker configured with retry limit {}, no retry to guard", limit);
+            return false;
+        }
+        return true;
+    }
+}
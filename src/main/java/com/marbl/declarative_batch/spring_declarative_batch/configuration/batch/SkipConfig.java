@@ -6,7 +6,14 @@ import java.util.List;
 
 @Data
 public class SkipConfig {
+
+    public enum ScanStrategy {
+        ITEM,   // Spring Batch default: rewrite the failed chunk one item per transaction
+        BISECT  // split the failed chunk in halves until the failing items are isolated
+    }
+
     private int limit = 10; // default skip limit
     private List<Class<? extends Throwable>> exceptionsToSkip; // exceptions to skip
     private List<Class<? extends Throwable>> exceptionsNoSkip; // exceptions to  no skip
-}
\ No newline at end of file
+    private ScanStrategy scanStrategy = ScanStrategy.ITEM; // how a chunk failing on write is scanned
+}
@@ -17,17 +17,22 @@ public class StepsConfig {
 
     public enum StepType {
         STEP,
+        PARTITIONED,
         TASKLET
     }
 
     @NotBlank(message = "The Step name must be provided and cannot be blank")
     private String name;
 
-    @NotNull(message = "The Step type must be specified (STEP or TASKLET)")
+    @NotNull(message = "The Step type must be specified (STEP, PARTITIONED or TASKLET)")
     private StepType type = StepType.STEP;
 
     private Integer chunk = 10;
 
+    // Commit interval adjusted at runtime, 'chunk' is used as initial size
+    @Valid
+    private AdaptiveChunkConfig adaptiveChunk;
+
     // --- Components ---
     @Valid
     private ComponentConfig reader;
@@ -44,12 +49,28 @@ public class StepsConfig {
     @Valid
     private List<ListenerConfig> listeners;
 
+    @Valid
     private RetryConfig retry;
     private SkipConfig skip;
     private TransactionConfig transaction;
 
+    @Valid
+    private ConcurrencyConfig concurrency;
+
+    @Valid
+    private PartitionConfig partition;
+
+    @Valid
+    private PipelineConfig pipeline;
+
+    @Valid
+    private AsyncProcessingConfig asyncProcessing;
+
     private String next;
 
+    // Steps that must complete before this one; the job runs level by level, the steps of a level in parallel
+    private List<String> dependsOn;
+
     @Valid
     private List<StepConditionConfig> transitions;
 
@@ -63,13 +84,23 @@ public class StepsConfig {
         return true;
     }
 
+    // --- Validation for dependsOn vs next/transitions ---
+    @AssertTrue(message = "'dependsOn' cannot be combined with 'next' or 'transitions'")
+    public boolean isValidDependsOn() {
+        if (dependsOn != null && !dependsOn.isEmpty() && (next != null || (transitions != null && !transitions.isEmpty()))) {
+            log.warn("Step [{}] - 'dependsOn' is set together with 'next' or 'transitions'. Only one is allowed.", name);
+            return false;
+        }
+        return true;
+    }
+
     // --- Validation for STEP vs TASKLET ---
-    @AssertTrue(message = "Invalid configuration: STEP requires reader, processor, and writer; TASKLET requires tasklet bean name only.")
+    @AssertTrue(message = "Invalid configuration: STEP and PARTITIONED require reader, processor, and writer; TASKLET requires tasklet bean name only.")
     public boolean isValidStepTypeConfiguration() {
-        if (type == StepType.STEP) {
+        if (type == StepType.STEP || type == StepType.PARTITIONED) {
             boolean valid = reader != null && processor != null && writer != null && tasklet == null;
             if (!valid) {
-                log.error("Step [{}] - Type STEP requires reader, processor, and writer, and must not define a tasklet.", name);
+                log.error("Step [{}] - Type {} requires reader, processor, and writer, and must not define a tasklet.", name, type);
             }
             return valid;
         }
@@ -85,6 +116,89 @@ public class StepsConfig {
         return true;
     }
 
+    // --- Validation for concurrency usage ---
+    @AssertTrue(message = "Concurrency is only valid for STEP type and must be null for TASKLET.")
+    public boolean isValidConcurrencyUsage() {
+        if (type == StepType.TASKLET && concurrency != null) {
+            log.error("Step [{}] - 'concurrency' is not applicable for TASKLET type.", name);
+            return false;
+        }
+        if (type == StepType.PARTITIONED && concurrency != null) {
+            log.error("Step [{}] - 'concurrency' cannot be combined with partitioning, use 'partition.threads' instead.", name);
+            return false;
+        }
+        return true;
+    }
+
+    // --- Validation for partition usage ---
+    @AssertTrue(message = "PARTITIONED type requires a 'partition' block, which is not allowed for other types.")
+    public boolean isValidPartitionUsage() {
+        if (type == StepType.PARTITIONED && partition == null) {
+            log.error("Step [{}] - Type PARTITIONED requires a 'partition' block.", name);
+            return false;
+        }
+        if (type != StepType.PARTITIONED && partition != null) {
+            log.error("Step [{}] - 'partition' is only applicable for PARTITIONED type.", name);
+            return false;
+        }
+        return true;
+    }
+
+    // --- Validation for adaptive chunk usage ---
+    @AssertTrue(message = "Adaptive chunk is not applicable for TASKLET type.")
+    public boolean isValidAdaptiveChunkUsage() {
+        if (type == StepType.TASKLET && adaptiveChunk != null) {
+            log.error("Step [{}] - 'adaptiveChunk' is not applicable for TASKLET type.", name);
+            return false;
+        }
+        return true;
+    }
+
+    // --- Validation for pipeline usage ---
+    @AssertTrue(message = "Pipeline is not applicable for TASKLET type and cannot be combined with 'concurrency', 'retry', 'skip', 'transaction' or an ItemProcessListener.")
+    public boolean isValidPipelineUsage() {
+        if (type == StepType.TASKLET && pipeline != null) {
+            log.error("Step [{}] - 'pipeline' is not applicable for TASKLET type.", name);
+            return false;
+        }
+        if (pipeline != null && concurrency != null) {
+            log.error("Step [{}] - 'pipeline' cannot be combined with 'concurrency', use 'pipeline.processorThreads' instead.", name);
+            return false;
+        }
+        // The pipeline runs the processor outside the step: no retry, skip or listeners for it
+        if (pipeline != null && (retry != null || skip != null || transaction != null)) {
+            log.error("Step [{}] - 'pipeline' cannot be combined with 'retry', 'skip' or 'transaction'.", name);
+            return false;
+        }
+        if (pipeline != null && listeners != null && listeners.stream()
+                .anyMatch(listener -> "ItemProcessListener".equalsIgnoreCase(listener.getType()))) {
+            log.error("Step [{}] - 'pipeline' cannot be combined with an ItemProcessListener.", name);
+            return false;
+        }
+        return true;
+    }
+
+    // --- Validation for async processing usage ---
+    @AssertTrue(message = "Async processing is not applicable for TASKLET type and cannot be combined with 'pipeline', an ItemProcessListener or an ItemWriteListener.")
+    public boolean isValidAsyncProcessingUsage() {
+        if (type == StepType.TASKLET && asyncProcessing != null) {
+            log.error("Step [{}] - 'asyncProcessing' is not applicable for TASKLET type.", name);
+            return false;
+        }
+        if (asyncProcessing != null && pipeline != null) {
+            log.error("Step [{}] - 'asyncProcessing' cannot be combined with 'pipeline', use 'pipeline.processorThreads' instead.", name);
+            return false;
+        }
+        // The step processes and writes pending results, item listeners would get Futures instead of items
+        if (asyncProcessing != null && listeners != null && listeners.stream()
+                .anyMatch(listener -> "ItemProcessListener".equalsIgnoreCase(listener.getType())
+                        || "ItemWriteListener".equalsIgnoreCase(listener.getType()))) {
+            log.error("Step [{}] - 'asyncProcessing' cannot be combined with an ItemProcessListener or an ItemWriteListener.", name);
+            return false;
+        }
+        return true;
+    }
+
     // --- Validation for chunk usage ---
 //    @AssertTrue(message = "Chunk property is only valid for STEP type and must be null for TASKLET.")
 //    public boolean isValidChunkUsage() {
@@ -95,19 +209,19 @@ public class StepsConfig {
 //        return true;
 //    }
 
-    // --- Listener validations (only for STEP type) ---
+    // --- Listener validations (only for chunk-oriented types) ---
     @AssertTrue(message = "Processor listener name must match processor bean name when processor implements ItemProcessListener")
     public boolean isProcessorListenerValid() {
-        return type != StepType.STEP || validateListenerMatch(name, processor, listeners, "ItemProcessListener", "Processor");
+        return type == StepType.TASKLET || validateListenerMatch(name, processor, listeners, "ItemProcessListener", "Processor");
     }
 
     @AssertTrue(message = "Reader listener name must match reader bean name when reader implements ItemReadListener")
     public boolean isReaderListenerValid() {
-        return type != StepType.STEP || validateListenerMatch(name, reader, listeners, "ItemReadListener", "Reader");
+        return type == StepType.TASKLET || validateListenerMatch(name, reader, listeners, "ItemReadListener", "Reader");
     }
 
     @AssertTrue(message = "Writer listener name must match writer bean name when writer implements ItemWriteListener")
     public boolean isWriterListenerValid() {
-        return type != StepType.STEP || validateListenerMatch(name, writer, listeners, "ItemWriteListener", "Writer");
+        return type == StepType.TASKLET || validateListenerMatch(name, writer, listeners, "ItemWriteListener", "Writer");
     }
 }
@@ -3,7 +3,6 @@ package com.marbl.declarative_batch.spring_declarative_batch.configuration.datas
 import jakarta.validation.Valid;
 import jakarta.validation.constraints.AssertTrue;
 import lombok.Data;
-import org.springframework.boot.autoconfigure.batch.BatchProperties;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.context.properties.NestedConfigurationProperty;
 import org.springframework.validation.annotation.Validated;
@@ -18,8 +17,9 @@ public class BatchDatasourceConfig {
     @Valid
     private Map<String, DataSourceConfig> datasources = new HashMap<>();
 
+    @Valid
     @NestedConfigurationProperty
-    private BatchProperties batchProperties = new BatchProperties();
+    private DeclarativeBatchProperties batchProperties = new DeclarativeBatchProperties();
 
     @AssertTrue(message = "Only one datasource can be flagged as 'Main'")
     public boolean isOnlyOneMainDatasource() {
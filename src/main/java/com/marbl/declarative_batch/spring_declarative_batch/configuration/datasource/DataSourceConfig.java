@@ -2,6 +2,9 @@ package com.marbl.declarative_batch.spring_declarative_batch.configuration.datas
 
 import lombok.Data;
 
+import java.util.HashMap;
+import java.util.Map;
+
 @Data
 public class DataSourceConfig {
 
@@ -14,6 +17,9 @@ public class DataSourceConfig {
     private String driverClassName;
     private IsolationLevelEnum isolationLevelEnum = IsolationLevelEnum.ISOLATION_SERIALIZABLE;
 
+    // Driver connection properties, e.g. reWriteBatchedInserts: true for PostgreSQL
+    private Map<String, String> properties = new HashMap<>();
+
 
     public enum IsolationLevelEnum {
         ISOLATION_READ_UNCOMMITTED, ISOLATION_READ_COMMITTED, ISOLATION_REPEATABLE_READ, ISOLATION_SERIALIZABLE;
@@ -0,0 +1,60 @@
+package com.marbl.declarative_batch.spring_declarative_batch.configuration.datasource;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import lombok.EqualsAndHashCode;
+import org.springframework.boot.autoconfigure.batch.BatchProperties;
+
+/**
+ * Spring Boot batch properties, extended with the settings of the declarative batch.
+ */
+@Data
+@EqualsAndHashCode(callSuper = false)
+public class DeclarativeBatchProperties extends BatchProperties {
+
+    public enum RepositoryMode {
+        JDBC,         // batch metadata persisted on the main datasource, restartable
+        IN_MEMORY,    // batch metadata kept in an embedded H2 database, lost at shutdown
+        RESOURCELESS  // no metadata at all, only the current execution is tracked
+    }
+
+    public enum ContextSerializer {
+        DEFAULT,  // Spring Batch default, Base64 encoded Java serialization
+        JACKSON,  // plain JSON
+        COMPACT   // JSON deflated when large, to stay in the SHORT_CONTEXT column
+    }
+
+    private RepositoryMode repositoryMode = RepositoryMode.JDBC;
+
+    @Valid
+    private ExecutionContext executionContext = new ExecutionContext();
+
+    @Data
+    public static class ExecutionContext {
+
+        // Chunks committed between two writes of the step execution context
+        @Min(value = 1, message = "'persistEveryChunks' must be greater than zero")
+        private int persistEveryChunks = 1;
+
+        private Long persistIntervalMillis; // max time between two writes, when set
+
+        private ContextSerializer serializer = ContextSerializer.DEFAULT;
+
+        /**
+         * Validation: the interval, when provided, must be a positive number
+         */
+        @AssertTrue(message = "'persistIntervalMillis' must be greater than zero when specified")
+        public boolean isValidPersistInterval() {
+            return persistIntervalMillis == null || persistIntervalMillis > 0;
+        }
+
+        /**
+         * Whether context writes are deferred instead of happening at every chunk commit.
+         */
+        public boolean isThrottled() {
+            return persistEveryChunks > 1 || persistIntervalMillis != null;
+        }
+    }
+}
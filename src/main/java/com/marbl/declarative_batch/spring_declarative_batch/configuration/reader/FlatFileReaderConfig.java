@@ -18,4 +18,7 @@ public class FlatFileReaderConfig implements ReaderConfig {
 
     @NotBlank(message = "'mappedClass' must be provided")
     private String mappedClass;
+
+    // Generated accessors for mappedClass; false forces the BeanWrapper based mapping
+    private boolean generatedMapping = true;
 }
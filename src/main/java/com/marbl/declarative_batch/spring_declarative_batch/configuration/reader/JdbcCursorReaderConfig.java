@@ -1,5 +1,7 @@
 package com.marbl.declarative_batch.spring_declarative_batch.configuration.reader;
 
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 
@@ -17,4 +19,32 @@ public class JdbcCursorReaderConfig implements ReaderConfig {
 
     @NotBlank(message = "'mappedClass' must be provided")
     private String mappedClass;
+
+    // JDBC fetch size hint, defaults to the driver setting
+    @Min(value = 1, message = "'fetchSize' must be greater than zero")
+    private Integer fetchSize;
+
+    // Server-side cursor on a dedicated non-autocommit connection, rows fetched 'fetchSize' at a time
+    private boolean streaming = false;
+
+    // Maximum number of rows returned by the query, defaults to no limit
+    @Min(value = 1, message = "'maxRows' must be greater than zero")
+    private Integer maxRows;
+
+    // Query timeout in seconds, defaults to the driver setting
+    @Min(value = 1, message = "'queryTimeout' must be greater than zero")
+    private Integer queryTimeout;
+
+    private boolean verifyCursorPosition = true;
+
+    // Requires a datasource wrapped in an ExtendedConnectionDataSourceProxy
+    private boolean useSharedExtendedConnection = false;
+
+    /**
+     * Validation: streaming needs its own connection, the shared one is bound to the chunk transaction
+     */
+    @AssertTrue(message = "'streaming' cannot be combined with 'useSharedExtendedConnection'")
+    public boolean isValidStreamingUsage() {
+        return !streaming || !useSharedExtendedConnection;
+    }
 }
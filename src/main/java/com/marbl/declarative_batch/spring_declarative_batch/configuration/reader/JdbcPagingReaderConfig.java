@@ -2,7 +2,10 @@ package com.marbl.declarative_batch.spring_declarative_batch.configuration.reade
 
 import com.marbl.declarative_batch.spring_declarative_batch.enums.PagingProviderType;
 import com.marbl.declarative_batch.spring_declarative_batch.model.PagingSqlModel;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
 import lombok.Data;
 
 import java.util.Map;
@@ -13,10 +16,9 @@ public class JdbcPagingReaderConfig implements ReaderConfig {
     @NotBlank(message = "'datasource' must be provided")
     private String datasource;
 
-    @NotBlank(message = "'preparedStatementClass' must be provided")
-    private String preparedStatementClass;
+    private String preparedStatementClass; // not used, parameters are bound from 'parameters'
 
-    @NotBlank(message = "'providerType' must be provided")
+    @NotNull(message = "'providerType' must be provided")
     private PagingProviderType providerType;
 
     @NotBlank(message = "'mappedClass' must be provided")
@@ -25,4 +27,16 @@ public class JdbcPagingReaderConfig implements ReaderConfig {
     private PagingSqlModel clause;
 
     private Map<String, Object> parameters;
+
+    // Rows per page query, defaults to the chunk size
+    @Min(value = 1, message = "'pageSize' must be greater than zero")
+    private Integer pageSize;
+
+    // JDBC fetch size hint, defaults to the driver setting
+    @Min(value = 1, message = "'fetchSize' must be greater than zero")
+    private Integer fetchSize;
+
+    // Fetch the next pages on a background thread while the current one is processed
+    @Valid
+    private PrefetchConfig prefetch;
 }
@@ -0,0 +1,15 @@
+package com.marbl.declarative_batch.spring_declarative_batch.configuration.reader;
+
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.ConcurrencyConfig.ExecutorType;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+
+@Data
+public class PrefetchConfig {
+
+    // Pages fetched ahead of the one being processed
+    @Min(value = 1, message = "'queueDepth' must be greater than zero")
+    private int queueDepth = 2;
+
+    private ExecutorType executor; // defaults to the 'bulk.execution' setting
+}
@@ -21,4 +21,7 @@ public class FlatFileWriterConfig implements WriterConfig {
 
     @NotBlank(message = "'mappedClass' must be provided")
     private String mappedClass;
+
+    // Generated accessors for mappedClass; false forces the BeanWrapper based mapping
+    private boolean generatedMapping = true;
 }
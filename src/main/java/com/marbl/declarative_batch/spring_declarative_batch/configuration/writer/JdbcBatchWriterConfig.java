@@ -1,10 +1,11 @@
 package com.marbl.declarative_batch.spring_declarative_batch.configuration.writer;
 
+import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 
 @Data
-public class JdbcBatchWriterConfig {
+public class JdbcBatchWriterConfig implements WriterConfig {
 
     @NotBlank(message = "'datasource' must be provided")
     private String datasource;
@@ -14,4 +15,8 @@ public class JdbcBatchWriterConfig {
 
     @NotBlank(message = "'preparedStatementClass' must be provided")
     private String preparedStatementClass;
+
+    // Statements per JDBC batch, defaults to the whole chunk
+    @Min(value = 1, message = "'batchSize' must be greater than zero")
+    private Integer batchSize;
 }
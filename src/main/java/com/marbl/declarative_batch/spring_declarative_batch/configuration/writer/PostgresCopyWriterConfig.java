@@ -0,0 +1,46 @@
+package com.marbl.declarative_batch.spring_declarative_batch.configuration.writer;
+
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class PostgresCopyWriterConfig implements WriterConfig {
+
+    public enum CopyFormat {
+        CSV,
+        BINARY
+    }
+
+    @NotBlank(message = "'datasource' must be provided")
+    private String datasource;
+
+    @NotBlank(message = "'table' must be provided")
+    private String table;
+
+    @NotEmpty(message = "'columns' must contain at least one value")
+    private String[] columns;
+
+    @NotNull(message = "'format' must be CSV or BINARY")
+    private CopyFormat format = CopyFormat.CSV;
+
+    // --- Field extraction ---
+    private String[] fieldNames;          // item properties, in column order (defaults to columns)
+    private String mappedClass;           // item class, enables generated getters
+    private String fieldExtractorClass;   // custom FieldExtractor, overrides fieldNames/mappedClass
+    private boolean generatedMapping = true;
+
+    @AssertTrue(message = "'fieldNames' must have the same size as 'columns'")
+    public boolean isValidFieldNames() {
+        return fieldNames == null || columns == null || fieldNames.length == columns.length;
+    }
+
+    /**
+     * Item properties extracted for each row, in column order.
+     */
+    public String[] resolveFieldNames() {
+        return fieldNames != null ? fieldNames : columns;
+    }
+}
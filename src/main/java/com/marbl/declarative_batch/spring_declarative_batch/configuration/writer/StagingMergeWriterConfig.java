@@ -0,0 +1,64 @@
+package com.marbl.declarative_batch.spring_declarative_batch.configuration.writer;
+
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.writer.PostgresCopyWriterConfig.CopyFormat;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+@Data
+public class StagingMergeWriterConfig implements WriterConfig {
+
+    public enum LoadMethod {
+        COPY,   // PostgreSQL COPY FROM STDIN
+        BATCH   // JDBC batch insert, any database
+    }
+
+    public enum ClearMode {
+        TRUNCATE,
+        DELETE,
+        NONE    // staging created per transaction (e.g. TEMP ... ON COMMIT DROP)
+    }
+
+    @NotBlank(message = "'datasource' must be provided")
+    private String datasource;
+
+    @NotBlank(message = "'stagingTable' must be provided")
+    private String stagingTable;
+
+    @NotEmpty(message = "'columns' must contain at least one value")
+    private String[] columns;
+
+    // Optional DDL executed before each chunk, e.g. CREATE TEMP TABLE ... ON COMMIT DROP
+    private String stagingDdl;
+
+    @NotBlank(message = "'mergeSql' must be provided")
+    private String mergeSql;
+
+    @NotNull(message = "'loadMethod' must be COPY or BATCH")
+    private LoadMethod loadMethod = LoadMethod.COPY;
+
+    private CopyFormat copyFormat = CopyFormat.CSV;
+
+    @NotNull(message = "'clearMode' must be TRUNCATE, DELETE or NONE")
+    private ClearMode clearMode = ClearMode.TRUNCATE;
+
+    // --- Field extraction ---
+    private String[] fieldNames;          // item properties, in column order (defaults to columns)
+    private String mappedClass;           // item class, enables generated getters
+    private String fieldExtractorClass;   // custom FieldExtractor, overrides fieldNames/mappedClass
+    private boolean generatedMapping = true;
+
+    @AssertTrue(message = "'fieldNames' must have the same size as 'columns'")
+    public boolean isValidFieldNames() {
+        return fieldNames == null || columns == null || fieldNames.length == columns.length;
+    }
+
+    /**
+     * Item properties extracted for each row, in column order.
+     */
+    public String[] resolveFieldNames() {
+        return fieldNames != null ? fieldNames : columns;
+    }
+}
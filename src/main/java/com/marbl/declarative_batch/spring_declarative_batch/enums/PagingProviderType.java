@@ -1,91 +1,106 @@
 package com.marbl.declarative_batch.spring_declarative_batch.enums;
 
 import com.marbl.declarative_batch.spring_declarative_batch.configuration.reader.JdbcPagingReaderConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.model.PagingSqlModel;
 import com.marbl.declarative_batch.spring_declarative_batch.model.SortKey;
+import com.marbl.declarative_batch.spring_declarative_batch.support.paging.KeysetPagingQueryProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.batch.item.database.Order;
 import org.springframework.batch.item.database.PagingQueryProvider;
 import org.springframework.batch.item.database.support.*;
+import org.springframework.util.StringUtils;
 
-import java.util.stream.Collectors;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 public enum PagingProviderType {
 
-    POSTGRESQL {
+    POSTGRESQL(true) {
         @Override
-        public PagingQueryProvider create(JdbcPagingReaderConfig config) {
+        public PagingQueryProvider create(JdbcPagingReaderConfig config, String whereClause) {
             PostgresPagingQueryProvider provider = new PostgresPagingQueryProvider();
-            setupProvider(provider, config);
-            return provider;
+            return setupProvider(provider, config, whereClause);
         }
     },
-    ORACLE {
+    ORACLE(false) {
         @Override
-        public PagingQueryProvider create(JdbcPagingReaderConfig config) {
+        public PagingQueryProvider create(JdbcPagingReaderConfig config, String whereClause) {
             OraclePagingQueryProvider provider = new OraclePagingQueryProvider();
-            setupProvider(provider, config);
-            return provider;
+            return setupProvider(provider, config, whereClause);
         }
     },
-    MYSQL {
+    MYSQL(true) {
         @Override
-        public PagingQueryProvider create(JdbcPagingReaderConfig config) {
+        public PagingQueryProvider create(JdbcPagingReaderConfig config, String whereClause) {
             MySqlPagingQueryProvider provider = new MySqlPagingQueryProvider();
-            setupProvider(provider, config);
-            return provider;
+            return setupProvider(provider, config, whereClause);
         }
     },
-    MARIADB {
+    MARIADB(true) {
         @Override
-        public PagingQueryProvider create(JdbcPagingReaderConfig config) {
+        public PagingQueryProvider create(JdbcPagingReaderConfig config, String whereClause) {
             // MariaDB usa lo stesso provider di MySQL
             MySqlPagingQueryProvider provider = new MySqlPagingQueryProvider();
-            setupProvider(provider, config);
-            return provider;
+            return setupProvider(provider, config, whereClause);
         }
     },
-    SQLSERVER {
+    SQLSERVER(false) {
         @Override
-        public PagingQueryProvider create(JdbcPagingReaderConfig config) {
+        public PagingQueryProvider create(JdbcPagingReaderConfig config, String whereClause) {
             SqlServerPagingQueryProvider provider = new SqlServerPagingQueryProvider();
-            setupProvider(provider, config);
-            return provider;
+            return setupProvider(provider, config, whereClause);
         }
     },
-    DB2 {
+    DB2(false) {
         @Override
-        public PagingQueryProvider create(JdbcPagingReaderConfig config) {
+        public PagingQueryProvider create(JdbcPagingReaderConfig config, String whereClause) {
             Db2PagingQueryProvider provider = new Db2PagingQueryProvider();
-            setupProvider(provider, config);
-            return provider;
+            return setupProvider(provider, config, whereClause);
         }
     },
-    H2 {
+    H2(true) {
         @Override
-        public PagingQueryProvider create(JdbcPagingReaderConfig config) {
+        public PagingQueryProvider create(JdbcPagingReaderConfig config, String whereClause) {
             H2PagingQueryProvider provider = new H2PagingQueryProvider();
-            setupProvider(provider, config);
-            return provider;
+            return setupProvider(provider, config, whereClause);
         }
     };
 
     private static final Logger log = LoggerFactory.getLogger(PagingProviderType.class);
 
-    public abstract PagingQueryProvider create(JdbcPagingReaderConfig config);
+    // Whether (a, b) > (x, y) comparisons are supported and can use a composite index
+    private final boolean rowValueComparison;
+
+    PagingProviderType(boolean rowValueComparison) {
+        this.rowValueComparison = rowValueComparison;
+    }
+
+    public PagingQueryProvider create(JdbcPagingReaderConfig config) {
+        return create(config, config.getClause().getWhereClause());
+    }
+
+    /**
+     * Creates the provider using the given where clause instead of the configured one, so that a
+     * partition predicate can be added without modifying the (shared) configuration.
+     */
+    public abstract PagingQueryProvider create(JdbcPagingReaderConfig config, String whereClause);
 
     //Helper method used to configure select/from/where and sortKeys
-    protected void setupProvider(PagingQueryProvider provider, JdbcPagingReaderConfig config) {
+    protected PagingQueryProvider setupProvider(PagingQueryProvider provider, JdbcPagingReaderConfig config, String whereClause) {
         if (provider instanceof AbstractSqlPagingQueryProvider sqlProvider) {
-            sqlProvider.setSelectClause(config.getClause().getSelectClause());
-            sqlProvider.setFromClause(config.getClause().getFromClause());
-            sqlProvider.setWhereClause(config.getClause().getWhereClause());
-            sqlProvider.setGroupClause(config.getClause().getGroupByClause());
-            sqlProvider.setSortKeys(config.getClause().getSortClause().stream()
-                    .collect(Collectors.toMap(
-                            SortKey::getKey,
-                            SortKey::getOrder
-                    )));
+            PagingSqlModel clause = config.getClause();
+            sqlProvider.setSelectClause(clause.getSelectClause());
+            sqlProvider.setFromClause(clause.getFromClause());
+            sqlProvider.setWhereClause(whereClause);
+            sqlProvider.setGroupClause(clause.getGroupByClause());
+            sqlProvider.setSortKeys(buildSortKeys(clause));
             log.info("Slq provider: {}", sqlProvider);
+
+            if (rowValueComparison && clause.isRowValuePredicate()) {
+                return new KeysetPagingQueryProvider(sqlProvider);
+            }
+            return sqlProvider;
         } else {
             throw new IllegalStateException(
                     "Provider class not supported for automatic configuration: " + provider.getClass().getName()
@@ -93,4 +108,30 @@ public enum PagingProviderType {
         }
     }
 
+    /**
+     * Sort keys in declaration order (the keyset condition depends on it), followed by the unique key
+     * tiebreaker when configured and not already present.
+     */
+    private static Map<String, Order> buildSortKeys(PagingSqlModel clause) {
+        if (clause.getSortClause() == null || clause.getSortClause().isEmpty()) {
+            throw new IllegalArgumentException("Paging reader requires at least one sort key");
+        }
+
+        Map<String, Order> sortKeys = new LinkedHashMap<>();
+        for (SortKey sortKey : clause.getSortClause()) {
+            Order order = sortKey.getOrder() != null ? sortKey.getOrder() : Order.ASCENDING;
+            if (sortKeys.putIfAbsent(sortKey.getKey(), order) != null) {
+                throw new IllegalArgumentException("Duplicate sort key: " + sortKey.getKey());
+            }
+        }
+
+        if (StringUtils.hasText(clause.getUniqueKey()) && !sortKeys.containsKey(clause.getUniqueKey())) {
+            // Same direction as the last key, so that a uniform ordering stays uniform
+            Order lastOrder = clause.getSortClause().get(clause.getSortClause().size() - 1).getOrder();
+            sortKeys.put(clause.getUniqueKey(), lastOrder != null ? lastOrder : Order.ASCENDING);
+            log.debug("Added unique tiebreaker '{}' to sort keys {}", clause.getUniqueKey(), sortKeys.keySet());
+        }
+        return sortKeys;
+    }
+
 }
@@ -5,15 +5,14 @@ import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.
 import com.marbl.declarative_batch.spring_declarative_batch.exception.BatchException;
 import com.marbl.declarative_batch.spring_declarative_batch.exception.InvalidBeanException;
 import com.marbl.declarative_batch.spring_declarative_batch.exception.TypeNotSupportedException;
+import com.marbl.declarative_batch.spring_declarative_batch.support.registry.BulkBatchComponentRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.JobExecutionListener;
 import org.springframework.batch.core.StepListener;
-import org.springframework.context.ApplicationContext;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 import java.lang.annotation.Annotation;
-import java.util.Map;
 
 import static com.marbl.declarative_batch.spring_declarative_batch.utils.ListenerUtils.resolveStepListenerClass;
 
@@ -21,10 +20,10 @@ import static com.marbl.declarative_batch.spring_declarative_batch.utils.Listene
 @Component
 public class ListenerFactory {
 
-    private final ApplicationContext context;
+    private final BulkBatchComponentRegistry componentRegistry;
 
-    public ListenerFactory(ApplicationContext context) {
-        this.context = context;
+    public ListenerFactory(BulkBatchComponentRegistry componentRegistry) {
+        this.componentRegistry = componentRegistry;
     }
 
     /**
@@ -42,18 +41,11 @@ public class ListenerFactory {
         }
 
         try {
-            // Find all beans annotated with @BulkBatchListener
-            Map<String, Object> beans = context.getBeansWithAnnotation(BulkBatchListener.class);
-
-            Object targetBean = beans.values().stream()
-                    .filter(bean -> {
-                        BulkBatchListener ann = bean.getClass().getAnnotation(BulkBatchListener.class);
-                        return ann != null && ann.name().equals(config.getName());
-                    })
-                    .findFirst()
-                    .orElseThrow(() -> new InvalidBeanException(
-                            "No Job listener bean found with annotation name: " + config.getName()
-                    ));
+            // Bean annotated with @BulkBatchListener
+            Object targetBean = componentRegistry.find(BulkBatchListener.class, config.getName());
+            if (targetBean == null) {
+                throw new InvalidBeanException("No Job listener bean found with annotation name: " + config.getName());
+            }
 
             if (!(targetBean instanceof JobExecutionListener listener)) {
                 log.error("Bean '{}' annotated with @BulkBatchJobListener does not implement JobExecutionListener", config.getName());
@@ -125,21 +117,7 @@ public class ListenerFactory {
     }
 
     private Object findBeanByAnnotation(String name, Class<? extends Annotation> annotationType, Class<?> expectedType) {
-        Map<String, Object> beans = context.getBeansWithAnnotation(annotationType);
-
-        return beans.values().stream()
-                .filter(bean -> {
-                    Annotation ann = bean.getClass().getAnnotation(annotationType);
-                    try {
-                        // All BulkBatch* annotations have a `name()` method
-                        String annName = (String) annotationType.getMethod("name").invoke(ann);
-                        return annName.equals(name) && expectedType.isInstance(bean);
-                    } catch (Exception e) {
-                        log.debug("Failed to read annotation name from bean '{}': {}", bean.getClass().getSimpleName(), e.getMessage());
-                        return false;
-                    }
-                })
-                .findFirst()
-                .orElse(null);
+        Object bean = componentRegistry.find(annotationType, name);
+        return expectedType.isInstance(bean) ? bean : null;
     }
 }
@@ -3,9 +3,13 @@ package com.marbl.declarative_batch.spring_declarative_batch.factory.component;
 import com.marbl.declarative_batch.spring_declarative_batch.builder.reader.FlatFileReaderBuilder;
 import com.marbl.declarative_batch.spring_declarative_batch.builder.reader.JdbcCursorReaderBuilder;
 import com.marbl.declarative_batch.spring_declarative_batch.builder.reader.JdbcPagingReaderBuilder;
+import com.marbl.declarative_batch.spring_declarative_batch.builder.reader.MappedFlatFileReaderBuilder;
 import com.marbl.declarative_batch.spring_declarative_batch.exception.TypeNotSupportedException;
 import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.ComponentConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.factory.executor.TaskExecutorFactory;
+import com.marbl.declarative_batch.spring_declarative_batch.support.reader.MappedFlatFileItemReader;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.ExecutionContext;
 import org.springframework.batch.item.ItemReader;
 import org.springframework.batch.item.database.JdbcCursorItemReader;
 import org.springframework.batch.item.file.FlatFileItemReader;
@@ -20,24 +24,35 @@ import java.util.Map;
 public class ReaderFactory {
 
     private final ApplicationContext context;
+    private final TaskExecutorFactory taskExecutorFactory;
 
     private static final Map<String, Class<?>> READER_TYPES = Map.of(
             "FlatFileItemReader", FlatFileItemReader.class,
+            "MappedFlatFileItemReader", MappedFlatFileItemReader.class,
             "JdbcPagingItemReader", org.springframework.batch.item.database.JdbcPagingItemReader.class,
             "JdbcCursorItemReader", JdbcCursorItemReader.class,
             "MongoCursorItemReader", org.springframework.batch.item.data.MongoCursorItemReader.class,
             "ItemReader", ItemReader.class
     );
 
-    public ReaderFactory(ApplicationContext context) {
+    public ReaderFactory(ApplicationContext context, TaskExecutorFactory taskExecutorFactory) {
         this.context = context;
+        this.taskExecutorFactory = taskExecutorFactory;
     }
 
     /**
      * Creates a typed ItemReader<I> based on configuration or Spring context.
      */
-    @SuppressWarnings("unchecked")
     public <I> ItemReader<I> createReader(ComponentConfig config, int chunk) throws Exception {
+        return createReader(config, chunk, null);
+    }
+
+    /**
+     * Creates a typed ItemReader<I> restricted to the partition described by the given
+     * worker step execution context ({@code null} for a non-partitioned step).
+     */
+    @SuppressWarnings("unchecked")
+    public <I> ItemReader<I> createReader(ComponentConfig config, int chunk, ExecutionContext partitionContext) throws Exception {
 
         if (!StringUtils.hasText(config.getType())) {
             log.error("Reader creation failed: 'type' field is empty in ComponentConfig");
@@ -52,15 +67,19 @@ public class ReaderFactory {
             reader = switch (readerType) {
                 case "FlatFileItemReader" -> {
                     log.debug("Using FlatFileReaderBuilder for component '{}'", config.getName());
-                    yield FlatFileReaderBuilder.build(config);
+                    yield FlatFileReaderBuilder.build(config, partitionContext);
+                }
+                case "MappedFlatFileItemReader" -> {
+                    log.debug("Using MappedFlatFileReaderBuilder for component '{}'", config.getName());
+                    yield MappedFlatFileReaderBuilder.build(config, partitionContext);
                 }
                 case "JdbcCursorItemReader" -> {
                     log.debug("Using JdbcCursorReaderBuilder for component '{}'", config.getName());
-                    yield JdbcCursorReaderBuilder.build(config, context);
+                    yield JdbcCursorReaderBuilder.build(config, context, partitionContext);
                 }
                 case "JdbcPagingItemReader" -> {
                     log.debug("Using JdbcPagingReaderBuilder with chunk size '{}' for component '{}'", chunk, config.getName());
-                    yield JdbcPagingReaderBuilder.build(config, context, chunk);
+                    yield JdbcPagingReaderBuilder.build(config, context, chunk, partitionContext, taskExecutorFactory);
                 }
                 // case "MongoCursorItemReader" -> {
                 //     log.debug("Using MongoCursorReaderBuilder for component '{}'", config.getName());
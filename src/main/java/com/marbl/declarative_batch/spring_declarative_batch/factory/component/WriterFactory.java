@@ -2,8 +2,12 @@ package com.marbl.declarative_batch.spring_declarative_batch.factory.component;
 
 import com.marbl.declarative_batch.spring_declarative_batch.builder.writer.FlatFileWriterBuilder;
 import com.marbl.declarative_batch.spring_declarative_batch.builder.writer.JdbcBatchWriterBuilder;
+import com.marbl.declarative_batch.spring_declarative_batch.builder.writer.PostgresCopyWriterBuilder;
+import com.marbl.declarative_batch.spring_declarative_batch.builder.writer.StagingMergeWriterBuilder;
 import com.marbl.declarative_batch.spring_declarative_batch.exception.TypeNotSupportedException;
 import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.ComponentConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.support.writer.PostgresCopyItemWriter;
+import com.marbl.declarative_batch.spring_declarative_batch.support.writer.StagingMergeItemWriter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.item.ItemWriter;
 import org.springframework.context.ApplicationContext;
@@ -21,6 +25,8 @@ public class WriterFactory {
     private static final Map<String, Class<?>> WRITER_TYPES = Map.of(
             "FlatFileItemWriter", org.springframework.batch.item.file.FlatFileItemWriter.class,
             "JdbcBatchItemWriter", org.springframework.batch.item.database.JdbcBatchItemWriter.class,
+            "PostgresCopyItemWriter", PostgresCopyItemWriter.class,
+            "StagingMergeItemWriter", StagingMergeItemWriter.class,
             "KafkaItemWriter", org.springframework.batch.item.kafka.KafkaItemWriter.class,
             "ItemWriter", ItemWriter.class
     );
@@ -54,6 +60,16 @@ public class WriterFactory {
                             config.getConfig().get("datasource"), config.getName());
                     yield JdbcBatchWriterBuilder.build(config, context);
                 }
+                case "PostgresCopyItemWriter" -> {
+                    log.debug("Using PostgresCopyWriterBuilder with datasource '{}' for '{}'",
+                            config.getConfig().get("datasource"), config.getName());
+                    yield PostgresCopyWriterBuilder.build(config, context);
+                }
+                case "StagingMergeItemWriter" -> {
+                    log.debug("Using StagingMergeWriterBuilder with datasource '{}' for '{}'",
+                            config.getConfig().get("datasource"), config.getName());
+                    yield StagingMergeWriterBuilder.build(config, context);
+                }
                 case "KafkaItemWriter" -> {
                     log.debug("Directly creating KafkaItemWriter for '{}'", config.getName());
                     yield new org.springframework.batch.item.kafka.KafkaItemWriter<>();
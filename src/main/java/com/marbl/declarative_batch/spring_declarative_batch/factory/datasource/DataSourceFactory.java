@@ -11,6 +11,7 @@ import org.springframework.stereotype.Component;
 
 import javax.sql.DataSource;
 import java.sql.SQLException;
+import java.util.Properties;
 
 @Slf4j
 @Component
@@ -43,7 +44,8 @@ public class DataSourceFactory {
         ds.setPassword(cfg.getPassword());
         ds.setDriverClassName(cfg.getDriverClassName());
         ds.setPoolName(name);
-        log.info("HikariDataSource '{}' created successfully", name);
+        cfg.getProperties().forEach(ds::addDataSourceProperty);
+        log.info("HikariDataSource '{}' created successfully with driver properties {}", name, cfg.getProperties().keySet());
         return ds;
     }
 
@@ -56,6 +58,11 @@ public class DataSourceFactory {
             pds.setPassword(cfg.getPassword());
             pds.setConnectionFactoryClassName(cfg.getDriverClassName());
             pds.setConnectionPoolName(name);
+            if (!cfg.getProperties().isEmpty()) {
+                Properties properties = new Properties();
+                properties.putAll(cfg.getProperties());
+                pds.setConnectionProperties(properties);
+            }
             log.info("Oracle PoolDataSource '{}' created successfully", name);
             return pds;
         } catch (SQLException e) {
@@ -70,6 +77,9 @@ public class DataSourceFactory {
         ds.setURL(cfg.getUrl());
         ds.setUser(cfg.getUsername());
         ds.setPassword(cfg.getPassword());
+        if (!cfg.getProperties().isEmpty()) {
+            log.warn("Driver properties are not supported for H2 datasource '{}', set them in the URL instead", name);
+        }
         log.info("H2 DataSource '{}' created successfully", name);
         return ds;
     }
@@ -0,0 +1,100 @@
+package com.marbl.declarative_batch.spring_declarative_batch.factory.executor;
+
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.ConcurrencyConfig.ExecutorType;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.ExecutionConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.support.executor.VirtualThreadPinningMonitor;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class TaskExecutorFactory implements DisposableBean {
+
+    private static final int VIRTUAL_THREADS_MIN_JAVA_VERSION = 21;
+    private static final int KEEP_ALIVE_SECONDS = 60;
+
+    private final ExecutionConfig executionConfig;
+
+    private VirtualThreadPinningMonitor pinningMonitor;
+
+    /**
+     * Creates a TaskExecutor bounded to the given number of threads.
+     * Platform executors are daemon pools whose idle threads time out, so no explicit shutdown is required.
+     */
+    public TaskExecutor create(String name, int threads, ExecutorType type) {
+        if (threads < 1) {
+            log.error("Cannot create executor '{}': thread count must be positive (was {})", name, threads);
+            throw new IllegalArgumentException("Executor thread count must be greater than zero: " + threads);
+        }
+
+        ExecutorType executorType = resolveType(type);
+        log.debug("Creating {} task executor '{}' with {} threads", executorType, name, threads);
+
+        return switch (executorType) {
+            case PLATFORM -> buildPlatformExecutor(name, threads);
+            case VIRTUAL -> buildVirtualExecutor(name, threads);
+        };
+    }
+
+    /**
+     * Executor type used when none is configured: virtual threads when 'bulk.execution.virtual-threads' is enabled.
+     */
+    public ExecutorType resolveType(ExecutorType type) {
+        if (type != null) {
+            return type;
+        }
+        return executionConfig.isVirtualThreads() ? ExecutorType.VIRTUAL : ExecutorType.PLATFORM;
+    }
+
+    @Override
+    public synchronized void destroy() {
+        if (pinningMonitor != null) {
+            pinningMonitor.close();
+            pinningMonitor = null;
+        }
+    }
+
+    private TaskExecutor buildPlatformExecutor(String name, int threads) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setThreadNamePrefix(name + "-");
+        executor.setCorePoolSize(threads);
+        executor.setMaxPoolSize(threads);
+        executor.setKeepAliveSeconds(KEEP_ALIVE_SECONDS);
+        executor.setAllowCoreThreadTimeOut(true);
+        executor.setDaemon(true);
+        executor.initialize();
+        log.info("Platform task executor '{}' created with {} threads", name, threads);
+        return executor;
+    }
+
+    private TaskExecutor buildVirtualExecutor(String name, int threads) {
+        int javaVersion = Runtime.version().feature();
+        if (javaVersion < VIRTUAL_THREADS_MIN_JAVA_VERSION) {
+            log.error("Virtual threads requested for executor '{}' but running on Java {}", name, javaVersion);
+            throw new IllegalStateException(
+                    "Virtual threads require Java " + VIRTUAL_THREADS_MIN_JAVA_VERSION + "+ (running on Java " + javaVersion + ")");
+        }
+
+        startPinningMonitor();
+
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(name + "-");
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(threads);
+        log.info("Virtual thread task executor '{}' created with concurrency limit {}", name, threads);
+        return executor;
+    }
+
+    private synchronized void startPinningMonitor() {
+        if (executionConfig.isTracePinning() && pinningMonitor == null) {
+            pinningMonitor = new VirtualThreadPinningMonitor(Duration.ofMillis(executionConfig.getPinningThresholdMillis()));
+        }
+    }
+}
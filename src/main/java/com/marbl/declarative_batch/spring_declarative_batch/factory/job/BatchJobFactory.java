@@ -5,30 +5,38 @@ import com.marbl.declarative_batch.spring_declarative_batch.annotation.BulkBatch
 import com.marbl.declarative_batch.spring_declarative_batch.annotation.BulkBatchValidator;
 import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.*;
 import com.marbl.declarative_batch.spring_declarative_batch.exception.BatchException;
+import com.marbl.declarative_batch.spring_declarative_batch.factory.executor.TaskExecutorFactory;
 import com.marbl.declarative_batch.spring_declarative_batch.factory.step.AbstractSteplet;
 import com.marbl.declarative_batch.spring_declarative_batch.support.incrementer.DatabaseRunIdIncrementer;
+import com.marbl.declarative_batch.spring_declarative_batch.support.registry.BulkBatchComponentRegistry;
+import com.marbl.declarative_batch.spring_declarative_batch.utils.StepGraphUtils;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
 import org.springframework.batch.core.JobExecutionListener;
 import org.springframework.batch.core.JobParametersValidator;
 import org.springframework.batch.core.Step;
 import org.springframework.batch.core.configuration.JobFactory;
-import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.job.builder.FlowBuilder;
 import org.springframework.batch.core.job.builder.JobBuilder;
 import org.springframework.batch.core.job.flow.Flow;
 import org.springframework.batch.core.launch.support.RunIdIncrementer;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
 import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.ResourcelessJobRepository;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.core.step.tasklet.Tasklet;
 import org.springframework.context.ApplicationContext;
+import org.springframework.core.task.TaskExecutor;
 import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 @Slf4j
 @Component
@@ -37,18 +45,84 @@ public class BatchJobFactory implements JobFactory {
 
     private final BatchJobConfig jobConfig;
     private final JobRepository jobRepository;
-    private final JobExplorer jobExplorer;
+    private final DatabaseRunIdIncrementer databaseRunIdIncrementer;
     private final ApplicationContext context;
+    private final BulkBatchComponentRegistry componentRegistry;
     private final @Nullable RunIdIncrementer runIdIncrementer;
     private final PlatformTransactionManager transactionManager;
+    private final TaskExecutorFactory taskExecutorFactory;
+
+    private volatile Job compiledJob;
+    private volatile boolean sharedComponents;
+    private final AtomicBoolean compiledJobInUse = new AtomicBoolean();
 
     @Override
     public String getJobName() {
         return jobConfig.getName();
     }
 
+    /**
+     * Returns the job compiled from the YAML on the first call, reused by the following launches.
+     *
+     * <p>This is also the job handed out by the {@code JobRegistry}, for instance to the
+     * {@code JobOperator} stopping or restarting an execution, so it does not take part in the
+     * tracking of running executions: launches go through {@link #acquireJob()}.</p>
+     */
     @Override
     public Job createJob() {
+        Job job = compiledJob;
+        if (job == null) {
+            synchronized (this) {
+                if (compiledJob == null) {
+                    Job built = buildJob(true);
+                    sharedComponents = usesSharedComponents(jobConfig);
+                    compiledJob = built;
+                    log.info("Job '{}' compiled, it will be reused by the following launches", jobConfig.getName());
+                }
+                job = compiledJob;
+            }
+        }
+        return job;
+    }
+
+    /**
+     * Returns the job to launch, marking the compiled job as running until its execution ends.
+     *
+     * <p>Readers, processors and writers are opened and closed by every step execution, so a job can
+     * be launched again and again, but two executions running at the same time would share them:
+     * a launch overlapping a running execution gets a dedicated instance. When a step uses a tasklet
+     * bean or a reader or writer supplied by its steplet, a dedicated instance would share those
+     * singletons anyway, so the overlapping launch is refused. So it is with the resourceless repository,
+     * which keeps a single job execution.</p>
+     */
+    public Job acquireJob() throws JobExecutionAlreadyRunningException {
+        Job job = createJob();
+        if (compiledJobInUse.compareAndSet(false, true)) {
+            log.debug("Using compiled job '{}'", jobConfig.getName());
+            return job;
+        }
+        if (sharedComponents) {
+            throw new JobExecutionAlreadyRunningException("Job '" + jobConfig.getName()
+                    + "' is already running and its steps use singleton components that cannot be shared by concurrent executions");
+        }
+        if (jobRepository instanceof ResourcelessJobRepository) {
+            throw new JobExecutionAlreadyRunningException("Job '" + jobConfig.getName()
+                    + "' is already running and the resourceless job repository tracks a single execution");
+        }
+        log.info("Job '{}' is already running, building a dedicated instance for the overlapping launch", jobConfig.getName());
+        return buildJob(false);
+    }
+
+    /**
+     * Marks the compiled job as available again when its launch failed before the job started.
+     */
+    public void release(Job job) {
+        if (job != null && job == compiledJob) {
+            compiledJobInUse.set(false);
+        }
+    }
+
+    private Job buildJob(boolean compiled) {
         if (jobConfig == null || jobConfig.getSteps() == null || jobConfig.getSteps().isEmpty()) {
             log.error("Job config is invalid: must contain at least one step");
             throw new IllegalArgumentException("Job config must contain at least one step");
@@ -59,8 +133,10 @@ public class BatchJobFactory implements JobFactory {
         // --- Create steps dynamically from steplets ---
         Map<String, Step> stepsMap = createStepsFromSteplets(jobConfig);
 
-        // --- Build dynamic flow (supports conditional and next transitions) ---
-        Flow mainFlow = buildDynamicFlow(jobConfig, stepsMap);
+        // --- Build dynamic flow (DAG of dependencies, or conditional and next transitions) ---
+        Flow mainFlow = StepGraphUtils.hasDependencies(jobConfig.getSteps())
+                ? buildDependencyFlow(jobConfig, stepsMap)
+                : buildDynamicFlow(jobConfig, stepsMap);
 
         // --- Initialize JobBuilder ---
         JobBuilder jobBuilder = new JobBuilder(jobConfig.getName(), jobRepository);
@@ -71,10 +147,25 @@ public class BatchJobFactory implements JobFactory {
         // --- Attach Job Parameters Validator if configured ---
         attachJobValidator(jobBuilder, jobConfig);
 
+        // --- The compiled job is running from the start of its execution, launched by us or by the JobOperator, to its end ---
+        if (compiled) {
+            jobBuilder.listener(new JobExecutionListener() {
+                @Override
+                public void beforeJob(JobExecution jobExecution) {
+                    compiledJobInUse.set(true);
+                }
+
+                @Override
+                public void afterJob(JobExecution jobExecution) {
+                    compiledJobInUse.set(false);
+                }
+            });
+        }
+
         // --- Attach RunIdIncrementer if applicable ---
         if (runIdIncrementer != null) {
             log.info("Using RunIdIncrementer: {}", runIdIncrementer.getClass().getSimpleName());
-            jobBuilder.incrementer(new DatabaseRunIdIncrementer(jobConfig, jobExplorer));
+            jobBuilder.incrementer(databaseRunIdIncrementer);
         }
 
         // --- Build final Job ---
@@ -110,8 +201,7 @@ public class BatchJobFactory implements JobFactory {
                 } else {
                     // --- Regular STEP (via steplet) ---
                     AbstractSteplet<?, ?> steplet = resolveStepletBean(stepConfig);
-                    steplet.setConfig(stepConfig);
-                    step = steplet.buildStep();
+                    step = steplet.buildStep(stepConfig);
 
                     log.info("Chunk-oriented step '{}' created via steplet '{}'",
                             stepConfig.getName(), steplet.getClass().getSimpleName());
@@ -125,29 +215,40 @@ public class BatchJobFactory implements JobFactory {
         }
 
         // --- Warn for unused annotated steplets ---
-        Map<String, Object> annotatedSteplets = context.getBeansWithAnnotation(BulkBatchSteplet.class);
-        for (Object bean : annotatedSteplets.values()) {
-            BulkBatchSteplet ann = bean.getClass().getAnnotation(BulkBatchSteplet.class);
-            if (!stepsMap.containsKey(ann.name())) {
+        componentRegistry.findAll(BulkBatchSteplet.class).forEach((name, bean) -> {
+            if (!stepsMap.containsKey(name)) {
                 log.warn("Annotated steplet bean '{}' ({}) is not used in YAML configuration",
-                        ann.name(), bean.getClass().getSimpleName());
+                        name, bean.getClass().getSimpleName());
             }
-        }
+        });
 
         // --- Warn for unused annotated tasklets ---
-        Map<String, Object> annotatedTasklets = context.getBeansWithAnnotation(BulkBatchTasklet.class);
-        for (Object bean : annotatedTasklets.values()) {
-            BulkBatchTasklet ann = bean.getClass().getAnnotation(BulkBatchTasklet.class);
-            if (!stepsMap.containsKey(ann.name())) {
+        componentRegistry.findAll(BulkBatchTasklet.class).forEach((name, bean) -> {
+            if (!stepsMap.containsKey(name)) {
                 log.warn("Annotated tasklet bean '{}' ({}) is not used in YAML configuration",
-                        ann.name(), bean.getClass().getSimpleName());
+                        name, bean.getClass().getSimpleName());
             }
-        }
+        });
 
         return stepsMap;
     }
 
 
+    /**
+     * Whether a step of the job uses a tasklet bean or a reader or writer supplied by its steplet,
+     * which every instance of the job shares.
+     */
+    private boolean usesSharedComponents(BatchJobConfig jobConfig) {
+        for (StepsConfig stepConfig : jobConfig.getSteps()) {
+            if (stepConfig.getType() == StepsConfig.StepType.TASKLET
+                    || resolveStepletBean(stepConfig).providesComponents(stepConfig)) {
+                log.debug("Step '{}' of job '{}' uses singleton components", stepConfig.getName(), jobConfig.getName());
+                return true;
+            }
+        }
+        return false;
+    }
+
     private Flow buildDynamicFlow(BatchJobConfig jobConfig, Map<String, Step> stepsMap) {
         FlowBuilder<Flow> flowBuilder = new FlowBuilder<>("flow-" + jobConfig.getName());
 
@@ -209,6 +310,50 @@ public class BatchJobFactory implements JobFactory {
         return flowBuilder.end();
     }
 
+    /**
+     * Builds the flow of a job whose steps declare 'dependsOn': the steps are grouped by topological
+     * level, and the steps of a level run in parallel in a split once the previous level completed.
+     * Any outcome other than COMPLETED stops the job.
+     */
+    private Flow buildDependencyFlow(BatchJobConfig jobConfig, Map<String, Step> stepsMap) {
+        List<List<StepsConfig>> levels = StepGraphUtils.topologicalLevels(jobConfig.getSteps());
+
+        int widestLevel = levels.stream().mapToInt(List::size).max().orElse(1);
+        int threads = jobConfig.getMaxParallelSteps() != null ? jobConfig.getMaxParallelSteps() : widestLevel;
+        TaskExecutor taskExecutor = widestLevel > 1
+                ? taskExecutorFactory.create(jobConfig.getName() + "-split", threads, jobConfig.getExecutor())
+                : null;
+
+        FlowBuilder<Flow> flowBuilder = new FlowBuilder<>("flow-" + jobConfig.getName());
+        for (int index = 0; index < levels.size(); index++) {
+            List<StepsConfig> level = levels.get(index);
+            Flow levelFlow = level.size() == 1
+                    ? singleStepFlow(stepsMap.get(level.get(0).getName()))
+                    : new FlowBuilder<Flow>("split-" + jobConfig.getName() + "-" + index)
+                    .split(taskExecutor)
+                    .add(level.stream()
+                            .map(stepConfig -> singleStepFlow(stepsMap.get(stepConfig.getName())))
+                            .toArray(Flow[]::new))
+                    .build();
+
+            if (index == 0) {
+                flowBuilder.start(levelFlow);
+            } else {
+                flowBuilder.next(levelFlow);
+            }
+            log.info("Scheduled level {} of job '{}': {}", index, jobConfig.getName(),
+                    level.stream().map(StepsConfig::getName).toList());
+        }
+
+        log.info("Built dependency flow for job '{}': {} levels, up to {} steps in parallel",
+                jobConfig.getName(), levels.size(), Math.min(threads, widestLevel));
+        return flowBuilder.end();
+    }
+
+    private Flow singleStepFlow(Step step) {
+        return new FlowBuilder<Flow>("flow-" + step.getName()).start(step).build();
+    }
+
     private void attachJobListener(JobBuilder jobBuilder, BatchJobConfig jobConfig) {
         ListenerConfig jobListenerConfig = jobConfig.getListener();
         if (jobListenerConfig == null || jobListenerConfig.getName() == null) {
@@ -236,8 +381,7 @@ public class BatchJobFactory implements JobFactory {
             return;
         }
 
-        Map<String, Object> validators = context.getBeansWithAnnotation(BulkBatchValidator.class);
-        Object validatorBean = validators.get(validatorConfig.getName());
+        Object validatorBean = componentRegistry.find(BulkBatchValidator.class, validatorConfig.getName());
 
         if (validatorBean == null) {
             log.error("No BulkBatchValidator bean found with name '{}'", validatorConfig.getName());
@@ -254,38 +398,31 @@ public class BatchJobFactory implements JobFactory {
     }
 
     private AbstractSteplet<?, ?> resolveStepletBean(StepsConfig config) {
-        Map<String, Object> beans = context.getBeansWithAnnotation(BulkBatchSteplet.class);
-        for (Object bean : beans.values()) {
-            BulkBatchSteplet ann = bean.getClass().getAnnotation(BulkBatchSteplet.class);
-            if (config.getName().equals(ann.name())) {
-                if (!(bean instanceof AbstractSteplet<?, ?>)) {
-                    log.error("Bean annotated with @BulkBatchSteplet must extend AbstractSteplet: {}", bean.getClass());
-                    throw new IllegalStateException("Bean annotated with @BulkBatchSteplet must extend AbstractSteplet: " + bean.getClass());
-                }
-                log.debug("Resolved steplet bean '{}' for step '{}'", bean.getClass().getSimpleName(), config.getName());
-                return (AbstractSteplet<?, ?>) bean;
-            }
+        Object bean = componentRegistry.find(BulkBatchSteplet.class, config.getName());
+        if (bean == null) {
+            log.error("No steplet bean found for step name '{}'", config.getName());
+            throw new IllegalArgumentException("No steplet bean found for step name: " + config.getName());
         }
-        log.error("No steplet bean found for step name '{}'", config.getName());
-        throw new IllegalArgumentException("No steplet bean found for step name: " + config.getName());
+        if (!(bean instanceof AbstractSteplet<?, ?>)) {
+            log.error("Bean annotated with @BulkBatchSteplet must extend AbstractSteplet: {}", bean.getClass());
+            throw new IllegalStateException("Bean annotated with @BulkBatchSteplet must extend AbstractSteplet: " + bean.getClass());
+        }
+        log.debug("Resolved steplet bean '{}' for step '{}'", bean.getClass().getSimpleName(), config.getName());
+        return (AbstractSteplet<?, ?>) bean;
     }
 
     private Tasklet resolveTaskletBean(StepsConfig config) {
-        Map<String, Object> beans = context.getBeansWithAnnotation(BulkBatchTasklet.class);
-        for (Object bean : beans.values()) {
-            BulkBatchTasklet ann = bean.getClass().getAnnotation(BulkBatchTasklet.class);
-            if (config.getTasklet().equals(ann.name())) {
-                if (!(bean instanceof Tasklet)) {
-                    log.error("Bean annotated with @BulkBatchTasklet must implement Tasklet: {}", bean.getClass());
-                    throw new IllegalStateException("Bean annotated with @BulkBatchTasklet must implement Tasklet: " + bean.getClass());
-                }
-                log.debug("Resolved tasklet bean '{}' for step '{}'", bean.getClass().getSimpleName(), config.getName());
-                return (Tasklet) bean;
-            }
+        Object bean = componentRegistry.find(BulkBatchTasklet.class, config.getTasklet());
+        if (bean == null) {
+            log.error("No tasklet bean found for tasklet name '{}'", config.getTasklet());
+            throw new IllegalArgumentException("No tasklet bean found for tasklet name: " + config.getTasklet());
         }
-
-        log.error("No tasklet bean found for tasklet name '{}'", config.getTasklet());
-        throw new IllegalArgumentException("No tasklet bean found for tasklet name: " + config.getTasklet());
+        if (!(bean instanceof Tasklet)) {
+            log.error("Bean annotated with @BulkBatchTasklet must implement Tasklet: {}", bean.getClass());
+            throw new IllegalStateException("Bean annotated with @BulkBatchTasklet must implement Tasklet: " + bean.getClass());
+        }
+        log.debug("Resolved tasklet bean '{}' for step '{}'", bean.getClass().getSimpleName(), config.getName());
+        return (Tasklet) bean;
     }
 
 }
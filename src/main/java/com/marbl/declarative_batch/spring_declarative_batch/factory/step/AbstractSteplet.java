@@ -2,7 +2,6 @@ package com.marbl.declarative_batch.spring_declarative_batch.factory.step;
 
 import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.StepsConfig;
 import lombok.RequiredArgsConstructor;
-import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.Step;
 
@@ -12,36 +11,58 @@ public abstract class AbstractSteplet<I, O> implements StepComponent<I, O> {
 
     private final StepFactory stepFactory;
 
-    @Setter
-    private StepsConfig config;
+    /**
+     * Config of the step being built on the current thread: the steplet is a singleton bean, so
+     * concurrent builds of the job must not share it through a field.
+     */
+    private final ThreadLocal<StepsConfig> config = new ThreadLocal<>();
 
     /**
      * Build the Spring Batch Step using StepFactory.
      */
-    public Step buildStep() throws Exception {
-        StepsConfig cfg = getConfig();
-        log.info("Building step '{}' via AbstractSteplet '{}'", cfg.getName(), this.getClass().getSimpleName());
-
-        Step step = stepFactory.createStep(
-                cfg,
-                reader(),
-                processor(),
-                writer()
-        );
-
-        log.info("Step '{}' built successfully via AbstractSteplet '{}'", cfg.getName(), this.getClass().getSimpleName());
-        return step;
+    public Step buildStep(StepsConfig stepConfig) throws Exception {
+        config.set(stepConfig);
+        try {
+            StepsConfig cfg = getConfig();
+            log.info("Building step '{}' via AbstractSteplet '{}'", cfg.getName(), this.getClass().getSimpleName());
+
+            Step step = stepFactory.createStep(
+                    cfg,
+                    reader(),
+                    processor(),
+                    writer()
+            );
+
+            log.info("Step '{}' built successfully via AbstractSteplet '{}'", cfg.getName(), this.getClass().getSimpleName());
+            return step;
+        } finally {
+            config.remove();
+        }
+    }
+
+    /**
+     * Whether the steplet supplies its own reader or writer: those are shared by every execution of
+     * the steps it builds.
+     */
+    public boolean providesComponents(StepsConfig stepConfig) {
+        config.set(stepConfig);
+        try {
+            return reader() != null || writer() != null;
+        } finally {
+            config.remove();
+        }
     }
 
     /**
-     * Get StepsConfig, ensuring it is set.
+     * Get the StepsConfig of the step being built, ensuring it is set.
      */
     protected StepsConfig getConfig() {
-        if (config == null) {
+        StepsConfig cfg = config.get();
+        if (cfg == null) {
             log.error("StepsConfig not set in AbstractSteplet '{}'", this.getClass().getSimpleName());
             throw new IllegalStateException("StepsConfig not set");
         }
-        log.debug("Retrieved StepsConfig for step '{}'", config.getName());
-        return config;
+        log.debug("Retrieved StepsConfig for step '{}'", cfg.getName());
+        return cfg;
     }
 }
@@ -0,0 +1,89 @@
+package com.marbl.declarative_batch.spring_declarative_batch.factory.step;
+
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.PartitionConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.StepsConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.factory.executor.TaskExecutorFactory;
+import com.marbl.declarative_batch.spring_declarative_batch.support.partition.ByteRangePartitioner;
+import com.marbl.declarative_batch.spring_declarative_batch.support.partition.ColumnRangePartitioner;
+import com.marbl.declarative_batch.spring_declarative_batch.support.partition.HashPartitioner;
+import com.marbl.declarative_batch.spring_declarative_batch.utils.DatasourceUtils;
+import com.marbl.declarative_batch.spring_declarative_batch.utils.ResourceUtils;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.Step;
+import org.springframework.batch.core.partition.support.MultiResourcePartitioner;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class PartitionStepFactory {
+
+    private final JobRepository jobRepository;
+    private final ApplicationContext context;
+    private final TaskExecutorFactory taskExecutorFactory;
+
+    /**
+     * Wraps the worker step into a manager step executing one worker per partition.
+     */
+    public Step createPartitionedStep(StepsConfig config, Step workerStep) {
+        PartitionConfig partition = config.getPartition();
+
+        Partitioner partitioner = createPartitioner(config);
+        TaskExecutor taskExecutor = taskExecutorFactory.create(
+                config.getName(), partition.resolveThreads(), partition.getExecutor());
+
+        Step step = new StepBuilder(config.getName(), jobRepository)
+                .partitioner(workerStep.getName(), partitioner)
+                .step(workerStep)
+                .gridSize(partition.getGridSize())
+                .taskExecutor(taskExecutor)
+                .build();
+
+        log.info("Configured partitioning for step '{}': partitioner={}, gridSize={}, threads={}, executor={}",
+                config.getName(),
+                partition.getPartitioner(),
+                partition.getGridSize(),
+                partition.resolveThreads(),
+                taskExecutorFactory.resolveType(partition.getExecutor()));
+        return step;
+    }
+
+    private Partitioner createPartitioner(StepsConfig config) {
+        PartitionConfig partition = config.getPartition();
+
+        return switch (partition.getPartitioner()) {
+            case RANGE -> new ColumnRangePartitioner(
+                    DatasourceUtils.getDataSource(context, partition.getDatasource()),
+                    partition.getTable(),
+                    partition.getColumn());
+            case HASH -> new HashPartitioner(partition.getColumn());
+            case FILE -> createFilePartitioner(config);
+            case BYTE_RANGE -> new ByteRangePartitioner(ResourceUtils.resolveResource(partition.getResources()));
+        };
+    }
+
+    private Partitioner createFilePartitioner(StepsConfig config) {
+        String pattern = config.getPartition().getResources();
+        try {
+            Resource[] resources = new PathMatchingResourcePatternResolver().getResources(pattern);
+            log.debug("Resolved {} resources for pattern '{}' in step '{}'", resources.length, pattern, config.getName());
+
+            MultiResourcePartitioner partitioner = new MultiResourcePartitioner();
+            partitioner.setResources(resources);
+            return partitioner;
+        } catch (IOException e) {
+            log.error("Unable to resolve resources '{}' for step '{}': {}", pattern, config.getName(), e.getMessage(), e);
+            throw new IllegalArgumentException("Unable to resolve partition resources: " + pattern, e);
+        }
+    }
+}
@@ -3,32 +3,69 @@ package com.marbl.declarative_batch.spring_declarative_batch.factory.step;
 import com.marbl.declarative_batch.spring_declarative_batch.annotation.BulkBatchProcessor;
 import com.marbl.declarative_batch.spring_declarative_batch.annotation.BulkBatchReader;
 import com.marbl.declarative_batch.spring_declarative_batch.annotation.BulkBatchWriter;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.AdaptiveChunkConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.AsyncProcessingConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.BackoffConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.CircuitBreakerConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.ConcurrencyConfig;
 import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.ListenerConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.PipelineConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.RetryConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.SkipConfig;
 import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.StepsConfig;
 import com.marbl.declarative_batch.spring_declarative_batch.exception.InvalidBeanException;
 import com.marbl.declarative_batch.spring_declarative_batch.factory.component.ListenerFactory;
 import com.marbl.declarative_batch.spring_declarative_batch.factory.component.ProcessorFactory;
 import com.marbl.declarative_batch.spring_declarative_batch.factory.component.ReaderFactory;
 import com.marbl.declarative_batch.spring_declarative_batch.factory.component.WriterFactory;
+import com.marbl.declarative_batch.spring_declarative_batch.factory.executor.TaskExecutorFactory;
+import com.marbl.declarative_batch.spring_declarative_batch.support.chunk.AdaptiveCompletionPolicy;
 import com.marbl.declarative_batch.spring_declarative_batch.support.log.LoggingStepListener;
+import com.marbl.declarative_batch.spring_declarative_batch.support.partition.StepScopedItemReader;
+import com.marbl.declarative_batch.spring_declarative_batch.support.pipeline.PipelinedItemReader;
+import com.marbl.declarative_batch.spring_declarative_batch.support.processor.AsyncItemProcessor;
+import com.marbl.declarative_batch.spring_declarative_batch.support.retry.GuardedRetryPolicy;
+import com.marbl.declarative_batch.spring_declarative_batch.support.writer.AsyncItemWriter;
+import com.marbl.declarative_batch.spring_declarative_batch.support.writer.BisectingItemWriter;
+import com.marbl.declarative_batch.spring_declarative_batch.support.writer.BisectingStepBuilder;
+import com.marbl.declarative_batch.spring_declarative_batch.support.writer.StagingMergeItemWriter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.*;
+import org.springframework.batch.core.listener.StepListenerFactoryBean;
 import org.springframework.batch.core.repository.JobRepository;
 import org.springframework.batch.core.step.builder.FaultTolerantStepBuilder;
 import org.springframework.batch.core.step.builder.SimpleStepBuilder;
 import org.springframework.batch.core.step.builder.StepBuilder;
 import org.springframework.batch.item.ItemProcessor;
 import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamReader;
 import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.database.AbstractPagingItemReader;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.batch.item.support.SynchronizedItemReader;
+import org.springframework.batch.item.support.SynchronizedItemStreamReader;
+import org.springframework.batch.item.support.builder.SynchronizedItemStreamReaderBuilder;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.retry.backoff.BackOffPolicy;
+import org.springframework.retry.backoff.ExponentialBackOffPolicy;
+import org.springframework.retry.backoff.ExponentialRandomBackOffPolicy;
+import org.springframework.retry.backoff.FixedBackOffPolicy;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.PlatformTransactionManager;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Future;
+
 @Slf4j
 @Component
 @RequiredArgsConstructor
 public class StepFactory {
 
+    private static final String WORKER_SUFFIX = "-worker";
+
     private final JobRepository jobRepository;
     private final PlatformTransactionManager transactionManager;
     private final LoggingStepListener loggingStepListener;
@@ -37,6 +74,8 @@ public class StepFactory {
     private final ProcessorFactory processorFactory;
     private final WriterFactory writerFactory;
     private final ListenerFactory listenerFactory;
+    private final TaskExecutorFactory taskExecutorFactory;
+    private final PartitionStepFactory partitionStepFactory;
 
     /**
      * Build a typed Step from a YAML config or AbstractSteplet.
@@ -54,10 +93,19 @@ public class StepFactory {
         validateProcessor(processor, config);
         validateWriter(writer, config);
 
+        boolean partitioned = config.getType() == StepsConfig.StepType.PARTITIONED;
+
         // --- Build or reuse typed components ---
-        ItemReader<I> finalReader = reader != null
-                ? reader
-                : readerFactory.createReader(config.getReader(), config.getChunk());
+        ItemReader<I> finalReader;
+        if (reader != null) {
+            finalReader = reader;
+        } else if (partitioned) {
+            // Each partition opens its own reader, bound to the partition execution context
+            finalReader = new StepScopedItemReader<>(config.getReader().getName(),
+                    partitionContext -> readerFactory.createReader(config.getReader(), config.getChunk(), partitionContext));
+        } else {
+            finalReader = readerFactory.createReader(config.getReader(), config.getChunk());
+        }
 
         ItemProcessor<I, O> finalProcessor = processor != null
                 ? processor
@@ -67,18 +115,71 @@ public class StepFactory {
                 ? writer
                 : writerFactory.createWriter(config.getWriter());
 
-        // --- Build chunk step ---
-        StepBuilder stepBuilder = new StepBuilder(config.getName(), jobRepository);
-        SimpleStepBuilder<I, O> chunkStep = stepBuilder
-                .<I, O>chunk(config.getChunk(), transactionManager)
-                .reader(finalReader)
-                .processor(finalProcessor)
-                .writer(finalWriter);
+        // --- Partitions run concurrently and share the worker components ---
+        if (partitioned) {
+            validatePartitionComponents(reader, finalWriter, config);
+        }
+
+        // --- Chunks of partitions or concurrent threads write at the same time ---
+        if (partitioned || config.getConcurrency() != null) {
+            validateConcurrentWriter(finalWriter, config);
+        }
+
+        // --- The pipeline runs the processor outside the step ---
+        if (config.getPipeline() != null) {
+            validatePipelineComponents(finalProcessor, config);
+        }
+
+        // --- Async processing hands pending results to the step ---
+        if (config.getAsyncProcessing() != null) {
+            validateAsyncComponents(finalProcessor, finalWriter, config);
+        }
+
+        // --- Guard non thread-safe readers for multi-threaded steps ---
+        if (config.getConcurrency() != null) {
+            finalReader = guardReaderForConcurrency(finalReader, config);
+        }
+
+        // --- Isolate skippable write failures by bisecting the chunk ---
+        if (isBisecting(config)) {
+            finalWriter = createBisectingWriter(finalWriter, config);
+        }
+
+        // --- Build chunk step (the worker step when partitioned) ---
+        String stepName = partitioned ? config.getName() + WORKER_SUFFIX : config.getName();
+        StepBuilder stepBuilder = new StepBuilder(stepName, jobRepository);
+        AdaptiveCompletionPolicy adaptivePolicy = createAdaptivePolicy(config);
+        SimpleStepBuilder<I, O> chunkStep;
+        if (config.getPipeline() != null) {
+            // Read and process run ahead of the writer, the step only assembles and writes the chunks
+            chunkStep = (SimpleStepBuilder) this.<O, O>chunkBuilder(stepBuilder, config, adaptivePolicy)
+                    .reader(createPipeline(finalReader, finalProcessor, config))
+                    .writer(finalWriter);
+        } else if (config.getAsyncProcessing() != null) {
+            // Items of a chunk are processed in parallel, the writer collects the results in order
+            chunkStep = (SimpleStepBuilder) this.<I, Future<O>>chunkBuilder(stepBuilder, config, adaptivePolicy)
+                    .reader(finalReader)
+                    .processor(createAsyncProcessor(finalProcessor, config))
+                    .writer(new AsyncItemWriter<>(finalWriter));
+            registerAsyncDelegates(chunkStep, finalProcessor, finalWriter);
+        } else {
+            chunkStep = this.<I, O>chunkBuilder(stepBuilder, config, adaptivePolicy)
+                    .reader(finalReader)
+                    .processor(finalProcessor)
+                    .writer(finalWriter);
+        }
 
         // --- Attach common logging listener ---
         chunkStep.listener((StepExecutionListener) loggingStepListener);
         chunkStep.listener((ChunkListener) loggingStepListener);
 
+        // --- The adaptive policy times the chunks it sizes and stores the size with each chunk ---
+        if (adaptivePolicy != null) {
+            chunkStep.listener((StepExecutionListener) adaptivePolicy);
+            chunkStep.listener((ChunkListener) adaptivePolicy);
+            chunkStep.stream(adaptivePolicy);
+        }
+
         // --- Attach additional listeners from YAML config ---
         attachStepListeners(chunkStep, config);
 
@@ -87,7 +188,18 @@ public class StepFactory {
             chunkStep = configureFaultTolerance(chunkStep, config);
         }
 
+        // --- Configure multi-threaded execution if defined ---
+        if (config.getConcurrency() != null) {
+            configureConcurrency(chunkStep, config);
+        }
+
         Step step = chunkStep.build();
+
+        // --- Wrap the worker into a partitioned manager step if defined ---
+        if (partitioned) {
+            step = partitionStepFactory.createPartitionedStep(config, step);
+        }
+
         log.info("Step '{}' created successfully", config.getName());
         return step;
     }
@@ -144,6 +256,82 @@ public class StepFactory {
         log.debug("Validated writer '{}' for step '{}'", config.getWriter().getName(), config.getName());
     }
 
+    private <I, O> void validatePartitionComponents(ItemReader<I> reader, ItemWriter<O> writer, StepsConfig config) {
+        if (reader != null) {
+            log.error("Reader passed from Steplet cannot be shared between partitions of step '{}'", config.getName());
+            throw new InvalidBeanException(
+                    "Partitioned step requires a declarative reader, found Steplet reader for step: " + config.getName()
+            );
+        }
+        if (writer instanceof ItemStream) {
+            log.error("Writer '{}' is stateful and cannot be shared between partitions of step '{}'",
+                    writer.getClass().getSimpleName(), config.getName());
+            throw new InvalidBeanException(
+                    "Stateful writer '" + writer.getClass().getSimpleName() + "' cannot be used in partitioned step: " + config.getName()
+            );
+        }
+    }
+
+    static void validateConcurrentWriter(ItemWriter<?> writer, StepsConfig config) {
+        if (writer instanceof StagingMergeItemWriter<?> stagingWriter && !stagingWriter.usesTransactionScopedStaging()) {
+            log.error("Writer of step '{}' shares its staging table between concurrent chunks", config.getName());
+            throw new InvalidBeanException(
+                    "StagingMergeItemWriter in a partitioned or multi-threaded step requires 'clearMode: NONE' and a 'stagingDdl'"
+                            + " creating a TEMP table ON COMMIT DROP or ON COMMIT DELETE ROWS, step: " + config.getName()
+            );
+        }
+    }
+
+    private <I, O> void validatePipelineComponents(ItemProcessor<I, O> processor, StepsConfig config) {
+        if (processor instanceof ItemProcessListener) {
+            log.error("Processor '{}' is an ItemProcessListener and cannot run in the pipeline of step '{}'",
+                    processor.getClass().getSimpleName(), config.getName());
+            throw new InvalidBeanException(
+                    "Pipeline does not call processor listeners, found ItemProcessListener processor for step: " + config.getName()
+            );
+        }
+    }
+
+    private <I, O> void validateAsyncComponents(ItemProcessor<I, O> processor, ItemWriter<O> writer, StepsConfig config) {
+        for (Object component : new Object[]{processor, writer}) {
+            StepListener listener = StepListenerFactoryBean.isListener(component) ? StepListenerFactoryBean.getListener(component) : null;
+            if (listener instanceof ItemProcessListener || listener instanceof ItemWriteListener) {
+                log.error("Component '{}' is an item listener and cannot be used with async processing in step '{}'",
+                        component.getClass().getSimpleName(), config.getName());
+                throw new InvalidBeanException(
+                        "Async processing hands Futures to item listeners, found item listener '"
+                                + component.getClass().getSimpleName() + "' for step: " + config.getName()
+                );
+            }
+        }
+    }
+
+    /**
+     * The builder only sees the async wrappers, so the stream and listener interfaces of the wrapped
+     * processor and writer are registered here (the writer stream is opened by the async writer).
+     */
+    @SuppressWarnings("unchecked")
+    private <I, O> void registerAsyncDelegates(SimpleStepBuilder<I, O> chunkStep, ItemProcessor<?, ?> processor, ItemWriter<?> writer) {
+        if (processor instanceof ItemStream stream) {
+            chunkStep.stream(stream);
+        }
+        for (Object component : new Object[]{processor, writer}) {
+            if (!StepListenerFactoryBean.isListener(component)) {
+                continue;
+            }
+            StepListener listener = StepListenerFactoryBean.getListener(component);
+            if (listener instanceof StepExecutionListener stepListener) {
+                chunkStep.listener(stepListener);
+            }
+            if (listener instanceof ChunkListener chunkListener) {
+                chunkStep.listener(chunkListener);
+            }
+            if (listener instanceof ItemReadListener<?> readListener) {
+                chunkStep.listener((ItemReadListener<I>) readListener);
+            }
+        }
+    }
+
     private <I, O> void attachStepListeners(SimpleStepBuilder<I, O> chunkStep, StepsConfig config) {
         if (config.getListeners() == null) return;
 
@@ -179,7 +367,10 @@ public class StepFactory {
     }
 
     private <I, O> SimpleStepBuilder<I, O> configureFaultTolerance(SimpleStepBuilder<I, O> chunkStep, StepsConfig config) {
-        FaultTolerantStepBuilder<I, O> faultStep = chunkStep.faultTolerant();
+        // The bisecting writer counts its skips on the chunk contribution exposed by its builder
+        FaultTolerantStepBuilder<I, O> faultStep = isBisecting(config)
+                ? new BisectingStepBuilder<>(chunkStep)
+                : chunkStep.faultTolerant();
 
         // Retry
         if (config.getRetry() != null) {
@@ -191,6 +382,7 @@ public class StepFactory {
             }
             log.info("Configured retry for step '{}': limit={}, exceptions={}",
                     config.getName(), config.getRetry().getLimit(), config.getRetry().getExceptions());
+            configureRetryGuards(faultStep, config);
         }
 
         // Skip
@@ -231,4 +423,188 @@ public class StepFactory {
 
         return faultStep;
     }
+
+    static <I> ItemReader<I> guardReaderForConcurrency(ItemReader<I> reader, StepsConfig config) {
+        // Concurrent chunks complete out of order, so the reader position is meaningless on restart,
+        // even for readers that need no synchronization such as the paging ones
+        if (reader instanceof AbstractItemCountingItemStreamItemReader<I> countingReader) {
+            countingReader.setSaveState(false);
+            log.warn("Disabled state saving on reader '{}' for multi-threaded step '{}': restart will start from the beginning",
+                    reader.getClass().getSimpleName(), config.getName());
+        }
+
+        if (isThreadSafeReader(reader)) {
+            log.debug("Reader '{}' is thread-safe, no guard needed for step '{}'",
+                    reader.getClass().getSimpleName(), config.getName());
+            return reader;
+        }
+
+        if (config.getConcurrency().getReaderPolicy() == ConcurrencyConfig.ReaderPolicy.REJECT) {
+            log.error("Reader '{}' is not thread-safe and cannot be used in multi-threaded step '{}'",
+                    reader.getClass().getSimpleName(), config.getName());
+            throw new InvalidBeanException(
+                    "Reader '" + reader.getClass().getSimpleName() + "' is not thread-safe for multi-threaded step: " + config.getName()
+            );
+        }
+
+        ItemReader<I> guarded = reader instanceof ItemStreamReader<I> streamReader
+                ? new SynchronizedItemStreamReaderBuilder<I>().delegate(streamReader).build()
+                : new SynchronizedItemReader<>(reader);
+
+        log.info("Wrapped reader '{}' with '{}' for multi-threaded step '{}'",
+                reader.getClass().getSimpleName(), guarded.getClass().getSimpleName(), config.getName());
+        return guarded;
+    }
+
+    private static boolean isThreadSafeReader(ItemReader<?> reader) {
+        return reader instanceof AbstractPagingItemReader<?>
+                || reader instanceof SynchronizedItemStreamReader<?>
+                || reader instanceof SynchronizedItemReader<?>;
+    }
+
+    private <I, O> SimpleStepBuilder<I, O> chunkBuilder(StepBuilder stepBuilder, StepsConfig config,
+                                                       AdaptiveCompletionPolicy adaptivePolicy) {
+        return adaptivePolicy != null
+                ? stepBuilder.<I, O>chunk(adaptivePolicy, transactionManager)
+                : stepBuilder.<I, O>chunk(config.getChunk(), transactionManager);
+    }
+
+    private AdaptiveCompletionPolicy createAdaptivePolicy(StepsConfig config) {
+        AdaptiveChunkConfig adaptive = config.getAdaptiveChunk();
+        if (adaptive == null) {
+            return null;
+        }
+
+        log.info("Configured adaptive chunk for step '{}': initial={}, min={}, max={}, targetLatencyMillis={}",
+                config.getName(),
+                config.getChunk(),
+                adaptive.getMinChunk(),
+                adaptive.getMaxChunk(),
+                adaptive.getTargetLatencyMillis());
+        return new AdaptiveCompletionPolicy(config.getChunk(), adaptive.getMinChunk(), adaptive.getMaxChunk(),
+                adaptive.getTargetLatencyMillis());
+    }
+
+    private <I, O> ItemReader<O> createPipeline(ItemReader<I> reader, ItemProcessor<I, O> processor, StepsConfig config) {
+        PipelineConfig pipeline = config.getPipeline();
+        int queueCapacity = pipeline.resolveQueueCapacity(config.getChunk());
+
+        TaskExecutor readExecutor = taskExecutorFactory.create(
+                config.getName() + "-read", 1, pipeline.getExecutor());
+        TaskExecutor processorExecutor = taskExecutorFactory.create(
+                config.getName() + "-process", pipeline.getProcessorThreads(), pipeline.getExecutor());
+
+        log.info("Configured pipeline for step '{}': processorThreads={}, queueCapacity={}, executor={}",
+                config.getName(),
+                pipeline.getProcessorThreads(),
+                queueCapacity,
+                taskExecutorFactory.resolveType(pipeline.getExecutor()));
+        return new PipelinedItemReader<>(config.getReader().getName(), reader, processor,
+                readExecutor, processorExecutor, queueCapacity);
+    }
+
+    private <I, O> void configureRetryGuards(FaultTolerantStepBuilder<I, O> faultStep, StepsConfig config) {
+        RetryConfig retry = config.getRetry();
+
+        BackoffConfig backoff = retry.getBackoff();
+        if (backoff != null) {
+            faultStep.backOffPolicy(createBackOffPolicy(backoff));
+            log.info("Configured retry backoff for step '{}': policy={}, initialInterval={}ms, multiplier={}, maxInterval={}ms",
+                    config.getName(),
+                    backoff.getPolicy(),
+                    backoff.getInitialIntervalMillis(),
+                    backoff.getMultiplier(),
+                    backoff.getMaxIntervalMillis());
+        }
+
+        CircuitBreakerConfig circuitBreaker = retry.getCircuitBreaker();
+        if (retry.getMaxRetriesPerMinute() != null || circuitBreaker != null) {
+            if (retry.getLimit() <= 1 || retry.getExceptions() == null || retry.getExceptions().isEmpty()) {
+                throw new IllegalArgumentException("Retry guards of step '" + config.getName()
+                        + "' require retryable exceptions and a retry limit greater than 1");
+            }
+            // Wraps the retry limit and exceptions, so only the retries they allow reach the guards
+            GuardedRetryPolicy guard = new GuardedRetryPolicy(
+                    config.getName(),
+                    retry.getLimit(),
+                    retry.getExceptions(),
+                    retry.getMaxRetriesPerMinute(),
+                    circuitBreaker != null ? circuitBreaker.getFailureThreshold() : null,
+                    circuitBreaker != null ? circuitBreaker.getFailureWindowMillis() : 0,
+                    circuitBreaker != null ? circuitBreaker.getOpenTimeoutMillis() : 0);
+            faultStep.retryPolicy(guard);
+            faultStep.listener(guard);
+            log.info("Configured retry guards for step '{}': maxRetriesPerMinute={}, circuitBreaker={}",
+                    config.getName(), retry.getMaxRetriesPerMinute(), circuitBreaker);
+        }
+    }
+
+    private BackOffPolicy createBackOffPolicy(BackoffConfig backoff) {
+        return switch (backoff.getPolicy()) {
+            case FIXED -> {
+                FixedBackOffPolicy policy = new FixedBackOffPolicy();
+                policy.setBackOffPeriod(backoff.getInitialIntervalMillis());
+                yield policy;
+            }
+            case EXPONENTIAL, EXPONENTIAL_RANDOM -> {
+                ExponentialBackOffPolicy policy = backoff.getPolicy() == BackoffConfig.BackoffPolicy.EXPONENTIAL_RANDOM
+                        ? new ExponentialRandomBackOffPolicy()
+                        : new ExponentialBackOffPolicy();
+                policy.setInitialInterval(backoff.getInitialIntervalMillis());
+                policy.setMultiplier(backoff.getMultiplier());
+                policy.setMaxInterval(backoff.getMaxIntervalMillis());
+                yield policy;
+            }
+        };
+    }
+
+    private boolean isBisecting(StepsConfig config) {
+        return config.getSkip() != null && config.getSkip().getScanStrategy() == SkipConfig.ScanStrategy.BISECT;
+    }
+
+    private <O> ItemWriter<O> createBisectingWriter(ItemWriter<O> writer, StepsConfig config) {
+        SkipConfig skip = config.getSkip();
+
+        Map<Class<? extends Throwable>, Boolean> skippableExceptions = new HashMap<>();
+        if (skip.getExceptionsToSkip() != null) {
+            skip.getExceptionsToSkip().forEach(ex -> skippableExceptions.put(ex, true));
+        }
+        if (skip.getExceptionsNoSkip() != null) {
+            skip.getExceptionsNoSkip().forEach(ex -> skippableExceptions.put(ex, false));
+        }
+
+        log.info("Configured bisecting write scan for step '{}': skipLimit={}", config.getName(), skip.getLimit());
+        return new BisectingItemWriter<>(writer, transactionManager, skippableExceptions, skip.getLimit());
+    }
+
+    private <I, O> ItemProcessor<I, Future<O>> createAsyncProcessor(ItemProcessor<I, O> processor, StepsConfig config) {
+        AsyncProcessingConfig async = config.getAsyncProcessing();
+
+        TaskExecutor taskExecutor = taskExecutorFactory.create(
+                config.getName() + "-process", async.getThreads(), async.getExecutor());
+
+        log.info("Configured async processing for step '{}': threads={}, executor={}",
+                config.getName(),
+                async.getThreads(),
+                taskExecutorFactory.resolveType(async.getExecutor()));
+        return new AsyncItemProcessor<>(processor, taskExecutor);
+    }
+
+    @SuppressWarnings("removal")
+    private <I, O> void configureConcurrency(SimpleStepBuilder<I, O> chunkStep, StepsConfig config) {
+        ConcurrencyConfig concurrency = config.getConcurrency();
+
+        TaskExecutor taskExecutor = taskExecutorFactory.create(
+                config.getName(), concurrency.getThreads(), concurrency.getExecutor());
+
+        // Without an explicit throttle limit the repeat template would silently cap concurrency at 4
+        chunkStep.taskExecutor(taskExecutor);
+        chunkStep.throttleLimit(concurrency.resolveThrottleLimit());
+
+        log.info("Configured concurrency for step '{}': threads={}, throttleLimit={}, executor={}",
+                config.getName(),
+                concurrency.getThreads(),
+                concurrency.resolveThrottleLimit(),
+                taskExecutorFactory.resolveType(concurrency.getExecutor()));
+    }
 }
@@ -13,4 +13,10 @@ public class PagingSqlModel {
     private String groupByClause;
 
     private List<SortKey> sortClause;
+
+    // Unique column appended as last sort key when missing, so that equal sort values never straddle two pages
+    private String uniqueKey;
+
+    // Rewrite the keyset condition as a row-value comparison when the platform supports it
+    private boolean rowValuePredicate = true;
 }
@@ -0,0 +1,34 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.aot;
+
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.reader.FlatFileReaderConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.reader.JdbcCursorReaderConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.reader.JdbcPagingReaderConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.writer.FlatFileWriterConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.writer.JdbcBatchWriterConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.writer.PostgresCopyWriterConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.writer.StagingMergeWriterConfig;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection hints for the component configuration DTOs, converted by Jackson from the
+ * {@code config} map of the YAML components rather than bound by Spring.
+ */
+public class DeclarativeBatchRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final Class<?>[] COMPONENT_CONFIG_TYPES = {
+            FlatFileReaderConfig.class,
+            JdbcCursorReaderConfig.class,
+            JdbcPagingReaderConfig.class,
+            FlatFileWriterConfig.class,
+            JdbcBatchWriterConfig.class,
+            PostgresCopyWriterConfig.class,
+            StagingMergeWriterConfig.class
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar().registerReflectionHints(hints.reflection(), COMPONENT_CONFIG_TYPES);
+    }
+}
@@ -0,0 +1,87 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.aot;
+
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.BatchJobConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.ComponentConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.StepsConfig;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.ReflectionHints;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotContribution;
+import org.springframework.beans.factory.aot.BeanFactoryInitializationAotProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.util.ClassUtils;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * Registers at build time the reflection hints of the classes named in the YAML job.
+ *
+ * <p>The {@code bulk.batch-job} configuration is bound from the environment used for the AOT
+ * processing, and every {@code *Class} entry of the reader and writer configurations
+ * ({@code mappedClass}, {@code preparedStatementClass}, {@code fieldExtractorClass}) is registered
+ * for instantiation and property access. Only the YAML available at build time is covered:
+ * a job file supplied when the container starts needs its own hints.</p>
+ */
+@Slf4j
+public class DeclarativeJobAotProcessor implements BeanFactoryInitializationAotProcessor {
+
+    private static final String JOB_PREFIX = "bulk.batch-job";
+    private static final String CLASS_KEY_SUFFIX = "Class";
+
+    @Override
+    public BeanFactoryInitializationAotContribution processAheadOfTime(ConfigurableListableBeanFactory beanFactory) {
+        Environment environment = beanFactory.getBean(Environment.class);
+        BatchJobConfig jobConfig = Binder.get(environment).bind(JOB_PREFIX, BatchJobConfig.class).orElse(null);
+        if (jobConfig == null || jobConfig.getSteps() == null) {
+            log.warn("No '{}' configuration found: no reflection hints registered for the job classes", JOB_PREFIX);
+            return null;
+        }
+
+        Set<String> classNames = new TreeSet<>();
+        for (StepsConfig step : jobConfig.getSteps()) {
+            Stream.of(step.getReader(), step.getProcessor(), step.getWriter())
+                    .filter(component -> component != null && component.getConfig() != null)
+                    .map(ComponentConfig::getConfig)
+                    .forEach(config -> collectClassNames(config, classNames));
+        }
+
+        log.info("Registering reflection hints for {} classes of job '{}': {}", classNames.size(), jobConfig.getName(), classNames);
+        ClassLoader classLoader = beanFactory.getBeanClassLoader();
+        return (generationContext, code) -> {
+            ReflectionHints hints = generationContext.getRuntimeHints().reflection();
+            for (String className : classNames) {
+                if (!ClassUtils.isPresent(className, classLoader)) {
+                    log.warn("Class '{}' referenced by job '{}' is not on the classpath", className, jobConfig.getName());
+                    continue;
+                }
+                hints.registerType(ClassUtils.resolveClassName(className, classLoader),
+                        MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                        MemberCategory.INVOKE_PUBLIC_METHODS,
+                        MemberCategory.DECLARED_FIELDS);
+            }
+        };
+    }
+
+    /**
+     * Walks the raw component configuration, lists included (bound as numeric-keyed maps).
+     */
+    private void collectClassNames(Object value, Set<String> classNames) {
+        if (value instanceof Map<?, ?> map) {
+            map.forEach((key, nested) -> {
+                if (key.toString().endsWith(CLASS_KEY_SUFFIX) && nested instanceof String className && !className.isBlank()) {
+                    classNames.add(className.trim());
+                } else {
+                    collectClassNames(nested, classNames);
+                }
+            });
+        } else if (value instanceof Collection<?> collection) {
+            collection.forEach(nested -> collectClassNames(nested, classNames));
+        }
+    }
+}
@@ -0,0 +1,243 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.chunk;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.ExitStatus;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.repeat.RepeatContext;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.repeat.context.RepeatContextSupport;
+import org.springframework.batch.repeat.policy.CompletionPolicySupport;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Completion policy whose commit interval follows the measured chunk latency.
+ *
+ * <p>Registered as chunk listener as well, it times every chunk transaction (read, process, write
+ * and commit) and derives the next chunk size from the average time per item, so that a chunk takes
+ * about {@code targetLatencyMillis}. The size changes at most by a factor of two per chunk and stays
+ * within [{@code minChunk}, {@code maxChunk}].</p>
+ *
+ * <p>Registered as stream too, it picks the next size when the step updates the execution context,
+ * which is saved with the chunk before the commit, so a restarted step resumes with the size chosen
+ * after the last committed chunk. The commit itself has not happened yet at that point: the time of
+ * the previous commit stands in for it. A chunk that fails keeps the size it started with.</p>
+ *
+ * <p>The size and the timings are kept per step execution, so the partitions of a partitioned step,
+ * which share the worker step and this policy, adapt independently.</p>
+ */
+@Slf4j
+public class AdaptiveCompletionPolicy extends CompletionPolicySupport implements ChunkListener, StepExecutionListener, ItemStream {
+
+    public static final String CHUNK_SIZE_KEY = "chunk.adaptive.size";
+    public static final String LATENCY_KEY = "chunk.adaptive.lastLatencyMillis";
+
+    private static final String START_NANOS_ATTRIBUTE = "chunk.adaptive.startNanos";
+    private static final String START_READ_COUNT_ATTRIBUTE = "chunk.adaptive.startReadCount";
+    private static final String SIZE_ATTRIBUTE = "chunk.adaptive.chunkSize";
+    private static final String UPDATE_NANOS_ATTRIBUTE = "chunk.adaptive.updateNanos";
+    private static final double MAX_FACTOR = 2.0;
+
+    private final int minChunk;
+    private final int maxChunk;
+    private final long targetLatencyNanos;
+    private final int initialChunk;
+
+    /**
+     * Adaptive state of the running step executions, by identity.
+     */
+    private final Map<StepExecution, State> states = Collections.synchronizedMap(new IdentityHashMap<>());
+
+    /**
+     * Chunk running its transaction on the current thread, between beforeChunk and afterChunk.
+     */
+    private final ThreadLocal<ChunkContext> currentChunk = new ThreadLocal<>();
+
+    public AdaptiveCompletionPolicy(int initialChunk, int minChunk, int maxChunk, long targetLatencyMillis) {
+        this.minChunk = minChunk;
+        this.maxChunk = maxChunk;
+        this.targetLatencyNanos = TimeUnit.MILLISECONDS.toNanos(targetLatencyMillis);
+        this.initialChunk = clamp(initialChunk);
+    }
+
+    /**
+     * Size of the next chunk of the given step execution.
+     */
+    public int getChunkSize(StepExecution stepExecution) {
+        State state = states.get(stepExecution);
+        return state != null ? state.chunkSize : initialChunk;
+    }
+
+    // -------------------------
+    // Completion policy
+    // -------------------------
+
+    @Override
+    public RepeatContext start(RepeatContext parent) {
+        StepContext stepContext = StepSynchronizationManager.getContext();
+        int size = stepContext != null ? getChunkSize(stepContext.getStepExecution()) : initialChunk;
+        return new AdaptiveContext(parent, size);
+    }
+
+    @Override
+    public boolean isComplete(RepeatContext context, RepeatStatus result) {
+        return super.isComplete(context, result) || isComplete(context);
+    }
+
+    @Override
+    public boolean isComplete(RepeatContext context) {
+        return ((AdaptiveContext) context).isComplete();
+    }
+
+    @Override
+    public void update(RepeatContext context) {
+        ((AdaptiveContext) context).increment();
+    }
+
+    // -------------------------
+    // Listeners
+    // -------------------------
+
+    @Override
+    public void beforeStep(StepExecution stepExecution) {
+        ExecutionContext executionContext = stepExecution.getExecutionContext();
+        int size = executionContext.containsKey(CHUNK_SIZE_KEY)
+                ? clamp(executionContext.getInt(CHUNK_SIZE_KEY))
+                : initialChunk;
+        states.put(stepExecution, new State(size));
+        log.info("Step '{}' starts with adaptive chunk size {} (bounds [{}, {}], target {} ms)",
+                stepExecution.getStepName(), size, minChunk, maxChunk,
+                TimeUnit.NANOSECONDS.toMillis(targetLatencyNanos));
+    }
+
+    @Override
+    public ExitStatus afterStep(StepExecution stepExecution) {
+        states.remove(stepExecution);
+        return stepExecution.getExitStatus();
+    }
+
+    @Override
+    public void beforeChunk(ChunkContext context) {
+        StepExecution stepExecution = context.getStepContext().getStepExecution();
+        context.setAttribute(START_NANOS_ATTRIBUTE, System.nanoTime());
+        context.setAttribute(START_READ_COUNT_ATTRIBUTE, stepExecution.getReadCount());
+        context.setAttribute(SIZE_ATTRIBUTE, getChunkSize(stepExecution));
+        context.removeAttribute(UPDATE_NANOS_ATTRIBUTE);
+        currentChunk.set(context);
+    }
+
+    @Override
+    public void afterChunk(ChunkContext context) {
+        currentChunk.remove();
+        State state = states.get(context.getStepContext().getStepExecution());
+        if (state != null && context.hasAttribute(UPDATE_NANOS_ATTRIBUTE)) {
+            state.lastCommitNanos = System.nanoTime() - (long) context.getAttribute(UPDATE_NANOS_ATTRIBUTE);
+        }
+    }
+
+    @Override
+    public void afterChunkError(ChunkContext context) {
+        currentChunk.remove();
+        State state = states.get(context.getStepContext().getStepExecution());
+        if (state != null && context.hasAttribute(SIZE_ATTRIBUTE)) {
+            state.chunkSize = (int) context.getAttribute(SIZE_ATTRIBUTE);
+        }
+    }
+
+    // -------------------------
+    // Stream
+    // -------------------------
+
+    @Override
+    public void update(ExecutionContext executionContext) {
+        ChunkContext context = currentChunk.get();
+        StepExecution stepExecution = context != null
+                ? context.getStepContext().getStepExecution()
+                : currentStepExecution();
+        State state = stepExecution != null ? states.get(stepExecution) : null;
+        if (state == null) {
+            executionContext.putInt(CHUNK_SIZE_KEY, initialChunk);
+            return;
+        }
+
+        if (context != null && context.hasAttribute(START_NANOS_ATTRIBUTE) && !context.hasAttribute(UPDATE_NANOS_ATTRIBUTE)) {
+            adapt(context, stepExecution, state);
+        }
+
+        executionContext.putInt(CHUNK_SIZE_KEY, state.chunkSize);
+        if (state.lastLatencyNanos >= 0) {
+            executionContext.putLong(LATENCY_KEY, TimeUnit.NANOSECONDS.toMillis(state.lastLatencyNanos));
+        }
+    }
+
+    private void adapt(ChunkContext context, StepExecution stepExecution, State state) {
+        long now = System.nanoTime();
+        context.setAttribute(UPDATE_NANOS_ATTRIBUTE, now);
+        long elapsed = now - (long) context.getAttribute(START_NANOS_ATTRIBUTE) + state.lastCommitNanos;
+        long items = stepExecution.getReadCount() - (long) context.getAttribute(START_READ_COUNT_ATTRIBUTE);
+        int current = (int) context.getAttribute(SIZE_ATTRIBUTE);
+
+        // Partial chunks (end of input) and multi-threaded steps can skew the count, fall back to the size
+        double nanosPerItem = (double) elapsed / (items > 0 ? items : current);
+        int next = nanosPerItem > 0 ? (int) Math.round(targetLatencyNanos / nanosPerItem) : maxChunk;
+        next = (int) Math.max(current / MAX_FACTOR, Math.min(current * MAX_FACTOR, next));
+        next = clamp(next);
+        state.chunkSize = next;
+        state.lastLatencyNanos = elapsed;
+
+        if (next != current) {
+            log.debug("Step '{}': chunk of {} items took {} ms, chunk size {} -> {}",
+                    stepExecution.getStepName(), items, TimeUnit.NANOSECONDS.toMillis(elapsed), current, next);
+        }
+    }
+
+    private static StepExecution currentStepExecution() {
+        StepContext stepContext = StepSynchronizationManager.getContext();
+        return stepContext != null ? stepContext.getStepExecution() : null;
+    }
+
+    private int clamp(int size) {
+        return Math.max(minChunk, Math.min(maxChunk, size));
+    }
+
+    /**
+     * Size and timings of one step execution.
+     */
+    private static class State {
+
+        private volatile int chunkSize;
+        private volatile long lastLatencyNanos = -1;
+        private volatile long lastCommitNanos;
+
+        State(int chunkSize) {
+            this.chunkSize = chunkSize;
+        }
+    }
+
+    /**
+     * Repeat context fixing the commit interval of a chunk when it starts.
+     */
+    private static class AdaptiveContext extends RepeatContextSupport {
+
+        private final int size;
+
+        AdaptiveContext(RepeatContext parent, int size) {
+            super(parent);
+            this.size = size;
+        }
+
+        boolean isComplete() {
+            return getStartedCount() >= size;
+        }
+    }
+}
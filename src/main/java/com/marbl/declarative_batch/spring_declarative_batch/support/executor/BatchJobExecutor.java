@@ -7,6 +7,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.*;
 import org.springframework.batch.core.configuration.JobRegistry;
 import org.springframework.batch.core.configuration.support.MapJobRegistry;
+import org.springframework.batch.core.explore.JobExplorer;
 import org.springframework.batch.core.launch.JobLauncher;
 import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
 import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
@@ -22,6 +23,7 @@ public class BatchJobExecutor {
     private final BatchJobFactory batchJobFactory;
     private final JobLauncher jobLauncher;
     private final JobRegistry jobRegistry; // Optional registry for dynamic jobs
+    private final JobExplorer jobExplorer;
 
     /**
      * Create and run a Spring Batch Job from YAML config
@@ -30,9 +32,10 @@ public class BatchJobExecutor {
      * @return JobExecution result
      */
     public JobExecution runJob(JobParameters params, boolean registerJob) {
+        Job job = null;
         try {
-            // Create the job dynamically from the JobFactory
-            Job job = batchJobFactory.createJob();
+            // Compiled from the YAML on the first launch, then reused while no other execution runs it
+            job = batchJobFactory.acquireJob();
 
             // Conditionally register the job in JobRegistry
             if (registerJob && jobRegistry instanceof MapJobRegistry mapRegistry && !mapRegistry.getJobNames().contains(job.getName())) {
@@ -51,7 +54,11 @@ public class BatchJobExecutor {
 
             log.info("Launching job '{}' with Params '{}'", job.getName(), params);
             JobExecution execution = jobLauncher.run(job, nextParams);
-            log.info("Job '{}' finished successfully with status {}", job.getName(), execution.getStatus());
+            if (execution.isRunning()) {
+                log.info("Job '{}' launched asynchronously with execution id {}", job.getName(), execution.getId());
+            } else {
+                log.info("Job '{}' finished successfully with status {}", job.getName(), execution.getStatus());
+            }
 
             return execution;
 
@@ -67,9 +74,24 @@ public class BatchJobExecutor {
             log.error("Unexpected error while running job '{}'", jobConfig.getName(), e);
         }
 
+        batchJobFactory.release(job);
         return null;
     }
 
+    /**
+     * Waits for an asynchronously launched execution to complete, polling the job repository.
+     *
+     * @return the last persisted state of the execution
+     */
+    public JobExecution awaitCompletion(JobExecution execution, long pollIntervalMillis) throws InterruptedException {
+        JobExecution current = execution;
+        while (current != null && current.isRunning()) {
+            Thread.sleep(pollIntervalMillis);
+            current = jobExplorer.getJobExecution(execution.getId());
+        }
+        return current;
+    }
+
     /**
      * Default method without registry registration
      */
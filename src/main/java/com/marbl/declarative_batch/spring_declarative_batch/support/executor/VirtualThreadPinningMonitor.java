@@ -0,0 +1,55 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.executor;
+
+import lombok.extern.slf4j.Slf4j;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+
+import java.time.Duration;
+import java.util.stream.Collectors;
+
+/**
+ * Logs the {@code jdk.VirtualThreadPinned} JFR events, raised when a virtual thread blocks while
+ * pinned to its carrier thread (typically blocking I/O inside a {@code synchronized} block or method).
+ * A pinned virtual thread holds a carrier, so a few pinned readers or writers are enough to starve
+ * the whole virtual thread scheduler.
+ */
+@Slf4j
+public class VirtualThreadPinningMonitor implements AutoCloseable {
+
+    private static final String PINNED_EVENT = "jdk.VirtualThreadPinned";
+    private static final int LOGGED_FRAMES = 8;
+
+    private final RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(Duration threshold) {
+        stream = new RecordingStream();
+        stream.enable(PINNED_EVENT).withThreshold(threshold).withStackTrace();
+        stream.onEvent(PINNED_EVENT, this::logPinnedThread);
+        stream.startAsync();
+        log.info("Virtual thread pinning monitor started (threshold {} ms)", threshold.toMillis());
+    }
+
+    private void logPinnedThread(RecordedEvent event) {
+        RecordedStackTrace stackTrace = event.getStackTrace();
+        String frames = stackTrace == null ? "n/a" : stackTrace.getFrames().stream()
+                .limit(LOGGED_FRAMES)
+                .map(VirtualThreadPinningMonitor::describe)
+                .collect(Collectors.joining("\n\tat "));
+        log.warn("Virtual thread '{}' pinned to its carrier for {} ms:\n\tat {}",
+                event.getThread() != null ? event.getThread().getJavaName() : "unknown",
+                event.getDuration().toMillis(),
+                frames);
+    }
+
+    private static String describe(RecordedFrame frame) {
+        return frame.getMethod().getType().getName() + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+    }
+
+    @Override
+    public void close() {
+        stream.close();
+        log.info("Virtual thread pinning monitor stopped");
+    }
+}
@@ -1,23 +1,57 @@
 package com.marbl.declarative_batch.spring_declarative_batch.support.incrementer;
 
 import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.BatchJobConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.ExecutionConfig;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.batch.core.*;
 import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.item.database.support.DefaultDataFieldMaxValueIncrementerFactory;
+import org.springframework.batch.support.DatabaseType;
+import org.springframework.jdbc.support.MetaDataAccessException;
+import org.springframework.jdbc.support.incrementer.DataFieldMaxValueIncrementer;
 import org.springframework.stereotype.Component;
 
+import javax.sql.DataSource;
 import java.util.List;
 
+/**
+ * Incrementer setting a new 'run.id' parameter at every launch.
+ *
+ * <p>With the {@code LOOKUP} allocator the next id follows the one of the last execution found in
+ * the job metadata (two queries per launch, and two launchers starting together may get the same
+ * id). With {@code SEQUENCE} ids come from a database sequence on the main datasource, atomically
+ * and with a single call; a block size greater than one reserves that many ids per call
+ * (id = (value - 1) * blockSize + 1 ... value * blockSize), which are then handed out locally.</p>
+ */
+@Slf4j
 @Component
 @RequiredArgsConstructor
 public class DatabaseRunIdIncrementer implements JobParametersIncrementer {
 
+    private static final String RUN_ID_KEY = "run.id";
+
     private final BatchJobConfig batchJobConfig;
     private final JobExplorer jobExplorer;
+    private final ExecutionConfig executionConfig;
+    private final DataSource dataSource;
 
+    private DataFieldMaxValueIncrementer sequence;
+    private long nextRunId;
+    private long blockEnd;
 
     @Override
     public JobParameters getNext(JobParameters parameters) {
+        long runId = executionConfig.getRunId().getAllocator() == ExecutionConfig.RunId.Allocator.SEQUENCE
+                ? allocateFromSequence()
+                : lookupNextRunId();
+
+        return new JobParametersBuilder(parameters)
+                .addLong(RUN_ID_KEY, runId)
+                .toJobParameters();
+    }
+
+    private long lookupNextRunId() {
         List<JobInstance> instances = jobExplorer.getJobInstances(batchJobConfig.getName(), 0, 1);
         long nextRunId = 1L;
 
@@ -26,15 +60,40 @@ public class DatabaseRunIdIncrementer implements JobParametersIncrementer {
             List<JobExecution> executions = jobExplorer.getJobExecutions(lastInstance);
             if (!executions.isEmpty()) {
                 JobParameters lastParams = executions.get(0).getJobParameters();
-                Long lastId = lastParams.getLong("run.id");
+                Long lastId = lastParams.getLong(RUN_ID_KEY);
                 if (lastId != null) {
                     nextRunId = lastId + 1;
                 }
             }
         }
+        return nextRunId;
+    }
+
+    private synchronized long allocateFromSequence() {
+        if (nextRunId >= blockEnd) {
+            int blockSize = executionConfig.getRunId().getBlockSize();
+            long value = getSequence().nextLongValue();
+            nextRunId = (value - 1) * blockSize + 1;
+            blockEnd = nextRunId + blockSize;
+            log.debug("Reserved run ids [{}, {}) for job '{}'", nextRunId, blockEnd, batchJobConfig.getName());
+        }
+        return nextRunId++;
+    }
 
-        return new JobParametersBuilder(parameters)
-                .addLong("run.id", nextRunId)
-                .toJobParameters();
+    private DataFieldMaxValueIncrementer getSequence() {
+        if (sequence == null) {
+            String name = executionConfig.getRunId().getSequence();
+            try {
+                DatabaseType databaseType = DatabaseType.fromMetaData(dataSource);
+                sequence = new DefaultDataFieldMaxValueIncrementerFactory(dataSource)
+                        .getIncrementer(databaseType.name(), name);
+                log.info("Allocating run ids from sequence '{}' ({}), block size {}",
+                        name, databaseType, executionConfig.getRunId().getBlockSize());
+            } catch (MetaDataAccessException | IllegalArgumentException e) {
+                log.error("Unable to create run id sequence '{}': {}", name, e.getMessage(), e);
+                throw new IllegalStateException("Unable to create run id sequence: " + name, e);
+            }
+        }
+        return sequence;
     }
-}
\ No newline at end of file
+}
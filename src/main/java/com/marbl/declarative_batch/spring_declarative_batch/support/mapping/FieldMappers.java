@@ -0,0 +1,72 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.mapping;
+
+import com.marbl.declarative_batch.spring_declarative_batch.utils.ReflectionUtils;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.batch.item.file.mapping.FieldSetMapper;
+import org.springframework.batch.item.file.transform.BeanWrapperFieldExtractor;
+import org.springframework.batch.item.file.transform.FieldExtractor;
+import org.springframework.util.StringUtils;
+
+/**
+ * Entry point used by the flat file builders: returns generated accessors when the mapped class
+ * allows it, and falls back to the {@code BeanWrapper} based implementations otherwise
+ * (nested or fuzzy-matched property names, unsupported property types, no default constructor).
+ */
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public final class FieldMappers {
+
+    public static <T> FieldSetMapper<T> fieldSetMapper(Class<T> type, String[] names, boolean generated) throws Exception {
+        if (generated && names != null) {
+            try {
+                FieldSetMapper<T> mapper = GeneratedFieldSetMapper.create(type, names);
+                log.debug("Generated FieldSetMapper for '{}'", type.getName());
+                return mapper;
+            } catch (IllegalArgumentException e) {
+                log.info("Falling back to BeanWrapperFieldSetMapper for '{}': {}", type.getName(), e.getMessage());
+            }
+        }
+
+        BeanWrapperFieldSetMapper<T> mapper = new BeanWrapperFieldSetMapper<>();
+        mapper.setTargetType(type);
+        mapper.afterPropertiesSet();
+        return mapper;
+    }
+
+    /**
+     * Resolves the extractor of a JDBC writer: a custom {@link FieldExtractor} class when configured,
+     * otherwise the (generated) extractor of the given properties of {@code mappedClass}.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> FieldExtractor<T> fieldExtractor(String fieldExtractorClass, String mappedClass,
+                                                       String[] names, boolean generated) throws Exception {
+        if (StringUtils.hasText(fieldExtractorClass)) {
+            return ReflectionUtils.instantiateClass(fieldExtractorClass, FieldExtractor.class);
+        }
+
+        Class<T> type = generated && StringUtils.hasText(mappedClass)
+                ? (Class<T>) Class.forName(mappedClass)
+                : null;
+        return fieldExtractor(type, names, generated);
+    }
+
+    public static <T> FieldExtractor<T> fieldExtractor(Class<T> type, String[] names, boolean generated) throws Exception {
+        if (generated && type != null) {
+            try {
+                FieldExtractor<T> extractor = GeneratedFieldExtractor.create(type, names);
+                log.debug("Generated FieldExtractor for '{}'", type.getName());
+                return extractor;
+            } catch (IllegalArgumentException e) {
+                log.info("Falling back to BeanWrapperFieldExtractor for '{}': {}", type.getName(), e.getMessage());
+            }
+        }
+
+        BeanWrapperFieldExtractor<T> extractor = new BeanWrapperFieldExtractor<>();
+        extractor.setNames(names);
+        extractor.afterPropertiesSet();
+        return extractor;
+    }
+}
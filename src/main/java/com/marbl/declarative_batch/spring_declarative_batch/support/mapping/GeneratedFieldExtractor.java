@@ -0,0 +1,56 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.mapping;
+
+import org.springframework.batch.item.file.transform.FieldExtractor;
+import org.springframework.beans.BeanUtils;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.util.function.Function;
+
+/**
+ * {@link FieldExtractor} calling the getters of the source class through generated lambdas,
+ * returning the raw property values like {@code BeanWrapperFieldExtractor}.
+ */
+public final class GeneratedFieldExtractor<T> implements FieldExtractor<T> {
+
+    private final Function<Object, Object>[] getters;
+
+    private GeneratedFieldExtractor(Function<Object, Object>[] getters) {
+        this.getters = getters;
+    }
+
+    /**
+     * Generates an extractor for the given class and field names.
+     *
+     * @throws IllegalArgumentException when a field is not a readable property
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> GeneratedFieldExtractor<T> create(Class<T> type, String[] names) {
+        Function<Object, Object>[] getters = new Function[names.length];
+
+        try {
+            for (int i = 0; i < names.length; i++) {
+                PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, names[i]);
+                Method readMethod = descriptor != null ? descriptor.getReadMethod() : null;
+                if (readMethod == null) {
+                    throw new IllegalArgumentException("No readable property '" + names[i] + "' on " + type.getName());
+                }
+                getters[i] = LambdaAccessors.getter(type, readMethod);
+            }
+            return new GeneratedFieldExtractor<>(getters);
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalArgumentException("Unable to generate accessors for " + type.getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public Object[] extract(T item) {
+        Object[] values = new Object[getters.length];
+        for (int i = 0; i < getters.length; i++) {
+            values[i] = getters[i].apply(item);
+        }
+        return values;
+    }
+}
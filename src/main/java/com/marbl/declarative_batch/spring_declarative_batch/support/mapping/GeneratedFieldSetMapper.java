@@ -0,0 +1,152 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.mapping;
+
+import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.batch.item.file.mapping.FieldSetMapper;
+import org.springframework.batch.item.file.transform.FieldSet;
+import org.springframework.beans.BeanUtils;
+import org.springframework.util.ClassUtils;
+import org.springframework.validation.BindException;
+
+import java.beans.PropertyDescriptor;
+import java.lang.reflect.Method;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * {@link FieldSetMapper} calling the constructor and setters of the target class through
+ * generated lambdas, with a converter per field resolved once from the property type.
+ *
+ * <p>Field values are read by position, in the order of the configured field names, and bound like
+ * {@link BeanWrapperFieldSetMapper} does: values are trimmed, {@code null} values leave the property
+ * untouched, empty values become {@code null} for wrapper types and booleans accept true/false,
+ * on/off, yes/no and 1/0.</p>
+ */
+public final class GeneratedFieldSetMapper<T> implements FieldSetMapper<T> {
+
+    private static final Function<String, Object> STRING_CONVERTER = value -> value;
+
+    private static final Map<Class<?>, Function<String, Object>> CONVERTERS = Map.ofEntries(
+            Map.entry(String.class, STRING_CONVERTER),
+            Map.entry(Integer.class, Integer::valueOf),
+            Map.entry(Long.class, Long::valueOf),
+            Map.entry(Short.class, Short::valueOf),
+            Map.entry(Byte.class, Byte::valueOf),
+            Map.entry(Double.class, Double::valueOf),
+            Map.entry(Float.class, Float::valueOf),
+            Map.entry(BigDecimal.class, BigDecimal::new),
+            Map.entry(BigInteger.class, BigInteger::new),
+            Map.entry(Boolean.class, GeneratedFieldSetMapper::toBoolean),
+            Map.entry(Character.class, GeneratedFieldSetMapper::toCharacter)
+    );
+
+    private final Supplier<T> constructor;
+    private final BiConsumer<Object, Object>[] setters;
+    private final Function<String, Object>[] converters;
+    private final boolean[] primitives;
+    private final String[] names;
+
+    private GeneratedFieldSetMapper(Supplier<T> constructor, BiConsumer<Object, Object>[] setters,
+                                    Function<String, Object>[] converters, boolean[] primitives, String[] names) {
+        this.constructor = constructor;
+        this.setters = setters;
+        this.converters = converters;
+        this.primitives = primitives;
+        this.names = names;
+    }
+
+    /**
+     * Generates a mapper for the given class and field names.
+     *
+     * @throws IllegalArgumentException when a field is not a writable property with a supported type
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> GeneratedFieldSetMapper<T> create(Class<T> type, String[] names) {
+        BiConsumer<Object, Object>[] setters = new BiConsumer[names.length];
+        Function<String, Object>[] converters = new Function[names.length];
+        boolean[] primitives = new boolean[names.length];
+
+        try {
+            Supplier<T> constructor = LambdaAccessors.constructor(type);
+
+            for (int i = 0; i < names.length; i++) {
+                PropertyDescriptor descriptor = BeanUtils.getPropertyDescriptor(type, names[i]);
+                Method writeMethod = descriptor != null ? descriptor.getWriteMethod() : null;
+                if (writeMethod == null) {
+                    throw new IllegalArgumentException("No writable property '" + names[i] + "' on " + type.getName());
+                }
+
+                Class<?> propertyType = writeMethod.getParameterTypes()[0];
+                converters[i] = converterFor(propertyType);
+                if (converters[i] == null) {
+                    throw new IllegalArgumentException("Unsupported type " + propertyType.getName()
+                            + " for property '" + names[i] + "' on " + type.getName());
+                }
+                primitives[i] = propertyType.isPrimitive();
+                setters[i] = LambdaAccessors.setter(type, writeMethod);
+            }
+
+            return new GeneratedFieldSetMapper<>(constructor, setters, converters, primitives, names.clone());
+        } catch (IllegalArgumentException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalArgumentException("Unable to generate accessors for " + type.getName() + ": " + e.getMessage(), e);
+        }
+    }
+
+    @Override
+    public T mapFieldSet(FieldSet fieldSet) throws BindException {
+        T target = constructor.get();
+        for (int i = 0; i < setters.length; i++) {
+            String text = fieldSet.readString(i);
+            if (text == null) {
+                // Left to the default of the target, as the BeanWrapperFieldSetMapper does
+                continue;
+            }
+            Object value = null;
+            if (converters[i] == STRING_CONVERTER || !text.isEmpty()) {
+                try {
+                    value = converters[i].apply(text);
+                } catch (RuntimeException e) {
+                    throw new IllegalArgumentException("Invalid value '" + text + "' for property '" + names[i] + "'", e);
+                }
+            } else if (primitives[i]) {
+                throw new IllegalArgumentException("Empty value for primitive property '" + names[i] + "'");
+            }
+            setters[i].accept(target, value);
+        }
+        return target;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Function<String, Object> converterFor(Class<?> propertyType) {
+        Class<?> boxed = ClassUtils.resolvePrimitiveIfNecessary(propertyType);
+        if (boxed.isEnum()) {
+            Class<? extends Enum> enumType = (Class<? extends Enum>) boxed;
+            return value -> Enum.valueOf(enumType, value);
+        }
+        return CONVERTERS.get(boxed);
+    }
+
+    private static Object toBoolean(String value) {
+        if ("true".equalsIgnoreCase(value) || "on".equalsIgnoreCase(value)
+                || "yes".equalsIgnoreCase(value) || "1".equals(value)) {
+            return Boolean.TRUE;
+        }
+        if ("false".equalsIgnoreCase(value) || "off".equalsIgnoreCase(value)
+                || "no".equalsIgnoreCase(value) || "0".equals(value)) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException("Invalid boolean value [" + value + "]");
+    }
+
+    private static Object toCharacter(String value) {
+        if (value.length() != 1) {
+            throw new IllegalArgumentException("String [" + value + "] cannot be converted to a single character");
+        }
+        return value.charAt(0);
+    }
+}
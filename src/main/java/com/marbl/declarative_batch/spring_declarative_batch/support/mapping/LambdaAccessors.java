@@ -0,0 +1,77 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.mapping;
+
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import org.springframework.util.ClassUtils;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Builds functional interfaces bound directly to constructors and accessors through
+ * {@link LambdaMetafactory}, so that invoking them costs the same as a plain method call.
+ */
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+final class LambdaAccessors {
+
+    @SuppressWarnings("unchecked")
+    static <T> Supplier<T> constructor(Class<T> type) throws Throwable {
+        MethodHandles.Lookup lookup = lookupFor(type);
+        MethodHandle handle = lookup.findConstructor(type, MethodType.methodType(void.class));
+        CallSite site = LambdaMetafactory.metafactory(
+                lookup,
+                "get",
+                MethodType.methodType(Supplier.class),
+                MethodType.methodType(Object.class),
+                handle,
+                MethodType.methodType(type));
+        return (Supplier<T>) site.getTarget().invokeExact();
+    }
+
+    /**
+     * Setter adapter; primitive parameters are unboxed by the generated class.
+     */
+    @SuppressWarnings("unchecked")
+    static BiConsumer<Object, Object> setter(Class<?> type, Method setter) throws Throwable {
+        MethodHandles.Lookup lookup = lookupFor(type);
+        MethodHandle handle = lookup.unreflect(setter);
+        Class<?> parameterType = setter.getParameterTypes()[0];
+        CallSite site = LambdaMetafactory.metafactory(
+                lookup,
+                "accept",
+                MethodType.methodType(BiConsumer.class),
+                MethodType.methodType(void.class, Object.class, Object.class),
+                handle,
+                MethodType.methodType(void.class, type, ClassUtils.resolvePrimitiveIfNecessary(parameterType)));
+        return (BiConsumer<Object, Object>) site.getTarget().invokeExact();
+    }
+
+    /**
+     * Getter adapter; primitive results are boxed by the generated class.
+     */
+    @SuppressWarnings("unchecked")
+    static Function<Object, Object> getter(Class<?> type, Method getter) throws Throwable {
+        MethodHandles.Lookup lookup = lookupFor(type);
+        MethodHandle handle = lookup.unreflect(getter);
+        Class<?> returnType = ClassUtils.resolvePrimitiveIfNecessary(getter.getReturnType());
+        CallSite site = LambdaMetafactory.metafactory(
+                lookup,
+                "apply",
+                MethodType.methodType(Function.class),
+                MethodType.methodType(Object.class, Object.class),
+                handle,
+                MethodType.methodType(returnType, type));
+        return (Function<Object, Object>) site.getTarget().invokeExact();
+    }
+
+    private static MethodHandles.Lookup lookupFor(Class<?> type) throws IllegalAccessException {
+        return MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+    }
+}
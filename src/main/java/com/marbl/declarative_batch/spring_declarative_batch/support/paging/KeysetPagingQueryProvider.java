@@ -0,0 +1,102 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.paging;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.PagingQueryProvider;
+import org.springframework.batch.item.database.support.AbstractSqlPagingQueryProvider;
+import org.springframework.batch.item.database.support.SqlPagingQueryUtils;
+
+import javax.sql.DataSource;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * {@link PagingQueryProvider} rewriting the keyset condition of the remaining pages query
+ * as a single row-value comparison, e.g. {@code (c.id, t.created) > (:_c.id, :_t.created)}
+ * instead of the expanded {@code (c.id > ?) OR (c.id = ? AND t.created > ?)} form.
+ *
+ * <p>The row-value form is matched by the optimizer as a range scan on a composite index over the
+ * sort keys, so every page costs the same as the first one. It is only applied when all the sort keys
+ * share the same direction and the query does not use positional parameters (named parameters are
+ * required to bind each sort key once); otherwise the delegate query is used unchanged.</p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class KeysetPagingQueryProvider implements PagingQueryProvider {
+
+    private final AbstractSqlPagingQueryProvider delegate;
+
+    private boolean rowValue;
+
+    @Override
+    public void init(DataSource dataSource) throws Exception {
+        delegate.init(dataSource);
+
+        Map<String, Order> sortKeys = delegate.getSortKeys();
+        boolean uniformOrder = new HashSet<>(sortKeys.values()).size() == 1;
+        boolean positional = !delegate.isUsingNamedParameters() && delegate.getParameterCount() > 0;
+        rowValue = sortKeys.size() > 1 && uniformOrder && !positional;
+
+        if (sortKeys.size() > 1 && !rowValue) {
+            log.info("Keyset pagination on {} uses the expanded sort condition ({})", sortKeys.keySet(),
+                    positional ? "positional parameters in the where clause" : "mixed sort directions");
+        }
+    }
+
+    @Override
+    public String generateFirstPageQuery(int pageSize) {
+        return delegate.generateFirstPageQuery(pageSize);
+    }
+
+    @Override
+    public String generateRemainingPagesQuery(int pageSize) {
+        String sql = delegate.generateRemainingPagesQuery(pageSize);
+        if (!rowValue) {
+            return sql;
+        }
+
+        StringBuilder expanded = new StringBuilder();
+        SqlPagingQueryUtils.buildSortConditions(delegate, expanded);
+        if (!sql.contains(expanded)) {
+            log.warn("Unable to locate the sort condition in the remaining pages query, keeping it unchanged");
+            rowValue = false;
+            return sql;
+        }
+
+        Map<String, Order> sortKeys = delegate.getSortKeys();
+        String comparison = sortKeys.values().iterator().next() == Order.DESCENDING ? " < " : " > ";
+        String rowValueCondition = "((" + String.join(", ", sortKeys.keySet()) + ")" + comparison + "("
+                + sortKeys.keySet().stream().map(key -> ":_" + key).collect(Collectors.joining(", ")) + "))";
+
+        String rewritten = sql.replace(expanded, rowValueCondition);
+        log.debug("Keyset remaining pages query: {}", rewritten);
+        return rewritten;
+    }
+
+    @Override
+    public int getParameterCount() {
+        return delegate.getParameterCount();
+    }
+
+    @Override
+    public boolean isUsingNamedParameters() {
+        return rowValue || delegate.isUsingNamedParameters();
+    }
+
+    @Override
+    public Map<String, Order> getSortKeys() {
+        return delegate.getSortKeys();
+    }
+
+    @Override
+    public String getSortKeyPlaceHolder(String keyName) {
+        return rowValue ? ":_" + keyName : delegate.getSortKeyPlaceHolder(keyName);
+    }
+
+    @Override
+    public Map<String, Order> getSortKeysWithoutAliases() {
+        return delegate.getSortKeysWithoutAliases();
+    }
+}
@@ -0,0 +1,94 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.partition;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.core.io.Resource;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link Partitioner} splitting a single flat file into {@code gridSize} byte ranges.
+ *
+ * <p>Every boundary is moved forward to the first byte following a line feed, so each range
+ * holds whole lines only. Records must therefore not span multiple lines.</p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ByteRangePartitioner implements Partitioner {
+
+    public static final String FILE_NAME_KEY = "fileName";
+    public static final String START_KEY = "partition.startByte";
+    public static final String END_KEY = "partition.endByte";
+
+    private static final int SCAN_BUFFER_SIZE = 8 * 1024;
+
+    private final Resource resource;
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Map<String, ExecutionContext> partitions = new HashMap<>();
+
+        try (FileChannel channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            String fileName = resource.getURL().toExternalForm();
+
+            long start = 0;
+            int number = 0;
+            for (int i = 1; i <= gridSize && start < size; i++) {
+                long end = i == gridSize ? size : nextLineStart(channel, size * i / gridSize, size);
+                if (end <= start) {
+                    continue;
+                }
+
+                ExecutionContext context = new ExecutionContext();
+                context.putString(FILE_NAME_KEY, fileName);
+                context.putLong(START_KEY, start);
+                context.putLong(END_KEY, end);
+                partitions.put("partition" + number++, context);
+
+                start = end;
+            }
+
+            log.info("Created {} byte range partitions for '{}' ({} bytes)", partitions.size(), resource.getDescription(), size);
+            return partitions;
+        } catch (IOException e) {
+            log.error("Unable to split resource '{}' into byte ranges: {}", resource.getDescription(), e.getMessage(), e);
+            throw new UncheckedIOException("Unable to split resource into byte ranges: " + resource.getDescription(), e);
+        }
+    }
+
+    /**
+     * Returns the offset of the first line starting at or after {@code position}.
+     */
+    private static long nextLineStart(FileChannel channel, long position, long size) throws IOException {
+        if (position == 0) {
+            return 0;
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(SCAN_BUFFER_SIZE);
+        // Start from the previous byte: if it is a line feed, position is already a line start
+        long offset = position - 1;
+        while (offset < size) {
+            buffer.clear();
+            int read = channel.read(buffer, offset);
+            if (read <= 0) {
+                break;
+            }
+            for (int i = 0; i < read; i++) {
+                if (buffer.get(i) == '\n') {
+                    return offset + i + 1;
+                }
+            }
+            offset += read;
+        }
+        return size;
+    }
+}
@@ -0,0 +1,95 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.partition;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read-only view over the {@code [start, end)} byte range of a file resource.
+ */
+@RequiredArgsConstructor
+public class ByteRangeResource extends AbstractResource {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final Resource delegate;
+    private final long start;
+    private final long end;
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+        FileChannel channel = FileChannel.open(delegate.getFile().toPath(), StandardOpenOption.READ);
+        channel.position(start);
+        return new BufferedInputStream(new BoundedInputStream(Channels.newInputStream(channel), end - start), BUFFER_SIZE);
+    }
+
+    @Override
+    public boolean exists() {
+        return delegate.exists();
+    }
+
+    @Override
+    public boolean isReadable() {
+        return delegate.isReadable();
+    }
+
+    @Override
+    public long contentLength() {
+        return end - start;
+    }
+
+    @Override
+    public String getDescription() {
+        return delegate.getDescription() + " [bytes " + start + "-" + end + "]";
+    }
+
+    /**
+     * Stream returning end-of-file once the given number of bytes has been read.
+     */
+    private static final class BoundedInputStream extends InputStream {
+
+        private final InputStream in;
+        private long remaining;
+
+        private BoundedInputStream(InputStream in, long limit) {
+            this.in = in;
+            this.remaining = limit;
+        }
+
+        @Override
+        public int read() throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int value = in.read();
+            if (value >= 0) {
+                remaining--;
+            }
+            return value;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            if (remaining <= 0) {
+                return -1;
+            }
+            int read = in.read(b, off, (int) Math.min(len, remaining));
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.partition;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.sql.ResultSetMetaData;
+import java.sql.Types;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link Partitioner} splitting the [MIN, MAX] interval of an integral column into
+ * {@code gridSize} contiguous ranges of (roughly) equal width.
+ *
+ * <p>Bounds are {@code long} values, so the column must hold whole numbers: integer types, or
+ * {@code NUMERIC}/{@code DECIMAL} declared with a precision and scale 0. Other columns are rejected,
+ * as rows between two integral bounds would belong to no partition.</p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ColumnRangePartitioner implements Partitioner {
+
+    private final DataSource dataSource;
+    private final String table;
+    private final String column;
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        validateColumnType(jdbcTemplate);
+
+        String sql = "SELECT MIN(" + column + ") AS min_value, MAX(" + column + ") AS max_value FROM " + table;
+        log.debug("Resolving partition range with query: {}", sql);
+
+        Map<String, Object> minMax = jdbcTemplate.queryForMap(sql);
+        Map<String, ExecutionContext> partitions = new HashMap<>();
+
+        if (minMax.get("min_value") == null) {
+            log.warn("Column '{}' of '{}' has no values, no partition created", column, table);
+            return partitions;
+        }
+
+        long min = toLong(minMax.get("min_value"));
+        long max = toLong(minMax.get("max_value"));
+        // Range widths may not fit in a long, e.g. for [Long.MIN_VALUE, Long.MAX_VALUE]
+        BigInteger targetSize = BigInteger.valueOf(max).subtract(BigInteger.valueOf(min))
+                .divide(BigInteger.valueOf(gridSize))
+                .add(BigInteger.ONE);
+
+        int number = 0;
+        long start = min;
+        while (true) {
+            long end = BigInteger.valueOf(start).add(targetSize).subtract(BigInteger.ONE)
+                    .min(BigInteger.valueOf(max))
+                    .longValue();
+
+            ExecutionContext context = new ExecutionContext();
+            context.putString(PartitionBounds.COLUMN_KEY, column);
+            context.putLong(PartitionBounds.MIN_VALUE_KEY, start);
+            context.putLong(PartitionBounds.MAX_VALUE_KEY, end);
+            partitions.put("partition" + number++, context);
+
+            if (end == max) {
+                break;
+            }
+            start = end + 1;
+        }
+
+        log.info("Created {} range partitions on '{}' for interval [{}, {}]", partitions.size(), column, min, max);
+        return partitions;
+    }
+
+    private void validateColumnType(JdbcTemplate jdbcTemplate) {
+        String sql = "SELECT " + column + " FROM " + table + " WHERE 1 = 0";
+        jdbcTemplate.query(sql, rs -> {
+            ResultSetMetaData metaData = rs.getMetaData();
+            int type = metaData.getColumnType(1);
+            boolean integral = switch (type) {
+                case Types.TINYINT, Types.SMALLINT, Types.INTEGER, Types.BIGINT -> true;
+                case Types.NUMERIC, Types.DECIMAL -> metaData.getScale(1) == 0 && metaData.getPrecision(1) > 0;
+                default -> false;
+            };
+            if (!integral) {
+                log.error("Column '{}' of '{}' is not integral (type {}, scale {}), cannot partition by range",
+                        column, table, metaData.getColumnTypeName(1), metaData.getScale(1));
+                throw new IllegalArgumentException("Range partitioning requires an integral column, '" + column
+                        + "' of '" + table + "' is " + metaData.getColumnTypeName(1) + " with scale " + metaData.getScale(1));
+            }
+            return null;
+        });
+    }
+
+    private long toLong(Object value) {
+        try {
+            if (value instanceof BigDecimal decimal) {
+                return decimal.longValueExact();
+            }
+            if (value instanceof BigInteger integer) {
+                return integer.longValueExact();
+            }
+            return ((Number) value).longValue();
+        } catch (ArithmeticException e) {
+            log.error("Value {} of column '{}' of '{}' does not fit in a long", value, column, table);
+            throw new IllegalStateException("Value " + value + " of column '" + column + "' does not fit in a long", e);
+        }
+    }
+}
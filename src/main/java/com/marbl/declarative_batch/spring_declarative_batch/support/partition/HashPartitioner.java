@@ -0,0 +1,36 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.partition;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.partition.support.Partitioner;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link Partitioner} assigning rows to partitions by {@code MOD(ABS(column), gridSize)}.
+ * Does not query the database, which makes it suitable for sparse or unbounded keys.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class HashPartitioner implements Partitioner {
+
+    private final String column;
+
+    @Override
+    public Map<String, ExecutionContext> partition(int gridSize) {
+        Map<String, ExecutionContext> partitions = new HashMap<>();
+
+        for (int index = 0; index < gridSize; index++) {
+            ExecutionContext context = new ExecutionContext();
+            context.putString(PartitionBounds.COLUMN_KEY, column);
+            context.putLong(PartitionBounds.INDEX_KEY, index);
+            context.putLong(PartitionBounds.GRID_SIZE_KEY, gridSize);
+            partitions.put("partition" + index, context);
+        }
+
+        log.info("Created {} hash partitions on '{}'", partitions.size(), column);
+        return partitions;
+    }
+}
@@ -0,0 +1,107 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.partition;
+
+import lombok.AccessLevel;
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.item.ExecutionContext;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Row filter assigned to a single partition, read back from the worker step execution context.
+ *
+ * <p>Partitioners store the bounds under the keys defined here; reader builders turn them
+ * into an SQL predicate (and its parameters) appended to the configured query.</p>
+ */
+@RequiredArgsConstructor(access = AccessLevel.PRIVATE)
+public final class PartitionBounds {
+
+    public static final String COLUMN_KEY = "partition.column";
+    public static final String MIN_VALUE_KEY = "partition.minValue";
+    public static final String MAX_VALUE_KEY = "partition.maxValue";
+    public static final String INDEX_KEY = "partition.index";
+    public static final String GRID_SIZE_KEY = "partition.gridSize";
+
+    private static final String MIN_PARAM = "partition_min";
+    private static final String MAX_PARAM = "partition_max";
+    private static final String INDEX_PARAM = "partition_index";
+    private static final String GRID_SIZE_PARAM = "partition_grid_size";
+
+    private final String column;
+    private final boolean range;
+    private final long first;  // min value (RANGE) or partition index (HASH)
+    private final long second; // max value (RANGE) or grid size (HASH)
+
+    /**
+     * Resolves the bounds stored in the given context.
+     *
+     * @return the bounds, or {@code null} when the context does not belong to a column partition
+     */
+    public static PartitionBounds from(ExecutionContext context) {
+        if (context == null || !context.containsKey(COLUMN_KEY)) {
+            return null;
+        }
+        String column = context.getString(COLUMN_KEY);
+        if (context.containsKey(MIN_VALUE_KEY)) {
+            return new PartitionBounds(column, true, context.getLong(MIN_VALUE_KEY), context.getLong(MAX_VALUE_KEY));
+        }
+        return new PartitionBounds(column, false, context.getLong(INDEX_KEY), context.getLong(GRID_SIZE_KEY));
+    }
+
+    /**
+     * Predicate using named parameters, to be combined with a paging where clause.
+     */
+    public String namedPredicate() {
+        return range
+                ? column + " >= :" + MIN_PARAM + " AND " + column + " <= :" + MAX_PARAM
+                : "MOD(ABS(" + column + "), :" + GRID_SIZE_PARAM + ") = :" + INDEX_PARAM;
+    }
+
+    public Map<String, Object> namedParameters() {
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        if (range) {
+            parameters.put(MIN_PARAM, first);
+            parameters.put(MAX_PARAM, second);
+        } else {
+            parameters.put(GRID_SIZE_PARAM, second);
+            parameters.put(INDEX_PARAM, first);
+        }
+        return parameters;
+    }
+
+    /**
+     * Wraps an arbitrary query so that only the rows of this partition are returned.
+     * The column is referenced without its table alias, as exposed by the inner select list.
+     */
+    public String wrapQuery(String sql) {
+        String outerColumn = "partitioned_source." + unqualifiedColumn();
+        String predicate = range
+                ? outerColumn + " >= ? AND " + outerColumn + " <= ?"
+                : "MOD(ABS(" + outerColumn + "), ?) = ?";
+        return "SELECT * FROM (" + stripTrailingSemicolon(sql) + ") partitioned_source WHERE " + predicate;
+    }
+
+    /**
+     * Values bound, in order, to the placeholders added by {@link #wrapQuery(String)}.
+     */
+    public Object[] positionalParameters() {
+        return range ? new Object[]{first, second} : new Object[]{second, first};
+    }
+
+    private String unqualifiedColumn() {
+        int separator = column.lastIndexOf('.');
+        return separator >= 0 ? column.substring(separator + 1) : column;
+    }
+
+    private static String stripTrailingSemicolon(String sql) {
+        String trimmed = sql.trim();
+        return trimmed.endsWith(";") ? trimmed.substring(0, trimmed.length() - 1) : trimmed;
+    }
+
+    @Override
+    public String toString() {
+        return range
+                ? String.format("%s in [%d, %d]", column, first, second)
+                : String.format("MOD(%s, %d) = %d", column, second, first);
+    }
+}
@@ -0,0 +1,97 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.partition;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Reader creating a dedicated delegate for every step execution that opens it.
+ *
+ * <p>A single worker step is shared by all the partitions of a partitioned step, while each
+ * partition needs its own reader configured from its own execution context. The delegate is
+ * built on {@link #open(ExecutionContext)} and looked up through the step execution bound to
+ * the current thread.</p>
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class StepScopedItemReader<I> implements ItemStreamReader<I> {
+
+    @FunctionalInterface
+    public interface ReaderProvider<I> {
+        ItemReader<I> create(ExecutionContext executionContext) throws Exception;
+    }
+
+    private final String name;
+    private final ReaderProvider<I> provider;
+
+    private final Map<Long, ItemReader<I>> delegates = new ConcurrentHashMap<>();
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        StepExecution stepExecution = currentStepExecution();
+
+        ItemReader<I> delegate;
+        try {
+            delegate = provider.create(executionContext);
+        } catch (Exception e) {
+            log.error("Failed to create reader '{}' for step execution '{}': {}",
+                    name, stepExecution.getStepName(), e.getMessage(), e);
+            throw new ItemStreamException("Failed to create reader '" + name + "' for step execution " + stepExecution.getStepName(), e);
+        }
+
+        if (delegate instanceof ItemStream stream) {
+            stream.open(executionContext);
+        }
+        delegates.put(stepExecution.getId(), delegate);
+        log.debug("Opened reader '{}' for step execution '{}'", name, stepExecution.getStepName());
+    }
+
+    @Override
+    public I read() throws Exception {
+        return currentDelegate().read();
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        if (currentDelegate() instanceof ItemStream stream) {
+            stream.update(executionContext);
+        }
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        StepExecution stepExecution = currentStepExecution();
+        ItemReader<I> delegate = delegates.remove(stepExecution.getId());
+        if (delegate instanceof ItemStream stream) {
+            stream.close();
+        }
+        log.debug("Closed reader '{}' for step execution '{}'", name, stepExecution.getStepName());
+    }
+
+    private ItemReader<I> currentDelegate() {
+        StepExecution stepExecution = currentStepExecution();
+        ItemReader<I> delegate = delegates.get(stepExecution.getId());
+        if (delegate == null) {
+            throw new ItemStreamException("Reader '" + name + "' was not opened for step execution " + stepExecution.getStepName());
+        }
+        return delegate;
+    }
+
+    private StepExecution currentStepExecution() {
+        StepContext context = StepSynchronizationManager.getContext();
+        if (context == null) {
+            throw new IllegalStateException("Reader '" + name + "' can only be used inside a step execution");
+        }
+        return context.getStepExecution();
+    }
+}
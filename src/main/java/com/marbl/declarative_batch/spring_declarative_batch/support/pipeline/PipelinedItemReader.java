@@ -0,0 +1,286 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.pipeline;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.core.task.TaskExecutor;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Reader running the read and process stages of a chunk step ahead of the writer.
+ *
+ * <p>A dedicated thread reads from the delegate and submits every item to the processor executor.
+ * The pending results are queued in read order, the queue capacity bounding the number of items
+ * read or being processed ahead of the writer (backpressure). The step thread takes the results
+ * from the queue, so chunks are still assembled, written and committed on the step thread while
+ * the next items are being read and processed.</p>
+ *
+ * <p>The delegate state is captured after every read and the state of the last item handed to the
+ * step is the one saved in the execution context, so a restart resumes after the last committed
+ * item. Items filtered by the processor are dropped from the stream and processing failures are
+ * raised from {@link #read()}.</p>
+ *
+ * <p>The processor is hidden from the step: filtered items are not counted in the filter count,
+ * {@link org.springframework.batch.core.ItemProcessListener}s are not called and the processor
+ * gets no retry or skip. The step factory therefore rejects pipelines on fault tolerant steps and
+ * on steps with processor listeners.</p>
+ */
+@Slf4j
+public class PipelinedItemReader<I, O> implements ItemStreamReader<O> {
+
+    private static final long POLL_TIMEOUT_SECONDS = 1;
+    private static final long CLOSE_TIMEOUT_SECONDS = 30;
+
+    private final String name;
+    private final ItemReader<I> delegate;
+    private final ItemProcessor<I, O> processor;
+    private final TaskExecutor readExecutor;
+    private final TaskExecutor processorExecutor;
+    private final int queueCapacity;
+
+    private BlockingQueue<Pending<O>> queue;
+    private volatile boolean running;
+    private volatile boolean readerDone;
+    private Future<?> readTask;
+    // Claimed by the read stage when it starts, or by close() when it never started
+    private AtomicBoolean readClaimed;
+    private CountDownLatch readStopped;
+    private boolean exhausted;
+    private Map<String, Object> lastState;
+
+    public PipelinedItemReader(String name, ItemReader<I> delegate, ItemProcessor<I, O> processor,
+                               TaskExecutor readExecutor, TaskExecutor processorExecutor, int queueCapacity) {
+        this.name = name;
+        this.delegate = delegate;
+        this.processor = processor;
+        this.readExecutor = readExecutor;
+        this.processorExecutor = processorExecutor;
+        this.queueCapacity = queueCapacity;
+    }
+
+    /**
+     * Result of an item not yet handed to the step, with the delegate state right after its read.
+     * A {@code null} result marks the end of the input.
+     */
+    private record Pending<O>(CompletableFuture<O> result, Map<String, Object> state) {
+
+        boolean isEnd() {
+            return result == null;
+        }
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        if (delegate instanceof ItemStream stream) {
+            stream.open(executionContext);
+        }
+
+        queue = new ArrayBlockingQueue<>(queueCapacity);
+        lastState = null;
+        readerDone = false;
+        exhausted = false;
+        running = true;
+        readClaimed = new AtomicBoolean();
+        readStopped = new CountDownLatch(1);
+
+        StepExecution stepExecution = currentStepExecution();
+        FutureTask<Void> task = new FutureTask<>(() -> readLoop(stepExecution), null);
+        readTask = task;
+        readExecutor.execute(task);
+        log.debug("Started pipeline for reader '{}' with queue capacity {}", name, queueCapacity);
+    }
+
+    @Override
+    public O read() throws Exception {
+        while (!exhausted) {
+            Pending<O> pending = take();
+            if (pending.isEnd()) {
+                exhausted = true;
+                running = false;
+                break;
+            }
+
+            lastState = pending.state();
+            O item = await(pending.result());
+            if (item != null) {
+                return item;
+            }
+            // Filtered by the processor
+        }
+        return null;
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        if (lastState != null) {
+            lastState.forEach(executionContext::put);
+        }
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        running = false;
+        if (readTask != null) {
+            readTask.cancel(true);
+            awaitReadStage();
+            readTask = null;
+        }
+        if (queue != null) {
+            queue.forEach(pending -> {
+                if (!pending.isEnd()) {
+                    pending.result().cancel(true);
+                }
+            });
+            queue.clear();
+        }
+        if (delegate instanceof ItemStream stream) {
+            stream.close();
+        }
+        log.debug("Closed pipeline for reader '{}'", name);
+    }
+
+    /**
+     * Waits for the read stage to leave the delegate, which must not be closed while it is being read.
+     */
+    private void awaitReadStage() {
+        if (readClaimed.compareAndSet(false, true)) {
+            // Never started, it will not touch the delegate any more
+            return;
+        }
+        try {
+            if (!readStopped.await(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Pipeline read stage of reader '{}' still running after {} s, closing the reader anyway",
+                        name, CLOSE_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void readLoop(StepExecution stepExecution) {
+        if (!readClaimed.compareAndSet(false, true)) {
+            // Closed before the read stage started
+            return;
+        }
+        if (stepExecution != null) {
+            StepSynchronizationManager.register(stepExecution);
+        }
+        try {
+            while (running) {
+                I item;
+                try {
+                    item = delegate.read();
+                } catch (Exception e) {
+                    // Handed to the step in order, the reader may still return items afterwards
+                    queue.put(new Pending<>(CompletableFuture.failedFuture(e), captureState()));
+                    continue;
+                }
+                if (item == null) {
+                    break;
+                }
+                queue.put(new Pending<>(process(item, stepExecution), captureState()));
+            }
+            offerQuietly(new Pending<>(null, null));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Pipeline read stage of reader '{}' failed: {}", name, e.getMessage(), e);
+            offerQuietly(new Pending<>(CompletableFuture.failedFuture(e), null));
+            offerQuietly(new Pending<>(null, null));
+        } finally {
+            if (stepExecution != null) {
+                StepSynchronizationManager.release();
+            }
+            readerDone = true;
+            readStopped.countDown();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<O> process(I item, StepExecution stepExecution) {
+        if (processor == null) {
+            return CompletableFuture.completedFuture((O) item);
+        }
+        return CompletableFuture.supplyAsync(() -> {
+            if (stepExecution != null) {
+                StepSynchronizationManager.register(stepExecution);
+            }
+            try {
+                return processor.process(item);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            } finally {
+                if (stepExecution != null) {
+                    StepSynchronizationManager.release();
+                }
+            }
+        }, processorExecutor);
+    }
+
+    private Map<String, Object> captureState() {
+        if (!(delegate instanceof ItemStream stream)) {
+            return null;
+        }
+        ExecutionContext state = new ExecutionContext();
+        stream.update(state);
+        return new HashMap<>(state.toMap());
+    }
+
+    private void offerQuietly(Pending<O> pending) {
+        try {
+            while (running && !queue.offer(pending, POLL_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                // wait for the step to drain the queue
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private Pending<O> take() throws InterruptedException {
+        Pending<O> pending;
+        while ((pending = queue.poll(POLL_TIMEOUT_SECONDS, TimeUnit.SECONDS)) == null) {
+            if (readerDone && queue.isEmpty()) {
+                throw new IllegalStateException("Pipeline read stage of reader '" + name + "' stopped without completing the read");
+            }
+        }
+        return pending;
+    }
+
+    private O await(CompletableFuture<O> result) throws Exception {
+        try {
+            return result.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException ce && ce.getCause() != null
+                    ? ce.getCause()
+                    : e.getCause();
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            throw (Error) cause;
+        }
+    }
+
+    private StepExecution currentStepExecution() {
+        StepContext context = StepSynchronizationManager.getContext();
+        return context != null ? context.getStepExecution() : null;
+    }
+}
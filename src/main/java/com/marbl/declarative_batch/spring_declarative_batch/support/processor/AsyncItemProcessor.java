@@ -0,0 +1,51 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.processor;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.item.ItemProcessor;
+import org.springframework.core.task.TaskExecutor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+
+/**
+ * Processor submitting every item to a {@link TaskExecutor} and returning the pending result.
+ *
+ * <p>The items of a chunk are processed in parallel while the step keeps reading; the results are
+ * collected in order by {@link com.marbl.declarative_batch.spring_declarative_batch.support.writer.AsyncItemWriter}.
+ * The step execution is bound to the worker threads, so step scoped beans and
+ * {@link StepSynchronizationManager} lookups keep working inside the delegate.</p>
+ */
+@RequiredArgsConstructor
+public class AsyncItemProcessor<I, O> implements ItemProcessor<I, Future<O>> {
+
+    private final ItemProcessor<I, O> delegate;
+    private final TaskExecutor taskExecutor;
+
+    @Override
+    public Future<O> process(I item) {
+        StepExecution stepExecution = currentStepExecution();
+        return CompletableFuture.supplyAsync(() -> {
+            if (stepExecution != null) {
+                StepSynchronizationManager.register(stepExecution);
+            }
+            try {
+                return delegate.process(item);
+            } catch (Exception e) {
+                throw new CompletionException(e);
+            } finally {
+                if (stepExecution != null) {
+                    StepSynchronizationManager.release();
+                }
+            }
+        }, taskExecutor);
+    }
+
+    private StepExecution currentStepExecution() {
+        StepContext context = StepSynchronizationManager.getContext();
+        return context != null ? context.getStepExecution() : null;
+    }
+}
@@ -0,0 +1,296 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.reader;
+
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.batch.item.file.mapping.FieldSetMapper;
+import org.springframework.batch.item.file.transform.DefaultFieldSet;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.core.io.Resource;
+import org.springframework.util.Assert;
+
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Delimited flat file reader working on a memory-mapped view of the file.
+ *
+ * <p>Lines are located and split directly in the mapped buffer: the only allocations per line are
+ * the field values and the {@link DefaultFieldSet} handed to the {@link FieldSetMapper}. The file is
+ * mapped in windows of {@link #setWindowSize(int) windowSize} bytes, remapped at the start of the
+ * first line that does not fit. The content must be UTF-8 (or ASCII) with a single-byte delimiter;
+ * a leading byte order mark is skipped and quoted fields are supported as long as they do not
+ * contain line breaks.</p>
+ *
+ * <p>Besides the item count, the byte offset and the number of the next line are saved in the
+ * execution context, so a restart seeks directly to it instead of re-reading the already processed
+ * lines, and still reports parse errors with the line number of the file.</p>
+ */
+@Slf4j
+public class MappedFlatFileItemReader<T> extends AbstractItemCountingItemStreamItemReader<T> {
+
+    private static final String OFFSET_KEY = "read.offset";
+    private static final String LINE_KEY = "read.line";
+    private static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+    private static final byte LINE_FEED = '\n';
+    private static final byte CARRIAGE_RETURN = '\r';
+    private static final byte QUOTE = '"';
+    private static final byte[] UTF8_BOM = {(byte) 0xEF, (byte) 0xBB, (byte) 0xBF};
+
+    @Setter
+    private Resource resource;
+    @Setter
+    private FieldSetMapper<T> fieldSetMapper;
+    @Setter
+    private String[] names;
+    @Setter
+    private int linesToSkip = 0;
+    @Setter
+    private int windowSize = DEFAULT_WINDOW_SIZE;
+
+    /**
+     * First and last (exclusive) byte read, used to read a single slice of the file.
+     * Lines to skip are only honored when the slice starts at the beginning of the file.
+     */
+    @Setter
+    private long startOffset = 0;
+    @Setter
+    private long endOffset = -1;
+
+    private byte delimiter = ',';
+
+    private FileChannel channel;
+    private MappedByteBuffer buffer;
+    private long windowStart;
+    private long limit;
+    private long position;
+    private long lineNumber;
+    private long restartOffset = -1;
+    private long restartLineNumber = -1;
+
+    private byte[] lineBytes = new byte[1024];
+    private final List<String> tokens = new ArrayList<>();
+
+    public MappedFlatFileItemReader() {
+        setName(MappedFlatFileItemReader.class.getSimpleName());
+    }
+
+    public void setDelimiter(String delimiter) {
+        Assert.isTrue(delimiter != null && delimiter.length() == 1 && delimiter.charAt(0) < 0x80,
+                "Delimiter must be a single ASCII character");
+        this.delimiter = (byte) delimiter.charAt(0);
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        String key = getExecutionContextKey(OFFSET_KEY);
+        String lineKey = getExecutionContextKey(LINE_KEY);
+        restartOffset = isSaveState() && executionContext.containsKey(key) ? executionContext.getLong(key) : -1;
+        restartLineNumber = isSaveState() && executionContext.containsKey(lineKey) ? executionContext.getLong(lineKey) : -1;
+        super.open(executionContext);
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        super.update(executionContext);
+        if (isSaveState() && channel != null) {
+            executionContext.putLong(getExecutionContextKey(OFFSET_KEY), position);
+            executionContext.putLong(getExecutionContextKey(LINE_KEY), lineNumber);
+        }
+    }
+
+    @Override
+    protected void doOpen() throws Exception {
+        Assert.notNull(resource, "Resource must be set");
+        Assert.notNull(fieldSetMapper, "FieldSetMapper must be set");
+
+        channel = FileChannel.open(resource.getFile().toPath(), StandardOpenOption.READ);
+        limit = endOffset >= 0 ? Math.min(endOffset, channel.size()) : channel.size();
+        position = startOffset;
+        lineNumber = 0;
+        map(position);
+
+        if (startOffset == 0) {
+            skipByteOrderMark();
+            for (int i = 0; i < linesToSkip && nextLine() >= 0; i++) {
+                log.debug("Skipped line {} of '{}'", lineNumber, resource.getDescription());
+            }
+        }
+    }
+
+    @Override
+    protected void jumpToItem(int itemIndex) throws Exception {
+        if (restartOffset >= 0) {
+            log.debug("Restarting '{}' at byte offset {} (item {})", resource.getDescription(), restartOffset, itemIndex);
+            position = restartOffset;
+            // Contexts saved without the line number: one line per item after the skipped ones
+            lineNumber = restartLineNumber >= 0
+                    ? restartLineNumber
+                    : (startOffset == 0 ? linesToSkip : 0) + itemIndex;
+            map(position);
+            return;
+        }
+        for (int i = 0; i < itemIndex && nextLine() >= 0; i++) {
+            // skip already processed lines
+        }
+    }
+
+    @Override
+    protected T doRead() throws Exception {
+        int length = nextLine();
+        if (length < 0) {
+            return null;
+        }
+
+        tokenize(length);
+        String[] values = tokens.toArray(new String[0]);
+        try {
+            DefaultFieldSet fieldSet = names != null
+                    ? new DefaultFieldSet(values, names)
+                    : new DefaultFieldSet(values);
+            return fieldSetMapper.mapFieldSet(fieldSet);
+        } catch (Exception e) {
+            String line = new String(lineBytes, 0, length, StandardCharsets.UTF_8);
+            throw new FlatFileParseException("Parsing error at line: " + lineNumber + " in resource=["
+                    + resource.getDescription() + "], input=[" + line + "]", e, line, (int) lineNumber);
+        }
+    }
+
+    @Override
+    protected void doClose() throws Exception {
+        buffer = null;
+        if (channel != null) {
+            channel.close();
+            channel = null;
+        }
+    }
+
+    private void skipByteOrderMark() {
+        if (buffer.limit() < UTF8_BOM.length) {
+            return;
+        }
+        for (int i = 0; i < UTF8_BOM.length; i++) {
+            if (buffer.get(i) != UTF8_BOM[i]) {
+                return;
+            }
+        }
+        position = UTF8_BOM.length;
+    }
+
+    /**
+     * Copies the next line (without line terminator) into {@link #lineBytes}.
+     *
+     * @return the line length, or {@code -1} at end of input
+     */
+    private int nextLine() throws Exception {
+        if (position >= limit) {
+            return -1;
+        }
+
+        int start = (int) (position - windowStart);
+        int end = indexOfLineFeed(start);
+        if (end < 0 && windowStart + buffer.limit() < limit) {
+            // The line crosses the window boundary: remap starting at the line
+            map(position);
+            start = 0;
+            end = indexOfLineFeed(start);
+            if (end < 0 && windowStart + buffer.limit() < limit) {
+                throw new FlatFileParseException("Line longer than the mapping window (" + windowSize + " bytes) at line "
+                        + (lineNumber + 1) + " in resource=[" + resource.getDescription() + "]", "", (int) lineNumber + 1);
+            }
+        }
+
+        int lineEnd = end >= 0 ? end : buffer.limit();
+        position = windowStart + (end >= 0 ? end + 1 : buffer.limit());
+        lineNumber++;
+
+        int length = lineEnd - start;
+        if (length > 0 && buffer.get(start + length - 1) == CARRIAGE_RETURN) {
+            length--;
+        }
+        if (lineBytes.length < length) {
+            lineBytes = new byte[Math.max(length, lineBytes.length * 2)];
+        }
+        buffer.get(start, lineBytes, 0, length);
+        return length;
+    }
+
+    private int indexOfLineFeed(int from) {
+        int max = buffer.limit();
+        for (int i = from; i < max; i++) {
+            if (buffer.get(i) == LINE_FEED) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private void map(long offset) throws Exception {
+        long size = Math.min(windowSize, Math.max(0, limit - offset));
+        buffer = channel.map(FileChannel.MapMode.READ_ONLY, offset, size);
+        windowStart = offset;
+    }
+
+    /**
+     * Splits the current line into {@link #tokens}, creating one string per field.
+     */
+    private void tokenize(int length) {
+        tokens.clear();
+        int fieldStart = 0;
+        int i = 0;
+        while (i <= length) {
+            if (i < length && lineBytes[i] == QUOTE && i == fieldStart) {
+                i = readQuotedField(i, length);
+                fieldStart = i + 1;
+                i = fieldStart;
+                continue;
+            }
+            if (i == length || lineBytes[i] == delimiter) {
+                tokens.add(new String(lineBytes, fieldStart, i - fieldStart, StandardCharsets.UTF_8));
+                fieldStart = i + 1;
+            }
+            i++;
+        }
+    }
+
+    /**
+     * Reads a quoted field starting at {@code quoteIndex}, unescaping doubled quotes.
+     *
+     * @return the index of the delimiter (or line end) following the field
+     */
+    private int readQuotedField(int quoteIndex, int length) {
+        int i = quoteIndex + 1;
+        int segmentStart = i;
+        StringBuilder value = null;
+        while (i < length) {
+            if (lineBytes[i] == QUOTE) {
+                if (i + 1 < length && lineBytes[i + 1] == QUOTE) {
+                    if (value == null) {
+                        value = new StringBuilder();
+                    }
+                    value.append(new String(lineBytes, segmentStart, i + 1 - segmentStart, StandardCharsets.UTF_8));
+                    i += 2;
+                    segmentStart = i;
+                    continue;
+                }
+                break;
+            }
+            i++;
+        }
+
+        String tail = new String(lineBytes, segmentStart, Math.min(i, length) - segmentStart, StandardCharsets.UTF_8);
+        tokens.add(value != null ? value.append(tail).toString() : tail);
+
+        // Skip to the next delimiter, ignoring anything between the closing quote and it
+        while (i < length && lineBytes[i] != delimiter) {
+            i++;
+        }
+        return i;
+    }
+}
@@ -0,0 +1,312 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.reader;
+
+import lombok.AccessLevel;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.database.PagingQueryProvider;
+import org.springframework.batch.item.support.AbstractItemCountingItemStreamItemReader;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.util.Assert;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Keyset paging reader fetching the next pages on a background thread while the current one is processed.
+ *
+ * <p>Queries are generated by the same {@link PagingQueryProvider} used by
+ * {@link org.springframework.batch.item.database.JdbcPagingItemReader} and bound the same way
+ * (named or positional parameters). A single producer task, run by the configured
+ * {@link #setTaskExecutor(TaskExecutor) taskExecutor}, runs the page queries one after the other and
+ * puts the results into a queue holding at most {@link #setQueueDepth(int) queueDepth} pages, so the
+ * producer blocks when the step falls behind. The producer borrows its own connection from the
+ * datasource for every page, outside the chunk transaction.</p>
+ *
+ * <p>The sort key values of every row are kept with the item: the values of the last <em>consumed</em>
+ * item are saved in the execution context, so a restart resumes right after it, regardless of how
+ * many pages had already been prefetched.</p>
+ */
+@Slf4j
+@Setter
+public class PrefetchingJdbcPagingItemReader<T> extends AbstractItemCountingItemStreamItemReader<T> {
+
+    private static final String START_AFTER_KEY = "start.after";
+    private static final int DEFAULT_QUEUE_DEPTH = 2;
+    private static final long POLL_TIMEOUT_SECONDS = 1;
+    private static final long CLOSE_TIMEOUT_SECONDS = 10;
+
+    private DataSource dataSource;
+    private PagingQueryProvider queryProvider;
+    private RowMapper<T> rowMapper;
+    private Map<String, Object> parameterValues;
+    private int pageSize = 10;
+    private int fetchSize = -1;
+    private int queueDepth = DEFAULT_QUEUE_DEPTH;
+    private TaskExecutor taskExecutor;
+
+    @Setter(AccessLevel.NONE)
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+    @Setter(AccessLevel.NONE)
+    private String firstPageSql;
+    @Setter(AccessLevel.NONE)
+    private String remainingPagesSql;
+
+    @Setter(AccessLevel.NONE)
+    private BlockingQueue<Page<T>> pages;
+    @Setter(AccessLevel.NONE)
+    private Future<?> producer;
+    // Claimed by the producer when it starts, or by close() when it never started
+    @Setter(AccessLevel.NONE)
+    private AtomicBoolean producerClaimed;
+    @Setter(AccessLevel.NONE)
+    private CountDownLatch producerStopped;
+    @Setter(AccessLevel.NONE)
+    private Iterator<Row<T>> current = Collections.emptyIterator();
+    @Setter(AccessLevel.NONE)
+    private boolean exhausted;
+    @Setter(AccessLevel.NONE)
+    private Map<String, Object> startAfterValues;
+    @Setter(AccessLevel.NONE)
+    private Map<String, Object> lastReadValues;
+
+    public PrefetchingJdbcPagingItemReader() {
+        setName(PrefetchingJdbcPagingItemReader.class.getSimpleName());
+    }
+
+    /**
+     * Item read from the database, together with the sort key values of its row.
+     */
+    private record Row<T>(T item, Map<String, Object> sortKeyValues) {
+    }
+
+    /**
+     * Page handed from the producer to the reader; the last page carries the failure, if any.
+     */
+    private record Page<T>(List<Row<T>> rows, boolean last, Exception error) {
+    }
+
+    public void afterPropertiesSet() throws Exception {
+        Assert.state(dataSource != null, "DataSource may not be null");
+        Assert.state(queryProvider != null, "QueryProvider may not be null");
+        Assert.state(rowMapper != null, "RowMapper may not be null");
+        Assert.state(taskExecutor != null, "TaskExecutor may not be null");
+        Assert.isTrue(pageSize > 0, "pageSize must be greater than zero");
+        Assert.isTrue(queueDepth > 0, "queueDepth must be greater than zero");
+
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        if (fetchSize > 0) {
+            jdbcTemplate.setFetchSize(fetchSize);
+        }
+        jdbcTemplate.setMaxRows(pageSize);
+        namedParameterJdbcTemplate = new NamedParameterJdbcTemplate(jdbcTemplate);
+
+        queryProvider.init(dataSource);
+        firstPageSql = queryProvider.generateFirstPageQuery(pageSize);
+        remainingPagesSql = queryProvider.generateRemainingPagesQuery(pageSize);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        String key = getExecutionContextKey(START_AFTER_KEY);
+        startAfterValues = isSaveState() && executionContext.containsKey(key)
+                ? (Map<String, Object>) executionContext.get(key)
+                : null;
+        super.open(executionContext);
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        super.update(executionContext);
+        if (isSaveState() && lastReadValues != null) {
+            executionContext.put(getExecutionContextKey(START_AFTER_KEY), lastReadValues);
+        }
+    }
+
+    @Override
+    protected void doOpen() throws Exception {
+        pages = new ArrayBlockingQueue<>(queueDepth);
+        current = Collections.emptyIterator();
+        exhausted = false;
+        lastReadValues = startAfterValues;
+    }
+
+    /**
+     * Restarts from the saved sort key values instead of skipping the processed items.
+     */
+    @Override
+    protected void jumpToItem(int itemIndex) throws Exception {
+        if (startAfterValues == null && itemIndex > 0) {
+            log.warn("No sort key values saved for reader '{}', skipping {} items", getName(), itemIndex);
+            startProducer(null);
+            for (int i = 0; i < itemIndex && doRead() != null; i++) {
+                // skip already processed items
+            }
+        }
+    }
+
+    @Override
+    protected T doRead() throws Exception {
+        if (producer == null) {
+            startProducer(startAfterValues);
+        }
+
+        while (!current.hasNext()) {
+            if (exhausted) {
+                return null;
+            }
+            Page<T> page = takePage();
+            if (page.error() != null) {
+                exhausted = true;
+                throw page.error();
+            }
+            exhausted = page.last();
+            current = page.rows().iterator();
+        }
+
+        Row<T> row = current.next();
+        lastReadValues = row.sortKeyValues();
+        return row.item();
+    }
+
+    @Override
+    protected void doClose() throws Exception {
+        if (producer != null) {
+            // Interrupts a producer waiting for room in the queue; a running query completes first
+            producer.cancel(true);
+            if (!producerClaimed.compareAndSet(false, true)
+                    && !producerStopped.await(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                log.warn("Prefetch task of reader '{}' did not stop in time", getName());
+            }
+            producer = null;
+        }
+        if (pages != null) {
+            pages.clear();
+        }
+        current = Collections.emptyIterator();
+    }
+
+    private void startProducer(Map<String, Object> startAfter) {
+        AtomicBoolean claimed = new AtomicBoolean();
+        CountDownLatch stopped = new CountDownLatch(1);
+        FutureTask<Void> task = new FutureTask<>(() -> {
+            if (!claimed.compareAndSet(false, true)) {
+                // Closed before the producer started
+                return;
+            }
+            try {
+                produce(startAfter);
+            } finally {
+                stopped.countDown();
+            }
+        }, null);
+        producerClaimed = claimed;
+        producerStopped = stopped;
+        producer = task;
+        taskExecutor.execute(task);
+        log.debug("Started prefetch task for reader '{}' with queue depth {} and page size {}", getName(), queueDepth, pageSize);
+    }
+
+    /**
+     * Producer loop: runs the page queries until a short page is returned, the thread is interrupted
+     * or a query fails.
+     */
+    private void produce(Map<String, Object> startAfter) {
+        Map<String, Object> after = startAfter;
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                List<Row<T>> rows = queryPage(after);
+                boolean last = rows.size() < pageSize;
+                pages.put(new Page<>(rows, last, null));
+                if (last) {
+                    return;
+                }
+                after = rows.get(rows.size() - 1).sortKeyValues();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            log.error("Prefetch of page failed for reader '{}': {}", getName(), e.getMessage(), e);
+            try {
+                // The reader drains the pages already fetched before seeing the failure
+                pages.put(new Page<>(Collections.emptyList(), true, e));
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    private Page<T> takePage() throws InterruptedException {
+        Page<T> page;
+        while ((page = pages.poll(POLL_TIMEOUT_SECONDS, TimeUnit.SECONDS)) == null) {
+            if (producer == null || (producerStopped.getCount() == 0 && pages.isEmpty())) {
+                throw new IllegalStateException("Prefetch task stopped without completing the read");
+            }
+        }
+        return page;
+    }
+
+    private List<Row<T>> queryPage(Map<String, Object> startAfter) {
+        RowMapper<Row<T>> rowCallback = (rs, rowNum) -> {
+            Map<String, Object> sortKeyValues = new LinkedHashMap<>();
+            for (String sortKey : queryProvider.getSortKeys().keySet()) {
+                sortKeyValues.put(sortKey, rs.getObject(sortKey));
+            }
+            return new Row<>(rowMapper.mapRow(rs, rowNum), sortKeyValues);
+        };
+
+        String sql = startAfter == null ? firstPageSql : remainingPagesSql;
+        log.debug("Prefetching page with SQL: [{}]", sql);
+        if (queryProvider.isUsingNamedParameters()) {
+            return namedParameterJdbcTemplate.query(sql, getParameterMap(startAfter), rowCallback);
+        }
+        return namedParameterJdbcTemplate.getJdbcOperations().query(sql, rowCallback, getParameterList(startAfter).toArray());
+    }
+
+    private Map<String, Object> getParameterMap(Map<String, Object> sortKeyValues) {
+        Map<String, Object> parameterMap = new LinkedHashMap<>();
+        if (parameterValues != null) {
+            parameterMap.putAll(parameterValues);
+        }
+        if (sortKeyValues != null) {
+            sortKeyValues.forEach((key, value) -> parameterMap.put("_" + key, value));
+        }
+        return parameterMap;
+    }
+
+    /**
+     * Positional parameters, in the same order as {@code JdbcPagingItemReader}: the configured values
+     * sorted by name, then the sort key values expanded for the (a > ?) OR (a = ? AND b > ?) condition.
+     */
+    private List<Object> getParameterList(Map<String, Object> sortKeyValues) {
+        List<Object> parameterList = new ArrayList<>();
+        if (parameterValues != null) {
+            parameterList.addAll(new TreeMap<>(parameterValues).values());
+        }
+        if (sortKeyValues != null) {
+            List<Object> values = new ArrayList<>(sortKeyValues.values());
+            for (int i = 0; i < values.size(); i++) {
+                parameterList.addAll(values.subList(0, i + 1));
+            }
+        }
+        return parameterList;
+    }
+}
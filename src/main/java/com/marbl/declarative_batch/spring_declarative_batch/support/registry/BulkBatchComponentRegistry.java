@@ -0,0 +1,105 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.registry;
+
+import com.marbl.declarative_batch.spring_declarative_batch.annotation.*;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.beans.factory.BeanFactoryAware;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.ConfigurableListableBeanFactory;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.stereotype.Component;
+
+import java.lang.annotation.Annotation;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Index of the beans annotated with the {@code @BulkBatch*} annotations, by annotation and name.
+ *
+ * <p>Beans are registered while the context creates them, so lookups by name no longer scan every
+ * annotated bean of the context. The annotation is read from the bean class or from its
+ * {@code @Bean} factory method; annotations without a {@code name} are indexed by bean name. Two singletons declaring the same name for the same annotation
+ * make the context fail at startup instead of one of them being picked at random.</p>
+ */
+@Slf4j
+@Component
+public class BulkBatchComponentRegistry implements BeanPostProcessor, BeanFactoryAware {
+
+    private static final List<Class<? extends Annotation>> ANNOTATION_TYPES = List.of(
+            BulkBatchSteplet.class,
+            BulkBatchTasklet.class,
+            BulkBatchReader.class,
+            BulkBatchProcessor.class,
+            BulkBatchWriter.class,
+            BulkBatchListener.class,
+            BulkBatchValidator.class);
+
+    private final Map<Class<? extends Annotation>, Map<String, Registration>> registry = new ConcurrentHashMap<>();
+
+    private ConfigurableListableBeanFactory beanFactory;
+
+    private record Registration(String beanName, Object bean) {
+    }
+
+    @Override
+    public void setBeanFactory(BeanFactory beanFactory) throws BeansException {
+        this.beanFactory = (ConfigurableListableBeanFactory) beanFactory;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) throws BeansException {
+        if (!beanFactory.containsBeanDefinition(beanName) || !beanFactory.isSingleton(beanName)) {
+            return bean;
+        }
+
+        for (Class<? extends Annotation> annotationType : ANNOTATION_TYPES) {
+            Annotation annotation = beanFactory.findAnnotationOnBean(beanName, annotationType, false);
+            if (annotation != null) {
+                register(annotationType, resolveName(annotation, beanName), beanName, bean);
+            }
+        }
+        return bean;
+    }
+
+    /**
+     * Annotation {@code name}, falling back to the bean name for annotations without it ({@code @BulkBatchValidator}).
+     */
+    private String resolveName(Annotation annotation, String beanName) {
+        Object name = AnnotationUtils.getValue(annotation, "name");
+        return name instanceof String value && !value.isBlank() ? value : beanName;
+    }
+
+    private void register(Class<? extends Annotation> annotationType, String name, String beanName, Object bean) {
+        Map<String, Registration> byName = registry.computeIfAbsent(annotationType, type -> new ConcurrentHashMap<>());
+        Registration existing = byName.putIfAbsent(name, new Registration(beanName, bean));
+        if (existing != null) {
+            log.error("Duplicate @{} name '{}' on beans '{}' and '{}'",
+                    annotationType.getSimpleName(), name, existing.beanName(), beanName);
+            throw new IllegalStateException("Duplicate @" + annotationType.getSimpleName() + " name '" + name
+                    + "' on beans '" + existing.beanName() + "' and '" + beanName + "'");
+        }
+        log.debug("Registered @{} '{}' (bean '{}')", annotationType.getSimpleName(), name, beanName);
+    }
+
+    /**
+     * Returns the bean registered under the given annotation name, or {@code null}.
+     */
+    public Object find(Class<? extends Annotation> annotationType, String name) {
+        Registration registration = registry.getOrDefault(annotationType, Collections.emptyMap()).get(name);
+        return registration != null ? registration.bean() : null;
+    }
+
+    /**
+     * Returns all the beans registered for the given annotation, by annotation name.
+     */
+    public Map<String, Object> findAll(Class<? extends Annotation> annotationType) {
+        Map<String, Object> beans = new LinkedHashMap<>();
+        registry.getOrDefault(annotationType, Collections.emptyMap())
+                .forEach((name, registration) -> beans.put(name, registration.bean()));
+        return beans;
+    }
+}
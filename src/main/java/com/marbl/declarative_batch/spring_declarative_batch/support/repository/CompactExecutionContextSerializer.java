@@ -0,0 +1,83 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.repository;
+
+import org.springframework.batch.core.repository.ExecutionContextSerializer;
+import org.springframework.batch.core.repository.dao.DefaultExecutionContextSerializer;
+import org.springframework.batch.core.repository.dao.Jackson2ExecutionContextStringSerializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Map;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Execution context serializer storing large contexts deflated.
+ *
+ * <p>Contexts are serialized to JSON by the {@link Jackson2ExecutionContextStringSerializer};
+ * when the JSON exceeds {@value #COMPRESSION_THRESHOLD} bytes it is deflated and Base64 encoded,
+ * behind a marker character, as long as the result is actually shorter. Keeping the context under
+ * the length of the {@code SHORT_CONTEXT} column avoids writing the {@code SERIALIZED_CONTEXT} CLOB
+ * at every commit.</p>
+ *
+ * <p>Contexts already stored stay readable: plain JSON ones, written by the Jackson serializer, and
+ * Base64 encoded Java serialization ones, written by the {@link DefaultExecutionContextSerializer}
+ * that Spring Batch uses when no serializer is configured. They are rewritten as JSON at the next
+ * save, so every value they hold must be supported by the Jackson serializer.</p>
+ */
+public class CompactExecutionContextSerializer implements ExecutionContextSerializer {
+
+    private static final int COMPRESSION_THRESHOLD = 1024;
+    private static final byte DEFLATED_MARKER = '~';
+    private static final byte JSON_OBJECT_START = '{';
+
+    private final Jackson2ExecutionContextStringSerializer json = new Jackson2ExecutionContextStringSerializer();
+    private final DefaultExecutionContextSerializer legacy = new DefaultExecutionContextSerializer();
+
+    @Override
+    public void serialize(Map<String, Object> context, OutputStream out) throws IOException {
+        ByteArrayOutputStream jsonBytes = new ByteArrayOutputStream();
+        json.serialize(context, jsonBytes);
+        if (jsonBytes.size() <= COMPRESSION_THRESHOLD) {
+            jsonBytes.writeTo(out);
+            return;
+        }
+
+        ByteArrayOutputStream deflated = new ByteArrayOutputStream(jsonBytes.size() / 2);
+        // A deflater passed to the stream is not ended by it, its native memory is released here
+        Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try (DeflaterOutputStream stream = new DeflaterOutputStream(deflated, deflater)) {
+            jsonBytes.writeTo(stream);
+        } finally {
+            deflater.end();
+        }
+        byte[] encoded = Base64.getEncoder().encode(deflated.toByteArray());
+        if (encoded.length + 1 >= jsonBytes.size()) {
+            jsonBytes.writeTo(out);
+            return;
+        }
+        out.write(DEFLATED_MARKER);
+        out.write(encoded);
+    }
+
+    @Override
+    public Map<String, Object> deserialize(InputStream in) throws IOException {
+        byte[] bytes = in.readAllBytes();
+        if (bytes.length > 0 && bytes[0] == JSON_OBJECT_START) {
+            return json.deserialize(new ByteArrayInputStream(bytes));
+        }
+        if (bytes.length == 0 || bytes[0] != DEFLATED_MARKER) {
+            return legacy.deserialize(new ByteArrayInputStream(bytes));
+        }
+
+        String encoded = new String(bytes, 1, bytes.length - 1, StandardCharsets.US_ASCII);
+        try (InputStream inflater = new InflaterInputStream(new ByteArrayInputStream(Base64.getDecoder().decode(encoded)))) {
+            return json.deserialize(inflater);
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.explore.JobExplorer;
+import org.springframework.batch.core.repository.support.ResourcelessJobRepository;
+import org.springframework.lang.Nullable;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Explorer over a {@link ResourcelessJobRepository}, which only knows the current (or last) execution.
+ *
+ * <p>The execution is the live object updated by the job, so an asynchronously launched execution
+ * can still be polled until it completes. Nothing older than the last execution can be found.</p>
+ */
+@RequiredArgsConstructor
+public class ResourcelessJobExplorer implements JobExplorer {
+
+    private final ResourcelessJobRepository jobRepository;
+
+    @Override
+    public List<JobInstance> getJobInstances(String jobName, int start, int count) {
+        return findJobInstancesByJobName(jobName, start, count);
+    }
+
+    @Override
+    public JobExecution getJobExecution(@Nullable Long executionId) {
+        JobExecution execution = lastExecution();
+        return execution != null && Objects.equals(execution.getId(), executionId) ? execution : null;
+    }
+
+    @Override
+    public StepExecution getStepExecution(@Nullable Long jobExecutionId, @Nullable Long stepExecutionId) {
+        JobExecution execution = getJobExecution(jobExecutionId);
+        if (execution == null) {
+            return null;
+        }
+        return execution.getStepExecutions().stream()
+                .filter(stepExecution -> Objects.equals(stepExecution.getId(), stepExecutionId))
+                .findFirst()
+                .orElse(null);
+    }
+
+    @Override
+    public JobInstance getJobInstance(@Nullable Long instanceId) {
+        JobExecution execution = lastExecution();
+        return execution != null && Objects.equals(execution.getJobInstance().getId(), instanceId)
+                ? execution.getJobInstance()
+                : null;
+    }
+
+    @Override
+    public List<JobExecution> getJobExecutions(JobInstance jobInstance) {
+        JobExecution execution = lastExecution();
+        return execution != null && execution.getJobInstance().equals(jobInstance)
+                ? List.of(execution)
+                : Collections.emptyList();
+    }
+
+    @Override
+    public Set<JobExecution> findRunningJobExecutions(@Nullable String jobName) {
+        JobExecution execution = lastExecution();
+        return execution != null && execution.isRunning() && execution.getJobInstance().getJobName().equals(jobName)
+                ? Set.of(execution)
+                : Collections.emptySet();
+    }
+
+    @Override
+    public List<String> getJobNames() {
+        JobExecution execution = lastExecution();
+        return execution != null ? List.of(execution.getJobInstance().getJobName()) : Collections.emptyList();
+    }
+
+    @Override
+    public List<JobInstance> findJobInstancesByJobName(String jobName, int start, int count) {
+        JobExecution execution = lastExecution();
+        return execution != null && start == 0 && count > 0 && execution.getJobInstance().getJobName().equals(jobName)
+                ? List.of(execution.getJobInstance())
+                : Collections.emptyList();
+    }
+
+    @Override
+    public long getJobInstanceCount(@Nullable String jobName) {
+        return findJobInstancesByJobName(jobName, 0, 1).size();
+    }
+
+    private JobExecution lastExecution() {
+        // The resourceless repository ignores the arguments and returns its only execution
+        return jobRepository.getLastJobExecution(null, null);
+    }
+}
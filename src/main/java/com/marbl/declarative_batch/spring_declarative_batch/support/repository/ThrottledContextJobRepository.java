@@ -0,0 +1,172 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.repository;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobInstance;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.repository.JobInstanceAlreadyCompleteException;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.JobRestartException;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Repository decorator persisting the step execution context every N chunks or every T millis
+ * instead of at every chunk commit.
+ *
+ * <p>Everything else is delegated as is, including the step execution updates (counts, commit
+ * count, status). The context is always persisted when the step ends, successfully or not, and a
+ * failed chunk never reaches the repository, so a failed step restarts from its last committed
+ * chunk exactly as without throttling. Only an abrupt termination (the JVM is killed, the database
+ * becomes unreachable) loses the chunks committed after the last persisted context: on restart
+ * they are read and written again, so the writers must be idempotent.</p>
+ */
+@Slf4j
+public class ThrottledContextJobRepository implements JobRepository {
+
+    private final JobRepository delegate;
+    private final int persistEveryChunks;
+    private final long persistIntervalNanos;
+
+    private final Map<Long, Throttle> throttles = new ConcurrentHashMap<>();
+
+    /**
+     * @param persistEveryChunks    chunks between two context writes
+     * @param persistIntervalMillis max time between two context writes, {@code null} for no time bound
+     */
+    public ThrottledContextJobRepository(JobRepository delegate, int persistEveryChunks, Long persistIntervalMillis) {
+        this.delegate = delegate;
+        this.persistEveryChunks = persistEveryChunks;
+        this.persistIntervalNanos = persistIntervalMillis != null ? persistIntervalMillis * 1_000_000L : Long.MAX_VALUE;
+    }
+
+    /**
+     * Context updates skipped since the last write of a step execution.
+     */
+    private static class Throttle {
+        private int pending;
+        private long lastPersisted = System.nanoTime();
+    }
+
+    @Override
+    public void updateExecutionContext(StepExecution stepExecution) {
+        if (stepExecution.getId() == null || stepExecution.getEndTime() != null) {
+            // Final write of the step: always persisted
+            throttles.remove(stepExecution.getId());
+            delegate.updateExecutionContext(stepExecution);
+            return;
+        }
+
+        Throttle throttle = throttles.computeIfAbsent(stepExecution.getId(), id -> new Throttle());
+        synchronized (throttle) {
+            long now = System.nanoTime();
+            if (++throttle.pending < persistEveryChunks && now - throttle.lastPersisted < persistIntervalNanos) {
+                log.trace("Deferred execution context write of step '{}' ({} pending)",
+                        stepExecution.getStepName(), throttle.pending);
+                return;
+            }
+            delegate.updateExecutionContext(stepExecution);
+            throttle.pending = 0;
+            throttle.lastPersisted = now;
+        }
+    }
+
+    @Override
+    public void update(StepExecution stepExecution) {
+        delegate.update(stepExecution);
+        if (stepExecution.getEndTime() != null) {
+            throttles.remove(stepExecution.getId());
+        }
+    }
+
+    @Override
+    public void updateExecutionContext(JobExecution jobExecution) {
+        delegate.updateExecutionContext(jobExecution);
+    }
+
+    @Override
+    public List<String> getJobNames() {
+        return delegate.getJobNames();
+    }
+
+    @Override
+    public List<JobInstance> findJobInstancesByName(String jobName, int start, int count) {
+        return delegate.findJobInstancesByName(jobName, start, count);
+    }
+
+    @Override
+    public List<JobExecution> findJobExecutions(JobInstance jobInstance) {
+        return delegate.findJobExecutions(jobInstance);
+    }
+
+    @Override
+    public boolean isJobInstanceExists(String jobName, JobParameters jobParameters) {
+        return delegate.isJobInstanceExists(jobName, jobParameters);
+    }
+
+    @Override
+    public JobInstance createJobInstance(String jobName, JobParameters jobParameters) {
+        return delegate.createJobInstance(jobName, jobParameters);
+    }
+
+    @Override
+    public JobExecution createJobExecution(String jobName, JobParameters jobParameters)
+            throws JobExecutionAlreadyRunningException, JobRestartException, JobInstanceAlreadyCompleteException {
+        return delegate.createJobExecution(jobName, jobParameters);
+    }
+
+    @Override
+    public void update(JobExecution jobExecution) {
+        delegate.update(jobExecution);
+    }
+
+    @Override
+    public void add(StepExecution stepExecution) {
+        delegate.add(stepExecution);
+    }
+
+    @Override
+    public void addAll(Collection<StepExecution> stepExecutions) {
+        delegate.addAll(stepExecutions);
+    }
+
+    @Override
+    public JobInstance getJobInstance(String jobName, JobParameters jobParameters) {
+        return delegate.getJobInstance(jobName, jobParameters);
+    }
+
+    @Override
+    public StepExecution getLastStepExecution(JobInstance jobInstance, String stepName) {
+        return delegate.getLastStepExecution(jobInstance, stepName);
+    }
+
+    @Override
+    public long getStepExecutionCount(JobInstance jobInstance, String stepName) {
+        return delegate.getStepExecutionCount(jobInstance, stepName);
+    }
+
+    @Override
+    public JobExecution getLastJobExecution(String jobName, JobParameters jobParameters) {
+        return delegate.getLastJobExecution(jobName, jobParameters);
+    }
+
+    @Override
+    public void deleteStepExecution(StepExecution stepExecution) {
+        delegate.deleteStepExecution(stepExecution);
+    }
+
+    @Override
+    public void deleteJobExecution(JobExecution jobExecution) {
+        delegate.deleteJobExecution(jobExecution);
+    }
+
+    @Override
+    public void deleteJobInstance(JobInstance jobInstance) {
+        delegate.deleteJobInstance(jobInstance);
+    }
+}
@@ -0,0 +1,234 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.retry;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.step.item.ForceRollbackForWriteSkipException;
+import org.springframework.classify.BinaryExceptionClassifier;
+import org.springframework.retry.RetryCallback;
+import org.springframework.retry.RetryContext;
+import org.springframework.retry.RetryListener;
+import org.springframework.retry.RetryPolicy;
+import org.springframework.retry.context.RetryContextSupport;
+import org.springframework.retry.policy.SimpleRetryPolicy;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+import java.util.function.LongSupplier;
+
+/**
+ * Retry policy limiting how often a step retries, on top of the retry limit of every item.
+ *
+ * <p>It wraps the policy of the retry limit and the retryable exceptions: a guard is consulted only
+ * for a failure that policy would retry, so non-retryable exceptions, skip-only exceptions and the
+ * last failure of an exhausted item never consume a permit. Two guards apply:</p>
+ * <ul>
+ *     <li><b>retry budget</b>: at most {@code maxRetriesPerMinute} retries are granted per minute
+ *     to the whole step (all its threads); permits are refilled continuously, so a burst of
+ *     failures cannot turn into a retry storm against the failing resource</li>
+ *     <li><b>circuit breaker</b>: after {@code failureThreshold} failures of retryable exceptions
+ *     within {@code failureWindowMillis} the circuit opens and failures are not retried for
+ *     {@code openTimeoutMillis}; afterwards a single trial retry is granted (half open): the circuit
+ *     closes when it succeeds and opens again on the next failure</li>
+ * </ul>
+ *
+ * <p>A denied retry does not fail the step by itself: the error goes straight to the skip policy,
+ * or fails the chunk when it is not skippable. The policy must also be registered as a
+ * {@link RetryListener} to learn about successful retries.</p>
+ */
+@Slf4j
+public class GuardedRetryPolicy implements RetryPolicy, RetryListener {
+
+    private static final String DENIED = GuardedRetryPolicy.class.getName() + ".DENIED";
+    private static final long MINUTE_NANOS = 60_000_000_000L;
+
+    private final String name;
+    private final SimpleRetryPolicy delegate;
+    private final BinaryExceptionClassifier retryableClassifier;
+    private final Integer maxRetriesPerMinute;
+    private final Integer failureThreshold;
+    private final long failureWindowNanos;
+    private final long openTimeoutNanos;
+    private final LongSupplier clock;
+
+    // Retry budget
+    private double permits;
+    private long lastRefill;
+    private boolean budgetExhausted;
+
+    // Circuit breaker
+    private final Deque<Long> failures = new ArrayDeque<>();
+    private long openUntil;
+    private boolean open;
+    private boolean trialGranted;
+
+    /**
+     * @param name                step name, used in the logs
+     * @param maxAttempts         attempts per item, first one included (the retry limit of the step)
+     * @param retryableExceptions exceptions retried, subclasses included
+     * @param maxRetriesPerMinute retry budget, {@code null} for no budget
+     * @param failureThreshold    failures within the window opening the circuit, {@code null} for no circuit breaker
+     * @param failureWindowMillis window in which the failures are counted
+     * @param openTimeoutMillis   time the circuit stays open
+     */
+    public GuardedRetryPolicy(String name, int maxAttempts, Collection<Class<? extends Throwable>> retryableExceptions,
+                              Integer maxRetriesPerMinute,
+                              Integer failureThreshold, long failureWindowMillis, long openTimeoutMillis) {
+        this(name, maxAttempts, retryableExceptions, maxRetriesPerMinute,
+                failureThreshold, failureWindowMillis, openTimeoutMillis, System::nanoTime);
+    }
+
+    GuardedRetryPolicy(String name, int maxAttempts, Collection<Class<? extends Throwable>> retryableExceptions,
+                       Integer maxRetriesPerMinute,
+                       Integer failureThreshold, long failureWindowMillis, long openTimeoutMillis,
+                       LongSupplier clock) {
+        this.name = name;
+        this.retryableClassifier = new BinaryExceptionClassifier(retryableExceptions, true);
+        // Same exceptions as the policy built by the fault tolerant step, which also retries the write skip scan
+        List<Class<? extends Throwable>> delegateExceptions = new ArrayList<>(retryableExceptions);
+        delegateExceptions.add(ForceRollbackForWriteSkipException.class);
+        this.delegate = new SimpleRetryPolicy(maxAttempts, new BinaryExceptionClassifier(delegateExceptions, true));
+        this.maxRetriesPerMinute = maxRetriesPerMinute;
+        this.failureThreshold = failureThreshold;
+        this.failureWindowNanos = failureWindowMillis * 1_000_000L;
+        this.openTimeoutNanos = openTimeoutMillis * 1_000_000L;
+        this.clock = clock;
+        this.permits = maxRetriesPerMinute != null ? maxRetriesPerMinute : 0;
+        this.lastRefill = clock.getAsLong();
+    }
+
+    /**
+     * Context of the guard, holding the context of the wrapped retry limit policy.
+     */
+    private static class GuardedRetryContext extends RetryContextSupport {
+
+        private final RetryContext delegateContext;
+
+        GuardedRetryContext(RetryContext parent, RetryContext delegateContext) {
+            super(parent);
+            this.delegateContext = delegateContext;
+        }
+    }
+
+    @Override
+    public boolean canRetry(RetryContext context) {
+        GuardedRetryContext guarded = (GuardedRetryContext) context;
+        return delegate.canRetry(guarded.delegateContext) && !Boolean.TRUE.equals(context.getAttribute(DENIED));
+    }
+
+    @Override
+    public RetryContext open(RetryContext parent) {
+        return new GuardedRetryContext(parent, delegate.open(parent));
+    }
+
+    @Override
+    public void close(RetryContext context) {
+        delegate.close(((GuardedRetryContext) context).delegateContext);
+    }
+
+    /**
+     * Decides, once per failed attempt, whether the next attempt may be a retry.
+     */
+    @Override
+    public void registerThrowable(RetryContext context, Throwable throwable) {
+        GuardedRetryContext guarded = (GuardedRetryContext) context;
+        guarded.registerThrowable(throwable);
+        delegate.registerThrowable(guarded.delegateContext, throwable);
+
+        if (throwable == null || throwable instanceof ForceRollbackForWriteSkipException
+                || !retryableClassifier.classify(throwable)) {
+            return;
+        }
+        recordFailure();
+        if (delegate.canRetry(guarded.delegateContext)
+                && !Boolean.TRUE.equals(context.getAttribute(DENIED)) && !acquire()) {
+            context.setAttribute(DENIED, true);
+        }
+    }
+
+    /**
+     * Only a successful retry proves the failing resource is back: first attempts succeed for any
+     * operation going through the retry template, including the processing of every item.
+     */
+    @Override
+    public <T, E extends Throwable> void onSuccess(RetryContext context, RetryCallback<T, E> callback, T result) {
+        if (context.getRetryCount() > 0) {
+            recordSuccess();
+        }
+    }
+
+    private synchronized boolean acquire() {
+        long now = clock.getAsLong();
+        if (open && (now - openUntil < 0 || trialGranted)) {
+            log.debug("Circuit open for step '{}', failing without retry", name);
+            return false;
+        }
+        if (!acquirePermit(now)) {
+            return false;
+        }
+        if (open) {
+            // Half open: this retry is the trial deciding whether the circuit closes
+            trialGranted = true;
+            log.info("Circuit half open for step '{}', granting a trial retry", name);
+        }
+        return true;
+    }
+
+    private boolean acquirePermit(long now) {
+        if (maxRetriesPerMinute == null) {
+            return true;
+        }
+
+        permits = Math.min(maxRetriesPerMinute, permits + (double) (now - lastRefill) * maxRetriesPerMinute / MINUTE_NANOS);
+        lastRefill = now;
+        if (permits < 1) {
+            if (!budgetExhausted) {
+                log.warn("Retry budget of {} retries per minute exhausted for step '{}', failing without retry",
+                        maxRetriesPerMinute, name);
+            }
+            budgetExhausted = true;
+            return false;
+        }
+        budgetExhausted = false;
+        permits--;
+        return true;
+    }
+
+    private synchronized void recordFailure() {
+        if (failureThreshold == null) {
+            return;
+        }
+        long now = clock.getAsLong();
+        if (open) {
+            if (trialGranted) {
+                // Half open: a failure while the trial retry is running opens the circuit again
+                trialGranted = false;
+                openUntil = now + openTimeoutNanos;
+                log.warn("Circuit reopened for step '{}', retries suspended for {} ms", name, openTimeoutNanos / 1_000_000L);
+            }
+            return;
+        }
+
+        failures.addLast(now);
+        while (now - failures.peekFirst() > failureWindowNanos) {
+            failures.removeFirst();
+        }
+        if (failures.size() >= failureThreshold) {
+            open = true;
+            openUntil = now + openTimeoutNanos;
+            failures.clear();
+            log.warn("Circuit opened for step '{}' after {} failures in {} ms, retries suspended for {} ms",
+                    name, failureThreshold, failureWindowNanos / 1_000_000L, openTimeoutNanos / 1_000_000L);
+        }
+    }
+
+    private synchronized void recordSuccess() {
+        if (open) {
+            log.info("Circuit closed for step '{}'", name);
+        }
+        open = false;
+        trialGranted = false;
+        failures.clear();
+    }
+}
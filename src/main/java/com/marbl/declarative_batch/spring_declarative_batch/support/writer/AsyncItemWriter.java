@@ -0,0 +1,96 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.writer;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.SkipWrapper;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Writer waiting for the results of {@link com.marbl.declarative_batch.spring_declarative_batch.support.processor.AsyncItemProcessor}
+ * and writing them, in read order, with the delegate.
+ *
+ * <p>Items filtered by the delegate processor ({@code null} results) are dropped. A processing
+ * failure is rethrown unwrapped, so retry, skip and rollback rules apply to the original exception.</p>
+ */
+@RequiredArgsConstructor
+public class AsyncItemWriter<T> implements ItemStreamWriter<Future<T>> {
+
+    private final ItemWriter<T> delegate;
+
+    @Override
+    public void write(Chunk<? extends Future<T>> items) throws Exception {
+        Chunk<T> results = new Chunk<>();
+        Map<Object, Future<T>> futures = new IdentityHashMap<>();
+        for (Future<T> future : items) {
+            T result = await(future);
+            if (result != null) {
+                results.add(result);
+                futures.put(result, future);
+            }
+        }
+        delegate.write(results);
+
+        // Skips recorded by the delegate (bisecting writer) are reported to the step on its chunk
+        if (!results.getSkips().isEmpty()) {
+            Map<Object, Throwable> skipped = new IdentityHashMap<>();
+            for (SkipWrapper<T> skip : results.getSkips()) {
+                skipped.put(futures.get(skip.getItem()), skip.getException());
+            }
+            removeSkipped(items, skipped);
+        }
+    }
+
+    private static <S> void removeSkipped(Chunk<S> chunk, Map<Object, Throwable> skipped) {
+        for (Chunk<S>.ChunkIterator iterator = chunk.iterator(); iterator.hasNext(); ) {
+            Throwable cause = skipped.get(iterator.next());
+            if (cause != null) {
+                iterator.remove(cause);
+            }
+        }
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        if (delegate instanceof ItemStream stream) {
+            stream.open(executionContext);
+        }
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        if (delegate instanceof ItemStream stream) {
+            stream.update(executionContext);
+        }
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        if (delegate instanceof ItemStream stream) {
+            stream.close();
+        }
+    }
+
+    private T await(Future<T> future) throws Exception {
+        try {
+            return future.get();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause() instanceof CompletionException ce && ce.getCause() != null
+                    ? ce.getCause()
+                    : e.getCause();
+            if (cause instanceof Exception exception) {
+                throw exception;
+            }
+            throw (Error) cause;
+        }
+    }
+}
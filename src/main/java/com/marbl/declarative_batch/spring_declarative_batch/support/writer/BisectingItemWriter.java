@@ -0,0 +1,164 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.writer;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.step.skip.LimitCheckingItemSkipPolicy;
+import org.springframework.batch.core.step.skip.SkipPolicy;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStream;
+import org.springframework.batch.item.ItemStreamException;
+import org.springframework.batch.item.ItemStreamWriter;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writer isolating the items that fail with a skippable exception by bisection.
+ *
+ * <p>Every write attempt runs in a nested transaction (a savepoint of the chunk transaction), so
+ * a failed attempt is rolled back without aborting the chunk. When the whole chunk fails with a
+ * skippable exception it is split in two halves, each written (or split again) on its own: the
+ * failing items are found with O(k log n) write attempts instead of the n single-item
+ * transactions of the default chunk scan.</p>
+ *
+ * <p>Isolated items go through the skip policy of the step, counting the skips of the current
+ * chunk too; exceptions that are not skippable, or exceeding the skip limit, are rethrown. Once
+ * the whole chunk is written the skipped items are removed from it and counted on the chunk
+ * contribution, so the step reports them as write skips, calls
+ * {@link org.springframework.batch.core.SkipListener#onSkipInWrite} and leaves its counters
+ * untouched when the chunk rolls back. The contribution is only visible to the writer in a step
+ * built by {@link BisectingStepBuilder}; anywhere else a failing item fails the write.</p>
+ *
+ * <p>The delegate must write through the datasource of the step transaction manager, otherwise the
+ * savepoints do not cover its writes and a failed attempt may leave partial data behind.</p>
+ */
+@Slf4j
+public class BisectingItemWriter<T> implements ItemStreamWriter<T> {
+
+    private static final ThreadLocal<StepContribution> CONTRIBUTION = new ThreadLocal<>();
+
+    private final ItemWriter<T> delegate;
+    private final TransactionTemplate nestedTransaction;
+    private final SkipPolicy skipPolicy;
+
+    public BisectingItemWriter(ItemWriter<T> delegate, PlatformTransactionManager transactionManager,
+                               Map<Class<? extends Throwable>, Boolean> skippableExceptions, int skipLimit) {
+        this.delegate = delegate;
+        this.nestedTransaction = new TransactionTemplate(transactionManager);
+        this.nestedTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_NESTED);
+        this.skipPolicy = new LimitCheckingItemSkipPolicy(skipLimit, skippableExceptions);
+    }
+
+    /**
+     * Runs the chunk tasklet with its contribution visible to the writers of the current thread.
+     */
+    static Tasklet bindContribution(Tasklet tasklet) {
+        return (contribution, chunkContext) -> {
+            CONTRIBUTION.set(contribution);
+            try {
+                return tasklet.execute(contribution, chunkContext);
+            } finally {
+                CONTRIBUTION.remove();
+            }
+        };
+    }
+
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        StepContribution contribution = CONTRIBUTION.get();
+        Map<Object, Exception> skipped = new IdentityHashMap<>();
+        writeOrBisect(List.copyOf(chunk.getItems()), contribution, skipped);
+
+        if (!skipped.isEmpty()) {
+            removeSkipped(chunk, skipped);
+            skipped.forEach((item, cause) -> {
+                contribution.incrementWriteSkipCount();
+                log.warn("Skipped item on write in step '{}': {} ({})",
+                        contribution.getStepExecution().getStepName(), item, cause.getMessage());
+            });
+        }
+    }
+
+    private void writeOrBisect(List<? extends T> items, StepContribution contribution,
+                               Map<Object, Exception> skipped) throws Exception {
+        try {
+            writeNested(items);
+        } catch (Exception e) {
+            if (contribution == null || !skipPolicy.shouldSkip(e, contribution.getStepSkipCount() + skipped.size())) {
+                throw e;
+            }
+            if (items.size() == 1) {
+                skipped.put(items.get(0), e);
+                return;
+            }
+
+            int middle = items.size() / 2;
+            log.debug("Write of {} items failed with {}, bisecting", items.size(), e.getClass().getSimpleName());
+            writeOrBisect(items.subList(0, middle), contribution, skipped);
+            writeOrBisect(items.subList(middle, items.size()), contribution, skipped);
+        }
+    }
+
+    private void writeNested(List<? extends T> items) throws Exception {
+        try {
+            nestedTransaction.executeWithoutResult(status -> {
+                try {
+                    delegate.write(new Chunk<>(items));
+                } catch (Exception e) {
+                    throw new NestedWriteException(e);
+                }
+            });
+        } catch (NestedWriteException e) {
+            throw (Exception) e.getCause();
+        }
+    }
+
+    /**
+     * Leaves the written items in the chunk, the step counts them as written and reports the skips to its listeners.
+     */
+    private static <S> void removeSkipped(Chunk<S> chunk, Map<Object, Exception> skipped) {
+        for (Chunk<S>.ChunkIterator iterator = chunk.iterator(); iterator.hasNext(); ) {
+            Exception cause = skipped.get(iterator.next());
+            if (cause != null) {
+                iterator.remove(cause);
+            }
+        }
+    }
+
+    @Override
+    public void open(ExecutionContext executionContext) throws ItemStreamException {
+        if (delegate instanceof ItemStream stream) {
+            stream.open(executionContext);
+        }
+    }
+
+    @Override
+    public void update(ExecutionContext executionContext) throws ItemStreamException {
+        if (delegate instanceof ItemStream stream) {
+            stream.update(executionContext);
+        }
+    }
+
+    @Override
+    public void close() throws ItemStreamException {
+        if (delegate instanceof ItemStream stream) {
+            stream.close();
+        }
+    }
+
+    /**
+     * Carries checked write failures out of the transaction callback.
+     */
+    private static class NestedWriteException extends RuntimeException {
+        NestedWriteException(Exception cause) {
+            super(cause);
+        }
+    }
+}
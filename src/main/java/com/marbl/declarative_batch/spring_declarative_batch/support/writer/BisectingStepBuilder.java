@@ -0,0 +1,21 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.writer;
+
+import org.springframework.batch.core.step.builder.FaultTolerantStepBuilder;
+import org.springframework.batch.core.step.builder.SimpleStepBuilder;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+
+/**
+ * Fault tolerant step builder exposing the chunk contribution to the {@link BisectingItemWriter}
+ * of the step, which counts its write skips there.
+ */
+public class BisectingStepBuilder<I, O> extends FaultTolerantStepBuilder<I, O> {
+
+    public BisectingStepBuilder(SimpleStepBuilder<I, O> parent) {
+        super(parent);
+    }
+
+    @Override
+    protected Tasklet createTasklet() {
+        return BisectingItemWriter.bindContribution(super.createTasklet());
+    }
+}
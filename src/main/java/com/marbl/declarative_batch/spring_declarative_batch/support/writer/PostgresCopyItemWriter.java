@@ -0,0 +1,257 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.writer;
+
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.writer.PostgresCopyWriterConfig.CopyFormat;
+import lombok.AccessLevel;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.file.transform.FieldExtractor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.util.Assert;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.UUID;
+
+/**
+ * {@link ItemWriter} loading each chunk into a PostgreSQL table with {@code COPY ... FROM STDIN}.
+ *
+ * <p>Rows are encoded into a small buffer flushed to the copy stream as it fills, so a chunk is never
+ * held in memory twice. The connection is obtained through {@link DataSourceUtils}: when the datasource
+ * is the one managed by the step transaction manager, the copy is part of the chunk transaction.</p>
+ *
+ * <p>{@link CopyFormat#BINARY} sends values in the PostgreSQL binary representation, which requires each
+ * Java type to match the column type exactly (e.g. {@link Integer} for {@code int4}, {@link Long} for
+ * {@code int8}, {@link LocalDateTime} for {@code timestamp}). Values of unsupported types, including
+ * {@link java.math.BigDecimal}, are rejected: use CSV for those tables.</p>
+ */
+@Slf4j
+@Setter
+public class PostgresCopyItemWriter<T> implements ItemWriter<T>, InitializingBean {
+
+    private static final int FLUSH_THRESHOLD = 64 * 1024;
+    private static final byte[] BINARY_SIGNATURE = {'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0};
+    private static final LocalDate POSTGRES_EPOCH_DATE = LocalDate.of(2000, 1, 1);
+    private static final LocalDateTime POSTGRES_EPOCH = POSTGRES_EPOCH_DATE.atStartOfDay();
+
+    private DataSource dataSource;
+    private String table;
+    private String[] columns;
+    private FieldExtractor<T> fieldExtractor;
+    private CopyFormat format = CopyFormat.CSV;
+
+    @Setter(AccessLevel.NONE)
+    private String copySql;
+
+    @Override
+    public void afterPropertiesSet() {
+        Assert.notNull(dataSource, "DataSource must be set");
+        Assert.hasText(table, "Table must be set");
+        Assert.notEmpty(columns, "Columns must be set");
+        Assert.notNull(fieldExtractor, "FieldExtractor must be set");
+
+        copySql = "COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH ("
+                + (format == CopyFormat.BINARY ? "FORMAT binary" : "FORMAT csv") + ")";
+        log.debug("Postgres COPY statement: {}", copySql);
+    }
+
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        Connection connection = DataSourceUtils.getConnection(dataSource);
+        try {
+            if (!DataSourceUtils.isConnectionTransactional(connection, dataSource)) {
+                log.debug("COPY into '{}' runs outside the chunk transaction", table);
+            }
+
+            CopyIn copyIn = connection.unwrap(PGConnection.class).getCopyAPI().copyIn(copySql);
+            try {
+                long rows = format == CopyFormat.BINARY ? writeBinary(copyIn, chunk) : writeCsv(copyIn, chunk);
+                log.debug("Copied {} rows into '{}'", rows, table);
+            } catch (Exception e) {
+                if (copyIn.isActive()) {
+                    try {
+                        copyIn.cancelCopy();
+                    } catch (SQLException cancelError) {
+                        // The failure of the copy stays the reported cause
+                        e.addSuppressed(cancelError);
+                    }
+                }
+                throw e;
+            }
+        } finally {
+            DataSourceUtils.releaseConnection(connection, dataSource);
+        }
+    }
+
+    // -------------------------
+    // CSV format
+    // -------------------------
+
+    private long writeCsv(CopyIn copyIn, Chunk<? extends T> chunk) throws SQLException {
+        StringBuilder buffer = new StringBuilder(FLUSH_THRESHOLD);
+        for (T item : chunk) {
+            Object[] values = extract(item);
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                appendCsvValue(buffer, values[i]);
+            }
+            buffer.append('\n');
+
+            if (buffer.length() >= FLUSH_THRESHOLD) {
+                flush(copyIn, buffer);
+            }
+        }
+        flush(copyIn, buffer);
+        return copyIn.endCopy();
+    }
+
+    /**
+     * Null is written unquoted (COPY CSV default), any other value is quoted so that
+     * empty strings, delimiters and line breaks are preserved. A {@code byte[]} is written in the
+     * {@code bytea} hex format ({@code \x0a1b...}).
+     */
+    private static void appendCsvValue(StringBuilder buffer, Object value) {
+        if (value == null) {
+            return;
+        }
+        String text = value instanceof byte[] bytes
+                ? "\\x" + HexFormat.of().formatHex(bytes)
+                : value.toString();
+        buffer.append('"');
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"') {
+                buffer.append('"');
+            }
+            buffer.append(c);
+        }
+        buffer.append('"');
+    }
+
+    private static void flush(CopyIn copyIn, StringBuilder buffer) throws SQLException {
+        if (buffer.isEmpty()) {
+            return;
+        }
+        byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+        copyIn.writeToCopy(bytes, 0, bytes.length);
+        buffer.setLength(0);
+    }
+
+    // -------------------------
+    // Binary format
+    // -------------------------
+
+    private long writeBinary(CopyIn copyIn, Chunk<? extends T> chunk) throws SQLException, IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(FLUSH_THRESHOLD + 1024);
+        DataOutputStream out = new DataOutputStream(bytes);
+
+        out.write(BINARY_SIGNATURE);
+        out.writeInt(0); // flags
+        out.writeInt(0); // header extension length
+
+        for (T item : chunk) {
+            Object[] values = extract(item);
+            out.writeShort(values.length);
+            for (Object value : values) {
+                writeBinaryValue(out, value);
+            }
+
+            if (bytes.size() >= FLUSH_THRESHOLD) {
+                flush(copyIn, bytes);
+            }
+        }
+
+        out.writeShort(-1); // trailer
+        flush(copyIn, bytes);
+        return copyIn.endCopy();
+    }
+
+    private void writeBinaryValue(DataOutputStream out, Object value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+        } else if (value instanceof String s) {
+            byte[] data = s.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(data.length);
+            out.write(data);
+        } else if (value instanceof Integer v) {
+            out.writeInt(4);
+            out.writeInt(v);
+        } else if (value instanceof Long v) {
+            out.writeInt(8);
+            out.writeLong(v);
+        } else if (value instanceof Short v) {
+            out.writeInt(2);
+            out.writeShort(v);
+        } else if (value instanceof Double v) {
+            out.writeInt(8);
+            out.writeDouble(v);
+        } else if (value instanceof Float v) {
+            out.writeInt(4);
+            out.writeFloat(v);
+        } else if (value instanceof Boolean v) {
+            out.writeInt(1);
+            out.writeByte(v ? 1 : 0);
+        } else if (value instanceof LocalDate v) {
+            out.writeInt(4);
+            out.writeInt((int) ChronoUnit.DAYS.between(POSTGRES_EPOCH_DATE, v));
+        } else if (value instanceof LocalDateTime v) {
+            out.writeInt(8);
+            out.writeLong(ChronoUnit.MICROS.between(POSTGRES_EPOCH, v));
+        } else if (value instanceof OffsetDateTime v) {
+            out.writeInt(8);
+            out.writeLong(ChronoUnit.MICROS.between(POSTGRES_EPOCH, v.withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime()));
+        } else if (value instanceof Instant v) {
+            out.writeInt(8);
+            out.writeLong(ChronoUnit.MICROS.between(POSTGRES_EPOCH, LocalDateTime.ofInstant(v, ZoneOffset.UTC)));
+        } else if (value instanceof UUID v) {
+            out.writeInt(16);
+            out.write(ByteBuffer.allocate(16).putLong(v.getMostSignificantBits()).putLong(v.getLeastSignificantBits()).array());
+        } else if (value instanceof byte[] v) {
+            out.writeInt(v.length);
+            out.write(v);
+        } else {
+            throw new IllegalArgumentException("Type " + value.getClass().getName()
+                    + " is not supported by binary COPY into '" + table + "', use CSV format");
+        }
+    }
+
+    private static void flush(CopyIn copyIn, ByteArrayOutputStream bytes) throws SQLException {
+        if (bytes.size() == 0) {
+            return;
+        }
+        copyIn.writeToCopy(bytes.toByteArray(), 0, bytes.size());
+        bytes.reset();
+    }
+
+    private Object[] extract(T item) {
+        Object[] values = fieldExtractor.extract(item);
+        if (values.length != columns.length) {
+            throw new IllegalArgumentException("Extracted " + values.length + " values for " + columns.length
+                    + " columns of '" + table + "'");
+        }
+        return values;
+    }
+}
@@ -0,0 +1,148 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.writer;
+
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.writer.PostgresCopyWriterConfig.CopyFormat;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.writer.StagingMergeWriterConfig.ClearMode;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.writer.StagingMergeWriterConfig.LoadMethod;
+import lombok.AccessLevel;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.file.transform.FieldExtractor;
+import org.springframework.beans.factory.InitializingBean;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.regex.Pattern;
+
+/**
+ * {@link ItemWriter} replacing row-by-row upserts with two set-based statements per chunk:
+ * the chunk is bulk-loaded into a staging table, then a single configurable
+ * {@code INSERT ... SELECT ... ON CONFLICT} / {@code MERGE} moves it into the target tables.
+ *
+ * <p>All statements must run on the same connection. When the datasource is not bound to the
+ * chunk transaction (i.e. it is not the one managed by the step transaction manager), each chunk
+ * is written in a local transaction on that datasource.</p>
+ *
+ * <p>Clearing the staging table with {@code TRUNCATE} or {@code DELETE} is only safe when a single chunk
+ * uses it at a time: {@code TRUNCATE} locks the table exclusively until the commit, and rows another
+ * transaction staged and committed would be merged again. Concurrent chunks need a staging table
+ * private to each transaction, see {@link #usesTransactionScopedStaging()}.</p>
+ */
+@Slf4j
+@Setter
+public class StagingMergeItemWriter<T> implements ItemWriter<T>, InitializingBean {
+
+    private static final Pattern TRANSACTION_SCOPED_DDL =
+            Pattern.compile("(?is).*\\bTEMP(ORARY)?\\b.*\\bON\\s+COMMIT\\s+(DROP|DELETE\\s+ROWS)\\b.*");
+
+    private DataSource dataSource;
+    private String stagingTable;
+    private String[] columns;
+    private String stagingDdl;
+    private String mergeSql;
+    private LoadMethod loadMethod = LoadMethod.COPY;
+    private CopyFormat copyFormat = CopyFormat.CSV;
+    private ClearMode clearMode = ClearMode.TRUNCATE;
+    private FieldExtractor<T> fieldExtractor;
+
+    @Setter(AccessLevel.NONE)
+    private JdbcTemplate jdbcTemplate;
+    @Setter(AccessLevel.NONE)
+    private TransactionTemplate localTransaction;
+    @Setter(AccessLevel.NONE)
+    private PostgresCopyItemWriter<T> copyWriter;
+    @Setter(AccessLevel.NONE)
+    private String insertSql;
+
+    @Override
+    public void afterPropertiesSet() {
+        Assert.notNull(dataSource, "DataSource must be set");
+        Assert.hasText(stagingTable, "Staging table must be set");
+        Assert.notEmpty(columns, "Columns must be set");
+        Assert.hasText(mergeSql, "Merge SQL must be set");
+        Assert.notNull(fieldExtractor, "FieldExtractor must be set");
+
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        localTransaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        if (loadMethod == LoadMethod.COPY) {
+            copyWriter = new PostgresCopyItemWriter<>();
+            copyWriter.setDataSource(dataSource);
+            copyWriter.setTable(stagingTable);
+            copyWriter.setColumns(columns);
+            copyWriter.setFormat(copyFormat);
+            copyWriter.setFieldExtractor(fieldExtractor);
+            copyWriter.afterPropertiesSet();
+        } else {
+            insertSql = "INSERT INTO " + stagingTable + " (" + String.join(", ", columns) + ") VALUES ("
+                    + String.join(", ", Collections.nCopies(columns.length, "?")) + ")";
+        }
+    }
+
+    /**
+     * Whether every transaction stages its chunk in a table of its own: the staging DDL creates a
+     * temporary table dropped or emptied on commit, and the writer does not clear it.
+     */
+    public boolean usesTransactionScopedStaging() {
+        return clearMode == ClearMode.NONE
+                && StringUtils.hasText(stagingDdl)
+                && TRANSACTION_SCOPED_DDL.matcher(stagingDdl).matches();
+    }
+
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        if (chunk.isEmpty()) {
+            return;
+        }
+
+        if (TransactionSynchronizationManager.hasResource(dataSource)) {
+            doWrite(chunk);
+            return;
+        }
+
+        log.debug("Datasource of staging table '{}' is not bound to the chunk transaction, using a local one", stagingTable);
+        localTransaction.executeWithoutResult(status -> {
+            try {
+                doWrite(chunk);
+            } catch (RuntimeException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new IllegalStateException("Failed to write chunk through staging table " + stagingTable, e);
+            }
+        });
+    }
+
+    private void doWrite(Chunk<? extends T> chunk) throws Exception {
+        if (StringUtils.hasText(stagingDdl)) {
+            jdbcTemplate.execute(stagingDdl);
+        }
+
+        switch (clearMode) {
+            case TRUNCATE -> jdbcTemplate.execute("TRUNCATE TABLE " + stagingTable);
+            case DELETE -> jdbcTemplate.update("DELETE FROM " + stagingTable);
+            case NONE -> { /* staging is empty at transaction start */ }
+        }
+
+        if (loadMethod == LoadMethod.COPY) {
+            copyWriter.write(chunk);
+        } else {
+            List<Object[]> rows = new ArrayList<>(chunk.size());
+            for (T item : chunk) {
+                rows.add(fieldExtractor.extract(item));
+            }
+            jdbcTemplate.batchUpdate(insertSql, rows);
+        }
+
+        int merged = jdbcTemplate.update(mergeSql);
+        log.debug("Merged {} rows of chunk ({} items) from staging table '{}'", merged, chunk.size(), stagingTable);
+    }
+}
@@ -0,0 +1,42 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.writer;
+
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.database.JdbcBatchItemWriter;
+import org.springframework.util.Assert;
+
+import java.util.List;
+
+/**
+ * {@link JdbcBatchItemWriter} sending the chunk in JDBC batches of at most {@code batchSize}
+ * statements, so the commit interval (chunk size) no longer dictates the size of a network batch.
+ * All sub-batches run in the chunk transaction.
+ */
+@Slf4j
+@Setter
+public class SubBatchJdbcBatchItemWriter<T> extends JdbcBatchItemWriter<T> {
+
+    private int batchSize;
+
+    @Override
+    public void afterPropertiesSet() {
+        super.afterPropertiesSet();
+        Assert.isTrue(batchSize > 0, "Batch size must be greater than zero");
+    }
+
+    @Override
+    public void write(Chunk<? extends T> chunk) throws Exception {
+        if (chunk.size() <= batchSize) {
+            super.write(chunk);
+            return;
+        }
+
+        List<? extends T> items = chunk.getItems();
+        for (int from = 0; from < items.size(); from += batchSize) {
+            List<? extends T> slice = items.subList(from, Math.min(from + batchSize, items.size()));
+            super.write(new Chunk<>(slice));
+        }
+        log.debug("Wrote {} items in JDBC batches of {}", items.size(), batchSize);
+    }
+}
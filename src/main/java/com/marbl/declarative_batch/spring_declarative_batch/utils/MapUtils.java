@@ -26,7 +26,7 @@ public class MapUtils {
     public static Object normalizeMapStructure(Object obj) {
         if (obj instanceof Map<?, ?> map) {
             // Check if all keys are numeric
-            if (map.keySet().stream().allMatch(k -> k.toString().matches("\\d+"))) {
+            if (!map.isEmpty() && map.keySet().stream().allMatch(k -> isIndex(k.toString()))) {
                 return map.entrySet().stream()
                         .sorted(Comparator.comparingInt(e -> Integer.parseInt(e.getKey().toString())))
                         .map(Map.Entry::getValue)
@@ -47,6 +47,19 @@ public class MapUtils {
         }
     }
 
+    private static boolean isIndex(String key) {
+        if (key.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < key.length(); i++) {
+            char c = key.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Converts a map or map-like object into a DTO of the specified type.
      *
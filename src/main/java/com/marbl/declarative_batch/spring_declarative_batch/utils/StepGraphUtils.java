@@ -0,0 +1,86 @@
+package com.marbl.declarative_batch.spring_declarative_batch.utils;
+
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.StepsConfig;
+import lombok.AccessLevel;
+import lombok.NoArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@NoArgsConstructor(access = AccessLevel.PRIVATE)
+public class StepGraphUtils {
+
+    /**
+     * Returns true when at least one step declares 'dependsOn', i.e. the job is modelled as a DAG.
+     */
+    public static boolean hasDependencies(List<StepsConfig> steps) {
+        return steps != null && steps.stream()
+                .anyMatch(step -> step.getDependsOn() != null && !step.getDependsOn().isEmpty());
+    }
+
+    /**
+     * Groups the steps by topological level: a step belongs to the level following the deepest of its
+     * dependencies, so all the steps of a level can run in parallel once the previous levels completed.
+     * Steps keep their declaration order inside a level.
+     *
+     * @throws IllegalArgumentException when a dependency is unknown or the dependencies form a cycle
+     */
+    public static List<List<StepsConfig>> topologicalLevels(List<StepsConfig> steps) {
+        Map<String, StepsConfig> byName = new LinkedHashMap<>();
+        for (StepsConfig step : steps) {
+            if (byName.put(step.getName(), step) != null) {
+                throw new IllegalArgumentException("Duplicate step name: " + step.getName());
+            }
+        }
+
+        Map<String, Integer> levels = new HashMap<>();
+        for (StepsConfig step : steps) {
+            resolveLevel(step, byName, levels, new ArrayList<>());
+        }
+
+        List<List<StepsConfig>> result = new ArrayList<>();
+        for (StepsConfig step : steps) {
+            int level = levels.get(step.getName());
+            while (result.size() <= level) {
+                result.add(new ArrayList<>());
+            }
+            result.get(level).add(step);
+        }
+        return result;
+    }
+
+    private static int resolveLevel(StepsConfig step, Map<String, StepsConfig> byName,
+                                    Map<String, Integer> levels, List<String> path) {
+        Integer known = levels.get(step.getName());
+        if (known != null) {
+            return known;
+        }
+        if (path.contains(step.getName())) {
+            path.add(step.getName());
+            log.error("Cyclic step dependencies: {}", String.join(" -> ", path));
+            throw new IllegalArgumentException("Cyclic step dependencies: " + String.join(" -> ", path));
+        }
+
+        path.add(step.getName());
+        int level = 0;
+        if (step.getDependsOn() != null) {
+            for (String dependency : step.getDependsOn()) {
+                StepsConfig dependencyStep = byName.get(dependency);
+                if (dependencyStep == null) {
+                    log.error("Step [{}] depends on unknown step [{}]", step.getName(), dependency);
+                    throw new IllegalArgumentException("Step '" + step.getName() + "' depends on unknown step: " + dependency);
+                }
+                level = Math.max(level, resolveLevel(dependencyStep, byName, levels, path) + 1);
+            }
+        }
+        path.remove(path.size() - 1);
+
+        levels.put(step.getName(), level);
+        return level;
+    }
+}
@@ -0,0 +1,88 @@
+package com.marbl.declarative_batch.spring_declarative_batch.builder.reader;
+
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.ComponentConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.reader.JdbcPagingReaderConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.support.partition.PartitionBounds;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.context.support.GenericApplicationContext;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class JdbcPagingReaderBuilderTest {
+
+    private static final String WHERE_CLAUSE = "status = 'ACTIVE'";
+
+    private EmbeddedDatabase dataSource;
+    private GenericApplicationContext context;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        context = new GenericApplicationContext();
+        context.registerBean("dataSources", Map.class, () -> Map.<String, DataSource>of("db", dataSource));
+        context.refresh();
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+        dataSource.shutdown();
+    }
+
+    @Test
+    void partitionReadersDoNotModifyTheSharedConfiguration() {
+        ComponentConfig config = pagingComponent();
+
+        String first = firstPageSql(JdbcPagingReaderBuilder.build(config, context, 10, partition(1, 100), null));
+        String second = firstPageSql(JdbcPagingReaderBuilder.build(config, context, 10, partition(101, 200), null));
+
+        assertEquals(1, occurrences(first, ":partition_min"), first);
+        assertEquals(1, occurrences(second, ":partition_min"), second);
+        assertEquals(1, occurrences(second, WHERE_CLAUSE), second);
+        assertEquals(WHERE_CLAUSE, config.getTypedConfig(JdbcPagingReaderConfig.class).getClause().getWhereClause());
+    }
+
+    private static ComponentConfig pagingComponent() {
+        ComponentConfig config = new ComponentConfig();
+        config.setName("reader");
+        config.setType("JdbcPagingItemReader");
+        config.setConfig(Map.of(
+                "datasource", "db",
+                "providerType", "H2",
+                "mappedClass", "org.springframework.jdbc.core.ColumnMapRowMapper",
+                "clause", Map.of(
+                        "selectClause", "SELECT id, status",
+                        "fromClause", "FROM items",
+                        "whereClause", WHERE_CLAUSE,
+                        "sortClause", List.of(Map.of("key", "id", "order", "ASCENDING")))));
+        return config;
+    }
+
+    private static ExecutionContext partition(long min, long max) {
+        ExecutionContext context = new ExecutionContext();
+        context.putString(PartitionBounds.COLUMN_KEY, "id");
+        context.putLong(PartitionBounds.MIN_VALUE_KEY, min);
+        context.putLong(PartitionBounds.MAX_VALUE_KEY, max);
+        return context;
+    }
+
+    private static String firstPageSql(ItemStreamReader<?> reader) {
+        return (String) ReflectionTestUtils.getField(reader, "firstPageSql");
+    }
+
+    private static int occurrences(String text, String token) {
+        return text.split(java.util.regex.Pattern.quote(token), -1).length - 1;
+    }
+}
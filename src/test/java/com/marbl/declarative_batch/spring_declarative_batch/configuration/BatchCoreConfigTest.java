@@ -0,0 +1,67 @@
+package com.marbl.declarative_batch.spring_declarative_batch.configuration;
+
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.BatchJobConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.ConcurrencyConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.ExecutionConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.StepsConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BatchCoreConfigTest {
+
+    @Test
+    void sequentialJobIsAcceptedWithResourcelessRepository() {
+        ExecutionConfig execution = new ExecutionConfig();
+        execution.setAsyncLaunch(true);
+
+        assertDoesNotThrow(() -> BatchCoreConfig.validateResourcelessUsage(execution,
+                job(step("a"), step("b", "a"), step("c", "b"))));
+    }
+
+    @Test
+    void concurrentLaunchesAreRejectedWithResourcelessRepository() {
+        ExecutionConfig execution = new ExecutionConfig();
+        execution.setAsyncLaunch(true);
+        execution.setLaunchThreads(2);
+
+        assertThrows(IllegalStateException.class,
+                () -> BatchCoreConfig.validateResourcelessUsage(execution, job(step("a"))));
+    }
+
+    @Test
+    void concurrentStepsAreRejectedWithResourcelessRepository() {
+        StepsConfig multiThreaded = step("a");
+        multiThreaded.setConcurrency(new ConcurrencyConfig());
+        StepsConfig partitioned = step("b");
+        partitioned.setType(StepsConfig.StepType.PARTITIONED);
+
+        assertThrows(IllegalStateException.class,
+                () -> BatchCoreConfig.validateResourcelessUsage(new ExecutionConfig(), job(multiThreaded)));
+        assertThrows(IllegalStateException.class,
+                () -> BatchCoreConfig.validateResourcelessUsage(new ExecutionConfig(), job(partitioned)));
+    }
+
+    @Test
+    void parallelDependenciesAreRejectedWithResourcelessRepository() {
+        assertThrows(IllegalStateException.class, () -> BatchCoreConfig.validateResourcelessUsage(new ExecutionConfig(),
+                job(step("a"), step("b", "a"), step("c", "a"))));
+    }
+
+    private static BatchJobConfig job(StepsConfig... steps) {
+        BatchJobConfig job = new BatchJobConfig();
+        job.setName("job");
+        job.setSteps(List.of(steps));
+        return job;
+    }
+
+    private static StepsConfig step(String name, String... dependsOn) {
+        StepsConfig step = new StepsConfig();
+        step.setName(name);
+        step.setDependsOn(dependsOn.length > 0 ? List.of(dependsOn) : null);
+        return step;
+    }
+}
@@ -0,0 +1,154 @@
+package com.marbl.declarative_batch.spring_declarative_batch.factory.job;
+
+import com.marbl.declarative_batch.spring_declarative_batch.annotation.BulkBatchTasklet;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.BatchJobConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.ExecutionConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.StepsConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.factory.executor.TaskExecutorFactory;
+import com.marbl.declarative_batch.spring_declarative_batch.support.registry.BulkBatchComponentRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.BatchStatus;
+import org.springframework.batch.core.Job;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.repository.JobExecutionAlreadyRunningException;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.ResourcelessJobRepository;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.step.tasklet.Tasklet;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.beans.factory.support.RootBeanDefinition;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.BrokenBarrierException;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchJobFactoryTest {
+
+    private static final List<String> events = Collections.synchronizedList(new ArrayList<>());
+
+    private final JobRepository jobRepository = new ResourcelessJobRepository();
+
+    private BulkBatchComponentRegistry registry;
+    private BatchJobFactory factory;
+
+    @BeforeEach
+    void setUp() {
+        events.clear();
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        registry = new BulkBatchComponentRegistry();
+        registry.setBeanFactory(beanFactory);
+        beanFactory.addBeanPostProcessor(registry);
+        beanFactory.registerBeanDefinition("noopTasklet", new RootBeanDefinition(NoopTasklet.class));
+        beanFactory.registerBeanDefinition("pairedTasklet", new RootBeanDefinition(PairedTasklet.class));
+        beanFactory.getBean("noopTasklet");
+        beanFactory.getBean("pairedTasklet");
+
+        factory = factory(List.of(taskletStep("noopStep", "noop")));
+    }
+
+    @Test
+    void registryLookupsDoNotMarkTheJobAsRunning() throws Exception {
+        Job compiled = factory.createJob();
+        factory.createJob();
+
+        assertSame(compiled, factory.acquireJob());
+    }
+
+    @Test
+    void compiledJobIsAvailableAgainOnceItsExecutionEnds() throws Exception {
+        Job job = factory.acquireJob();
+
+        JobExecution execution = jobRepository.createJobExecution(job.getName(), new JobParameters());
+        job.execute(execution);
+
+        assertEquals(BatchStatus.COMPLETED, execution.getStatus());
+        assertSame(job, factory.acquireJob());
+    }
+
+    @Test
+    void overlappingLaunchSharingSingletonComponentsIsRefused() throws Exception {
+        Job job = factory.acquireJob();
+
+        assertThrows(JobExecutionAlreadyRunningException.class, factory::acquireJob);
+
+        factory.release(job);
+        assertSame(job, factory.acquireJob());
+    }
+
+    @Test
+    void stepsOfALevelRunTogetherInASplit() throws Exception {
+        StepsConfig report = taskletStep("report", "noop");
+        report.setDependsOn(List.of("extractOrders", "extractCustomers"));
+        BatchJobFactory dependencyFactory = factory(List.of(
+                taskletStep("extractOrders", "paired"),
+                taskletStep("extractCustomers", "paired"),
+                report));
+
+        Job job = dependencyFactory.acquireJob();
+        JobExecution execution = jobRepository.createJobExecution(job.getName(), new JobParameters());
+        job.execute(execution);
+
+        // Each step of the first level waits for the other one: run one after the other, they would time out
+        assertEquals(BatchStatus.COMPLETED, execution.getStatus());
+        assertEquals(5, events.size(), events.toString());
+        assertTrue(events.subList(0, 2).containsAll(List.of("start:extractOrders", "start:extractCustomers")), events.toString());
+        assertEquals("start:report", events.get(4));
+    }
+
+    private BatchJobFactory factory(List<StepsConfig> steps) {
+        BatchJobConfig jobConfig = new BatchJobConfig();
+        jobConfig.setName("testJob");
+        jobConfig.setSteps(steps);
+
+        return new BatchJobFactory(jobConfig, jobRepository, null, null, registry, null,
+                new ResourcelessTransactionManager(), new TaskExecutorFactory(new ExecutionConfig()));
+    }
+
+    private static StepsConfig taskletStep(String name, String tasklet) {
+        StepsConfig step = new StepsConfig();
+        step.setName(name);
+        step.setType(StepsConfig.StepType.TASKLET);
+        step.setTasklet(tasklet);
+        return step;
+    }
+
+    @BulkBatchTasklet(name = "noop")
+    static class NoopTasklet implements Tasklet {
+
+        @Override
+        public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext) {
+            events.add("start:" + chunkContext.getStepContext().getStepName());
+            return RepeatStatus.FINISHED;
+        }
+    }
+
+    @BulkBatchTasklet(name = "paired")
+    static class PairedTasklet implements Tasklet {
+
+        private final CyclicBarrier barrier = new CyclicBarrier(2);
+
+        @Override
+        public RepeatStatus execute(StepContribution contribution, ChunkContext chunkContext)
+                throws InterruptedException, BrokenBarrierException, TimeoutException {
+            String stepName = chunkContext.getStepContext().getStepName();
+            events.add("start:" + stepName);
+            barrier.await(5, TimeUnit.SECONDS);
+            events.add("end:" + stepName);
+            return RepeatStatus.FINISHED;
+        }
+    }
+}
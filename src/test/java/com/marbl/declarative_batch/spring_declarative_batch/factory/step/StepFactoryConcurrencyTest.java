@@ -0,0 +1,82 @@
+package com.marbl.declarative_batch.spring_declarative_batch.factory.step;
+
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.ConcurrencyConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.StepsConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.writer.StagingMergeWriterConfig.ClearMode;
+import com.marbl.declarative_batch.spring_declarative_batch.exception.InvalidBeanException;
+import com.marbl.declarative_batch.spring_declarative_batch.support.writer.StagingMergeItemWriter;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ItemReader;
+import org.springframework.batch.item.database.JdbcPagingItemReader;
+import org.springframework.batch.item.file.FlatFileItemReader;
+import org.springframework.batch.item.support.SynchronizedItemStreamReader;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class StepFactoryConcurrencyTest {
+
+    @Test
+    void pagingReaderIsNotWrappedButStopsSavingState() {
+        JdbcPagingItemReader<Object> reader = new JdbcPagingItemReader<>();
+
+        ItemReader<Object> guarded = StepFactory.guardReaderForConcurrency(reader, config(ConcurrencyConfig.ReaderPolicy.REJECT));
+
+        assertSame(reader, guarded);
+        assertFalse(reader.isSaveState());
+    }
+
+    @Test
+    void fileReaderIsSynchronizedAndStopsSavingState() {
+        FlatFileItemReader<Object> reader = new FlatFileItemReader<>();
+
+        ItemReader<Object> guarded = StepFactory.guardReaderForConcurrency(reader, config(ConcurrencyConfig.ReaderPolicy.SYNCHRONIZE));
+
+        assertInstanceOf(SynchronizedItemStreamReader.class, guarded);
+        assertFalse(reader.isSaveState());
+    }
+
+    @Test
+    void fileReaderIsRejectedWhenSynchronizationIsNotAllowed() {
+        FlatFileItemReader<Object> reader = new FlatFileItemReader<>();
+
+        assertThrows(InvalidBeanException.class,
+                () -> StepFactory.guardReaderForConcurrency(reader, config(ConcurrencyConfig.ReaderPolicy.REJECT)));
+    }
+
+    @Test
+    void stagingWriterClearingASharedTableIsRejected() {
+        StagingMergeItemWriter<Object> writer = stagingWriter(ClearMode.TRUNCATE, null);
+
+        assertThrows(InvalidBeanException.class,
+                () -> StepFactory.validateConcurrentWriter(writer, config(ConcurrencyConfig.ReaderPolicy.REJECT)));
+    }
+
+    @Test
+    void stagingWriterWithTransactionScopedTempTableIsAccepted() {
+        StagingMergeItemWriter<Object> writer = stagingWriter(ClearMode.NONE,
+                "CREATE TEMP TABLE IF NOT EXISTS stg (id INT) ON COMMIT DROP");
+
+        assertDoesNotThrow(() -> StepFactory.validateConcurrentWriter(writer, config(ConcurrencyConfig.ReaderPolicy.REJECT)));
+    }
+
+    private static StagingMergeItemWriter<Object> stagingWriter(ClearMode clearMode, String stagingDdl) {
+        StagingMergeItemWriter<Object> writer = new StagingMergeItemWriter<>();
+        writer.setClearMode(clearMode);
+        writer.setStagingDdl(stagingDdl);
+        return writer;
+    }
+
+    private static StepsConfig config(ConcurrencyConfig.ReaderPolicy readerPolicy) {
+        ConcurrencyConfig concurrency = new ConcurrencyConfig();
+        concurrency.setReaderPolicy(readerPolicy);
+
+        StepsConfig config = new StepsConfig();
+        config.setName("concurrentStep");
+        config.setConcurrency(concurrency);
+        return config;
+    }
+}
@@ -0,0 +1,130 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.chunk;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.ChunkListener;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.StepExecutionListener;
+import org.springframework.batch.core.repository.support.ResourcelessJobRepository;
+import org.springframework.batch.core.scope.context.ChunkContext;
+import org.springframework.batch.core.scope.context.StepContext;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.core.step.tasklet.TaskletStep;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.support.ListItemReader;
+import org.springframework.batch.support.transaction.ResourcelessTransactionManager;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+class AdaptiveCompletionPolicyTest {
+
+    @Test
+    void sizeSavedWithEachChunkIsTheOneChosenAfterIt() throws Exception {
+        AdaptiveCompletionPolicy policy = new AdaptiveCompletionPolicy(2, 1, 64, 60_000);
+        List<Integer> saved = new ArrayList<>();
+        List<Integer> chosen = new ArrayList<>();
+
+        ResourcelessJobRepository jobRepository = new ResourcelessJobRepository() {
+            @Override
+            public void updateExecutionContext(StepExecution stepExecution) {
+                ExecutionContext context = stepExecution.getExecutionContext();
+                if (context.containsKey(AdaptiveCompletionPolicy.CHUNK_SIZE_KEY)) {
+                    saved.add(context.getInt(AdaptiveCompletionPolicy.CHUNK_SIZE_KEY));
+                }
+            }
+        };
+        TaskletStep step = new StepBuilder("adaptiveStep", jobRepository)
+                .<Integer, Integer>chunk(policy, new ResourcelessTransactionManager())
+                .reader(new ListItemReader<>(IntStream.range(0, 30).boxed().toList()))
+                .writer(chunk -> {
+                })
+                .listener((StepExecutionListener) policy)
+                .listener((ChunkListener) policy)
+                .listener(new ChunkListener() {
+                    @Override
+                    public void afterChunk(ChunkContext context) {
+                        chosen.add(policy.getChunkSize(context.getStepContext().getStepExecution()));
+                    }
+                })
+                .stream(policy)
+                .build();
+
+        JobExecution jobExecution = jobRepository.createJobExecution("adaptiveJob", new JobParameters());
+        StepExecution stepExecution = jobExecution.createStepExecution(step.getName());
+        step.execute(stepExecution);
+
+        // Chunks far below the target latency double in size: 2, 4, 8, 16
+        assertEquals(List.of(4, 8, 16, 32, 64), chosen);
+        // First save happens when the step opens, then one per chunk before its commit
+        assertEquals(2, saved.get(0));
+        assertEquals(chosen, saved.subList(1, 1 + chosen.size()));
+    }
+
+    @Test
+    void failedChunkKeepsTheSizeItStartedWith() {
+        AdaptiveCompletionPolicy policy = new AdaptiveCompletionPolicy(10, 1, 100, 60_000);
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+        policy.beforeStep(stepExecution);
+
+        ChunkContext chunkContext = new ChunkContext(new StepContext(stepExecution));
+        policy.beforeChunk(chunkContext);
+        stepExecution.setReadCount(10);
+        policy.update(new ExecutionContext());
+        policy.afterChunkError(chunkContext);
+
+        assertEquals(10, policy.getChunkSize(stepExecution));
+    }
+
+    @Test
+    void interleavedStepExecutionsAdaptIndependently() throws Exception {
+        AdaptiveCompletionPolicy policy = new AdaptiveCompletionPolicy(10, 1, 100, 60_000);
+        StepExecution fast = MetaDataInstanceFactory.createStepExecution("partition0", 1L);
+        StepExecution restarted = MetaDataInstanceFactory.createStepExecution("partition1", 2L);
+        restarted.getExecutionContext().putInt(AdaptiveCompletionPolicy.CHUNK_SIZE_KEY, 3);
+
+        policy.beforeStep(fast);
+        ChunkContext fastChunk = new ChunkContext(new StepContext(fast));
+        policy.beforeChunk(fastChunk);
+        fast.setReadCount(10);
+
+        // The second partition starts while the first one is in the middle of its chunk
+        policy.beforeStep(restarted);
+
+        ExecutionContext fastContext = new ExecutionContext();
+        policy.update(fastContext);
+        policy.afterChunk(fastChunk);
+
+        assertEquals(20, fastContext.getInt(AdaptiveCompletionPolicy.CHUNK_SIZE_KEY));
+        assertEquals(20, policy.getChunkSize(fast));
+        assertEquals(3, policy.getChunkSize(restarted));
+
+        ChunkContext restartedChunk = new ChunkContext(new StepContext(restarted));
+        policy.beforeChunk(restartedChunk);
+        restarted.setReadCount(3);
+        ExecutionContext restartedContext = new ExecutionContext();
+        policy.update(restartedContext);
+        policy.afterChunk(restartedChunk);
+
+        assertEquals(6, restartedContext.getInt(AdaptiveCompletionPolicy.CHUNK_SIZE_KEY));
+        assertEquals(20, policy.getChunkSize(fast));
+        assertEquals(6, policy.getChunkSize(restarted));
+    }
+
+    @Test
+    void updateOutsideChunkStoresCurrentSize() {
+        AdaptiveCompletionPolicy policy = new AdaptiveCompletionPolicy(10, 1, 100, 60_000);
+        ExecutionContext executionContext = new ExecutionContext();
+
+        policy.update(executionContext);
+
+        assertEquals(10, executionContext.getInt(AdaptiveCompletionPolicy.CHUNK_SIZE_KEY));
+        assertFalse(executionContext.containsKey(AdaptiveCompletionPolicy.LATENCY_KEY));
+    }
+}
@@ -0,0 +1,89 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.mapping;
+
+import lombok.Data;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.file.mapping.BeanWrapperFieldSetMapper;
+import org.springframework.batch.item.file.transform.DefaultFieldSet;
+import org.springframework.batch.item.file.transform.FieldSet;
+
+import java.math.BigDecimal;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class GeneratedFieldSetMapperTest {
+
+    private static final String[] NAMES = {"name", "count", "quantity", "amount", "active", "status", "code", "note"};
+
+    @Test
+    void paddedValuesAreMappedLikeBeanWrapper() throws Exception {
+        FieldSet fieldSet = new DefaultFieldSet(
+                new String[]{"  Alice  ", " 42 ", " 7", " 12.50 ", " yes ", " ACTIVE ", " x ", "  "}, NAMES);
+
+        Row expected = beanWrapper(fieldSet);
+        Row actual = generated(fieldSet);
+
+        assertEquals(expected, actual);
+        assertEquals("Alice", actual.getName());
+        assertEquals("", actual.getNote());
+    }
+
+    @Test
+    void emptyValuesAreMappedLikeBeanWrapper() throws Exception {
+        FieldSet fieldSet = new DefaultFieldSet(new String[]{"", "", "3", "", "", "", "", ""}, NAMES);
+
+        Row expected = beanWrapper(fieldSet);
+        Row actual = generated(fieldSet);
+
+        assertEquals(expected, actual);
+        assertNull(actual.getCount());
+    }
+
+    @Test
+    void nullValuesLeaveDefaultsLikeBeanWrapper() throws Exception {
+        FieldSet fieldSet = new DefaultFieldSet(
+                new String[]{null, "1", null, "2", "no", "CLOSED", "y", null}, NAMES);
+
+        Row expected = beanWrapper(fieldSet);
+        Row actual = generated(fieldSet);
+
+        assertEquals(expected, actual);
+        assertEquals("unknown", actual.getName());
+        assertEquals(-1, actual.getQuantity());
+    }
+
+    @Test
+    void emptyPrimitiveIsRejected() {
+        FieldSet fieldSet = new DefaultFieldSet(new String[]{"a", "1", " ", "1", "true", "ACTIVE", "c", "n"}, NAMES);
+
+        assertThrows(IllegalArgumentException.class, () -> generated(fieldSet));
+    }
+
+    private static Row generated(FieldSet fieldSet) throws Exception {
+        return GeneratedFieldSetMapper.create(Row.class, NAMES).mapFieldSet(fieldSet);
+    }
+
+    private static Row beanWrapper(FieldSet fieldSet) throws Exception {
+        BeanWrapperFieldSetMapper<Row> mapper = new BeanWrapperFieldSetMapper<>();
+        mapper.setTargetType(Row.class);
+        mapper.afterPropertiesSet();
+        return mapper.mapFieldSet(fieldSet);
+    }
+
+    public enum Status {
+        ACTIVE, CLOSED
+    }
+
+    @Data
+    public static class Row {
+        private String name = "unknown";
+        private Integer count;
+        private int quantity = -1;
+        private BigDecimal amount;
+        private Boolean active;
+        private Status status;
+        private Character code;
+        private String note;
+    }
+}
@@ -0,0 +1,108 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.paging;
+
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.reader.JdbcPagingReaderConfig;
+import com.marbl.declarative_batch.spring_declarative_batch.enums.PagingProviderType;
+import com.marbl.declarative_batch.spring_declarative_batch.model.PagingSqlModel;
+import com.marbl.declarative_batch.spring_declarative_batch.model.SortKey;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.PagingQueryProvider;
+import org.springframework.jdbc.datasource.SimpleDriverDataSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KeysetPagingQueryProviderTest {
+
+    @Test
+    void singleSortKeyKeepsDelegateQueries() throws Exception {
+        PagingQueryProvider provider = provider(null, null, new SortKey("id", Order.ASCENDING));
+
+        assertEquals("SELECT id, region, created FROM orders ORDER BY id ASC LIMIT 100",
+                provider.generateFirstPageQuery(100));
+        assertEquals("SELECT id, region, created FROM orders WHERE ((id > ?)) ORDER BY id ASC LIMIT 100",
+                provider.generateRemainingPagesQuery(100));
+        assertFalse(provider.isUsingNamedParameters());
+        assertEquals("?", provider.getSortKeyPlaceHolder("id"));
+    }
+
+    @Test
+    void tiebreakerIsAppendedWithDirectionOfLastKey() throws Exception {
+        PagingQueryProvider provider = provider("status = :status", "id", new SortKey("created", Order.DESCENDING));
+
+        assertEquals(List.of("created", "id"), List.copyOf(provider.getSortKeys().keySet()));
+        assertEquals("SELECT id, region, created FROM orders WHERE status = :status"
+                        + " ORDER BY created DESC, id DESC LIMIT 100",
+                provider.generateFirstPageQuery(100));
+        assertEquals("SELECT id, region, created FROM orders WHERE (status = :status)"
+                        + " AND ((created, id) < (:_created, :_id)) ORDER BY created DESC, id DESC LIMIT 100",
+                provider.generateRemainingPagesQuery(100));
+        assertTrue(provider.isUsingNamedParameters());
+        assertEquals(":_id", provider.getSortKeyPlaceHolder("id"));
+    }
+
+    @Test
+    void tiebreakerAlreadyInSortKeysIsNotRepeated() throws Exception {
+        PagingQueryProvider provider = provider(null, "id",
+                new SortKey("id", Order.ASCENDING), new SortKey("created", Order.ASCENDING));
+
+        assertEquals(List.of("id", "created"), List.copyOf(provider.getSortKeys().keySet()));
+    }
+
+    @Test
+    void severalSortKeysUseRowValueComparison() throws Exception {
+        PagingQueryProvider provider = provider(null, "o.id",
+                new SortKey("o.region", Order.ASCENDING), new SortKey("o.created", Order.ASCENDING));
+
+        assertInstanceOf(KeysetPagingQueryProvider.class, provider);
+        assertEquals("SELECT id, region, created FROM orders ORDER BY o.region ASC, o.created ASC, o.id ASC LIMIT 100",
+                provider.generateFirstPageQuery(100));
+        assertEquals("SELECT id, region, created FROM orders"
+                        + " WHERE ((o.region, o.created, o.id) > (:_o.region, :_o.created, :_o.id))"
+                        + " ORDER BY o.region ASC, o.created ASC, o.id ASC LIMIT 100",
+                provider.generateRemainingPagesQuery(100));
+    }
+
+    @Test
+    void mixedDirectionsKeepExpandedCondition() throws Exception {
+        PagingQueryProvider provider = provider(null, "id",
+                new SortKey("region", Order.ASCENDING), new SortKey("created", Order.DESCENDING));
+
+        assertEquals("SELECT id, region, created FROM orders"
+                        + " WHERE ((region > ?) OR (region = ? AND created < ?) OR (region = ? AND created = ? AND id < ?))"
+                        + " ORDER BY region ASC, created DESC, id DESC LIMIT 100",
+                provider.generateRemainingPagesQuery(100));
+        assertFalse(provider.isUsingNamedParameters());
+    }
+
+    @Test
+    void positionalParametersKeepExpandedCondition() throws Exception {
+        PagingQueryProvider provider = provider("status = ?", "id", new SortKey("created", Order.ASCENDING));
+
+        assertEquals("SELECT id, region, created FROM orders WHERE (status = ?)"
+                        + " AND ((created > ?) OR (created = ? AND id > ?)) ORDER BY created ASC, id ASC LIMIT 100",
+                provider.generateRemainingPagesQuery(100));
+        assertEquals("?", provider.getSortKeyPlaceHolder("id"));
+    }
+
+    private static PagingQueryProvider provider(String whereClause, String uniqueKey, SortKey... sortKeys) throws Exception {
+        PagingSqlModel clause = new PagingSqlModel();
+        clause.setSelectClause("id, region, created");
+        clause.setFromClause("orders");
+        clause.setWhereClause(whereClause);
+        clause.setSortClause(List.of(sortKeys));
+        clause.setUniqueKey(uniqueKey);
+
+        JdbcPagingReaderConfig config = new JdbcPagingReaderConfig();
+        config.setProviderType(PagingProviderType.POSTGRESQL);
+        config.setClause(clause);
+
+        PagingQueryProvider provider = config.getProviderType().create(config);
+        provider.init(new SimpleDriverDataSource());
+        return provider;
+    }
+}
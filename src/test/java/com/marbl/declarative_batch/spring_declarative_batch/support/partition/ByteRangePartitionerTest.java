@@ -0,0 +1,125 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.partition;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.core.io.FileSystemResource;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ByteRangePartitionerTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void boundariesAreAlignedToLineStarts() throws Exception {
+        StringBuilder content = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            content.append("line-").append(i).append(",").append("x".repeat(i % 13)).append('\n');
+        }
+        byte[] bytes = content.toString().getBytes(StandardCharsets.UTF_8);
+        Path file = write(bytes);
+
+        List<long[]> ranges = partition(file, 4);
+
+        assertEquals(4, ranges.size());
+        for (long[] range : ranges) {
+            assertTrue(range[0] == 0 || bytes[(int) range[0] - 1] == '\n', "range starts mid-line at " + range[0]);
+        }
+        assertContiguous(ranges, bytes.length);
+        assertEquals(content.toString(), slices(bytes, ranges));
+    }
+
+    @Test
+    void lastPartitionEndsAtFileSizeWithoutTrailingLineFeed() throws Exception {
+        byte[] bytes = "a,1\nb,2\nc,3\nd,4\ne,5".getBytes(StandardCharsets.UTF_8);
+        Path file = write(bytes);
+
+        List<long[]> ranges = partition(file, 3);
+
+        assertEquals(bytes.length, ranges.get(ranges.size() - 1)[1]);
+        assertContiguous(ranges, bytes.length);
+        assertEquals(new String(bytes, StandardCharsets.UTF_8), slices(bytes, ranges));
+    }
+
+    @Test
+    void fileSmallerThanGridSizeHasNoEmptyPartitions() throws Exception {
+        byte[] bytes = "a\nb\n".getBytes(StandardCharsets.UTF_8);
+        Path file = write(bytes);
+
+        List<long[]> ranges = partition(file, 8);
+
+        assertTrue(ranges.size() <= 2, "partitions: " + ranges.size());
+        ranges.forEach(range -> assertTrue(range[1] > range[0]));
+        assertContiguous(ranges, bytes.length);
+        assertEquals("a\nb\n", slices(bytes, ranges));
+    }
+
+    @Test
+    void longLineSpanningSeveralBoundariesStaysInOnePartition() throws Exception {
+        String content = "short\n" + "y".repeat(200) + "\nend\n";
+        byte[] bytes = content.getBytes(StandardCharsets.UTF_8);
+        Path file = write(bytes);
+
+        List<long[]> ranges = partition(file, 4);
+
+        ranges.forEach(range -> assertTrue(range[1] > range[0]));
+        assertContiguous(ranges, bytes.length);
+        assertEquals(content, slices(bytes, ranges));
+    }
+
+    @Test
+    void emptyFileHasNoPartitions() throws Exception {
+        Path file = write(new byte[0]);
+
+        assertTrue(partition(file, 4).isEmpty());
+    }
+
+    private Path write(byte[] bytes) throws Exception {
+        Path file = dir.resolve("input.csv");
+        Files.write(file, bytes);
+        return file;
+    }
+
+    /**
+     * Start and end offsets of every partition, by start offset.
+     */
+    private static List<long[]> partition(Path file, int gridSize) throws Exception {
+        FileSystemResource resource = new FileSystemResource(file);
+        Map<String, ExecutionContext> partitions = new ByteRangePartitioner(resource).partition(gridSize);
+        List<long[]> ranges = new ArrayList<>();
+        for (ExecutionContext context : partitions.values()) {
+            assertEquals(resource.getURL().toExternalForm(), context.getString(ByteRangePartitioner.FILE_NAME_KEY));
+            ranges.add(new long[]{context.getLong(ByteRangePartitioner.START_KEY), context.getLong(ByteRangePartitioner.END_KEY)});
+        }
+        ranges.sort(Comparator.comparingLong(range -> range[0]));
+        return ranges;
+    }
+
+    private static void assertContiguous(List<long[]> ranges, long size) {
+        long expectedStart = 0;
+        for (long[] range : ranges) {
+            assertEquals(expectedStart, range[0]);
+            expectedStart = range[1];
+        }
+        assertEquals(size, expectedStart);
+    }
+
+    private static String slices(byte[] bytes, List<long[]> ranges) {
+        StringBuilder content = new StringBuilder();
+        for (long[] range : ranges) {
+            content.append(new String(bytes, (int) range[0], (int) (range[1] - range[0]), StandardCharsets.UTF_8));
+        }
+        return content.toString();
+    }
+}
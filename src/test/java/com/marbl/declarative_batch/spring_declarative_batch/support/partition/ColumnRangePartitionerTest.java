@@ -0,0 +1,130 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.partition;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ColumnRangePartitionerTest {
+
+    private EmbeddedDatabase dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    void everyRowBelongsToExactlyOnePartition() {
+        jdbcTemplate.execute("CREATE TABLE items (id INT)");
+        for (int id = 3; id <= 101; id += 7) {
+            jdbcTemplate.update("INSERT INTO items VALUES (?)", id);
+        }
+
+        Map<String, ExecutionContext> partitions = new ColumnRangePartitioner(dataSource, "items", "id").partition(4);
+
+        List<long[]> ranges = ranges(partitions);
+        assertEquals(4, ranges.size());
+        assertContiguous(ranges, 3, 101);
+        int total = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM items", Integer.class);
+        assertEquals(total, partitions.values().stream().mapToInt(this::countRows).sum());
+    }
+
+    @Test
+    void fullLongIntervalDoesNotOverflow() {
+        jdbcTemplate.execute("CREATE TABLE items (id BIGINT)");
+        jdbcTemplate.update("INSERT INTO items VALUES (?), (?), (?)", Long.MIN_VALUE, 0L, Long.MAX_VALUE);
+
+        for (int gridSize : new int[]{1, 3}) {
+            List<long[]> ranges = ranges(new ColumnRangePartitioner(dataSource, "items", "id").partition(gridSize));
+
+            assertEquals(gridSize, ranges.size());
+            assertContiguous(ranges, Long.MIN_VALUE, Long.MAX_VALUE);
+        }
+    }
+
+    @Test
+    void gridLargerThanTheIntervalCreatesOnePartitionPerValue() {
+        jdbcTemplate.execute("CREATE TABLE items (id NUMERIC(12, 0))");
+        jdbcTemplate.update("INSERT INTO items VALUES (5), (6)");
+
+        List<long[]> ranges = ranges(new ColumnRangePartitioner(dataSource, "items", "id").partition(10));
+
+        assertEquals(2, ranges.size());
+        assertContiguous(ranges, 5, 6);
+    }
+
+    @Test
+    void emptyTableCreatesNoPartition() {
+        jdbcTemplate.execute("CREATE TABLE items (id INT)");
+
+        assertTrue(new ColumnRangePartitioner(dataSource, "items", "id").partition(4).isEmpty());
+    }
+
+    @Test
+    void nonIntegralColumnsAreRejected() {
+        jdbcTemplate.execute("CREATE TABLE items (amount DECIMAL(10, 2), ratio DOUBLE PRECISION)");
+        jdbcTemplate.update("INSERT INTO items VALUES (1.50, 0.25), (9.75, 0.5)");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> new ColumnRangePartitioner(dataSource, "items", "amount").partition(2));
+        assertThrows(IllegalArgumentException.class,
+                () -> new ColumnRangePartitioner(dataSource, "items", "ratio").partition(2));
+    }
+
+    @Test
+    void valuesBeyondTheLongRangeAreRejected() {
+        jdbcTemplate.execute("CREATE TABLE items (id NUMERIC(30, 0))");
+        jdbcTemplate.update("INSERT INTO items VALUES (1), (100000000000000000000)");
+
+        assertThrows(IllegalStateException.class,
+                () -> new ColumnRangePartitioner(dataSource, "items", "id").partition(2));
+    }
+
+    private int countRows(ExecutionContext context) {
+        PartitionBounds bounds = PartitionBounds.from(context);
+        return new NamedParameterJdbcTemplate(dataSource).queryForObject(
+                "SELECT COUNT(*) FROM items WHERE " + bounds.namedPredicate(), bounds.namedParameters(), Integer.class);
+    }
+
+    private static List<long[]> ranges(Map<String, ExecutionContext> partitions) {
+        List<long[]> ranges = new ArrayList<>();
+        for (ExecutionContext context : partitions.values()) {
+            ranges.add(new long[]{context.getLong(PartitionBounds.MIN_VALUE_KEY), context.getLong(PartitionBounds.MAX_VALUE_KEY)});
+        }
+        ranges.sort(Comparator.comparingLong(range -> range[0]));
+        return ranges;
+    }
+
+    private static void assertContiguous(List<long[]> ranges, long min, long max) {
+        assertEquals(min, ranges.get(0)[0]);
+        for (int i = 0; i < ranges.size(); i++) {
+            assertTrue(ranges.get(i)[0] <= ranges.get(i)[1], "empty range at " + i);
+            if (i > 0) {
+                assertEquals(ranges.get(i - 1)[1] + 1, ranges.get(i)[0], "gap or overlap at " + i);
+            }
+        }
+        assertEquals(max, ranges.get(ranges.size() - 1)[1]);
+    }
+}
@@ -0,0 +1,68 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.partition;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HashPartitionerTest {
+
+    private EmbeddedDatabase dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE items (id BIGINT)");
+        for (long id = -20; id <= 20; id++) {
+            jdbcTemplate.update("INSERT INTO items VALUES (?)", id * 7);
+        }
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    void everyRowIncludingNegativeKeysBelongsToExactlyOnePartition() {
+        Map<String, ExecutionContext> partitions = new HashPartitioner("id").partition(3);
+
+        assertEquals(3, partitions.size());
+        List<Long> assigned = new ArrayList<>();
+        for (int index = 0; index < 3; index++) {
+            ExecutionContext context = partitions.get("partition" + index);
+            assertEquals(index, context.getLong(PartitionBounds.INDEX_KEY));
+            assertEquals(3, context.getLong(PartitionBounds.GRID_SIZE_KEY));
+
+            PartitionBounds bounds = PartitionBounds.from(context);
+            assigned.addAll(new NamedParameterJdbcTemplate(dataSource).queryForList(
+                    "SELECT id FROM items WHERE " + bounds.namedPredicate(), bounds.namedParameters(), Long.class));
+        }
+
+        assertEquals(41, assigned.size());
+        assertEquals(41, assigned.stream().distinct().count());
+    }
+
+    @Test
+    void cursorQueryIsWrappedWithThePartitionFilter() {
+        PartitionBounds bounds = PartitionBounds.from(new HashPartitioner("i.id").partition(2).get("partition1"));
+
+        List<Long> ids = new JdbcTemplate(dataSource).queryForList(
+                bounds.wrapQuery("SELECT i.id FROM items i;"), Long.class, bounds.positionalParameters());
+
+        assertEquals(20, ids.size());
+        ids.forEach(id -> assertEquals(1, Math.abs(id) % 2));
+    }
+}
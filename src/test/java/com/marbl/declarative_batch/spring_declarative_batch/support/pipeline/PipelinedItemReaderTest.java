@@ -0,0 +1,98 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.pipeline;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.ItemStreamReader;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.SyncTaskExecutor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PipelinedItemReaderTest {
+
+    @Test
+    void itemsAreProcessedInReadOrder() throws Exception {
+        BlockingReader delegate = new BlockingReader(6, false);
+        PipelinedItemReader<Integer, Integer> reader = new PipelinedItemReader<>("numbers", delegate,
+                item -> item % 3 == 0 ? null : item * 10,
+                new SimpleAsyncTaskExecutor(), new SimpleAsyncTaskExecutor(), 2);
+
+        reader.open(new ExecutionContext());
+        List<Integer> items = new ArrayList<>();
+        Integer item;
+        while ((item = reader.read()) != null) {
+            items.add(item);
+        }
+        reader.close();
+
+        assertEquals(List.of(10, 20, 40, 50), items);
+        assertTrue(delegate.closed);
+    }
+
+    @Test
+    void closeWaitsForReadStageBeforeClosingDelegate() throws Exception {
+        BlockingReader delegate = new BlockingReader(Integer.MAX_VALUE, true);
+        PipelinedItemReader<Integer, Integer> reader = new PipelinedItemReader<>("blocking", delegate, null,
+                new SimpleAsyncTaskExecutor(), new SyncTaskExecutor(), 2);
+
+        reader.open(new ExecutionContext());
+        assertTrue(delegate.reading.await(5, TimeUnit.SECONDS));
+        reader.close();
+
+        assertTrue(delegate.closed);
+        assertFalse(delegate.closedWhileReading.get());
+    }
+
+    /**
+     * Counts up to a limit; when blocking, every read ignores interrupts for a while, like a driver call.
+     */
+    private static class BlockingReader implements ItemStreamReader<Integer> {
+
+        private final int limit;
+        private final boolean blocking;
+        private final CountDownLatch reading = new CountDownLatch(1);
+        private final AtomicBoolean inRead = new AtomicBoolean();
+        private final AtomicBoolean closedWhileReading = new AtomicBoolean();
+        private volatile boolean closed;
+        private int next;
+
+        BlockingReader(int limit, boolean blocking) {
+            this.limit = limit;
+            this.blocking = blocking;
+        }
+
+        @Override
+        public Integer read() {
+            if (next >= limit) {
+                return null;
+            }
+            inRead.set(true);
+            try {
+                if (blocking) {
+                    reading.countDown();
+                    long end = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(200);
+                    while (System.nanoTime() < end) {
+                        Thread.onSpinWait();
+                    }
+                }
+                return ++next;
+            } finally {
+                inRead.set(false);
+            }
+        }
+
+        @Override
+        public void close() {
+            closedWhileReading.set(inRead.get());
+            closed = true;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.processor;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.scope.context.StepSynchronizationManager;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AsyncItemProcessorTest {
+
+    private final ThreadPoolTaskExecutor taskExecutor = executor();
+
+    @AfterEach
+    void tearDown() {
+        taskExecutor.shutdown();
+        StepSynchronizationManager.close();
+    }
+
+    @Test
+    void itemIsProcessedOnExecutorWithStepExecutionBound() throws Exception {
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+        StepSynchronizationManager.register(stepExecution);
+        Thread caller = Thread.currentThread();
+
+        AsyncItemProcessor<String, String> processor = new AsyncItemProcessor<>(item -> {
+            assertNotEquals(caller, Thread.currentThread());
+            assertSame(stepExecution, StepSynchronizationManager.getContext().getStepExecution());
+            return item.toUpperCase();
+        }, taskExecutor);
+
+        assertEquals("A", processor.process("a").get());
+    }
+
+    @Test
+    void filteredItemCompletesWithNull() throws Exception {
+        AsyncItemProcessor<String, String> processor = new AsyncItemProcessor<>(item -> null, taskExecutor);
+
+        assertNull(processor.process("a").get());
+    }
+
+    @Test
+    void processingErrorFailsTheFuture() {
+        AsyncItemProcessor<String, String> processor = new AsyncItemProcessor<>(item -> {
+            throw new IllegalArgumentException("Bad item " + item);
+        }, taskExecutor);
+
+        Future<String> result = processor.process("a");
+
+        ExecutionException error = assertThrows(ExecutionException.class, result::get);
+        assertInstanceOf(IllegalArgumentException.class, error.getCause());
+    }
+
+    private static ThreadPoolTaskExecutor executor() {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(4);
+        executor.initialize();
+        return executor;
+    }
+}
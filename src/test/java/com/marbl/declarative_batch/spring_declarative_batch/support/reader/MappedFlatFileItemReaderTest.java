@@ -0,0 +1,138 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.reader;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.file.FlatFileParseException;
+import org.springframework.core.io.FileSystemResource;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class MappedFlatFileItemReaderTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void quotedFieldsKeepDelimitersAndEscapedQuotes() throws Exception {
+        Path file = write("plain,\"a,b\",\"say \"\"hi\"\"\",\"\"\r\n\"x;y\",2,3,4\n");
+
+        List<List<String>> items = readAll(reader(file, 0));
+
+        assertEquals(List.of(
+                List.of("plain", "a,b", "say \"hi\"", ""),
+                List.of("x;y", "2", "3", "4")), items);
+    }
+
+    @Test
+    void linesCrossingTheMappingWindowAreRead() throws Exception {
+        Path file = write("first,line\nsecond,longer\nthird,x\n");
+        MappedFlatFileItemReader<List<String>> reader = reader(file, 0);
+        reader.setWindowSize(16);
+
+        assertEquals(List.of(List.of("first", "line"), List.of("second", "longer"), List.of("third", "x")),
+                readAll(reader));
+    }
+
+    @Test
+    void byteOrderMarkIsSkipped() throws Exception {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        content.write(new byte[]{(byte) 0xEF, (byte) 0xBB, (byte) 0xBF});
+        content.write("id,name\n1,Anna\n".getBytes(StandardCharsets.UTF_8));
+        Path file = dir.resolve("bom.csv");
+        Files.write(file, content.toByteArray());
+
+        assertEquals(List.of(List.of("id", "name"), List.of("1", "Anna")), readAll(reader(file, 0)));
+    }
+
+    @Test
+    void restartSeeksToSavedOffset() throws Exception {
+        Path file = write("id,name\n1,Anna\n2,Bruno\n3,Carla\n4,Dario\n");
+        ExecutionContext context = new ExecutionContext();
+
+        MappedFlatFileItemReader<List<String>> first = reader(file, 1);
+        first.open(context);
+        first.read();
+        first.read();
+        first.update(context);
+        first.close();
+
+        assertEquals("id,name\n1,Anna\n2,Bruno\n".length(),
+                context.getLong("MappedFlatFileItemReader.read.offset"));
+
+        // Same bytes turned into a single line: counting lines again would skip past Carla
+        Files.writeString(file, "x".repeat(22) + "\n3,Carla\n4,Dario\n");
+        MappedFlatFileItemReader<List<String>> restarted = reader(file, 1);
+        restarted.open(context);
+        List<List<String>> items = new ArrayList<>();
+        List<String> item;
+        while ((item = restarted.read()) != null) {
+            items.add(item);
+        }
+        restarted.close();
+
+        assertEquals(List.of(List.of("3", "Carla"), List.of("4", "Dario")), items);
+    }
+
+    @Test
+    void lineNumbersAreKeptAfterRestart() throws Exception {
+        Path file = write("id,name\n1,Anna\n2,Bruno\n3\n");
+        ExecutionContext context = new ExecutionContext();
+
+        MappedFlatFileItemReader<List<String>> first = reader(file, 1);
+        first.open(context);
+        first.read();
+        first.update(context);
+        first.close();
+
+        MappedFlatFileItemReader<List<String>> restarted = reader(file, 1);
+        restarted.open(context);
+        restarted.read();
+        FlatFileParseException error = assertThrows(FlatFileParseException.class, restarted::read);
+        restarted.close();
+
+        assertEquals(4, error.getLineNumber());
+        assertEquals("3", error.getInput());
+    }
+
+    private Path write(String content) throws Exception {
+        Path file = dir.resolve("input.csv");
+        Files.writeString(file, content);
+        return file;
+    }
+
+    /**
+     * Reader mapping each line to its values, failing on lines with a single field.
+     */
+    private static MappedFlatFileItemReader<List<String>> reader(Path file, int linesToSkip) {
+        MappedFlatFileItemReader<List<String>> reader = new MappedFlatFileItemReader<>();
+        reader.setResource(new FileSystemResource(file));
+        reader.setLinesToSkip(linesToSkip);
+        reader.setFieldSetMapper(fieldSet -> {
+            if (fieldSet.getFieldCount() < 2) {
+                throw new IllegalArgumentException("Missing fields");
+            }
+            return List.of(fieldSet.getValues());
+        });
+        return reader;
+    }
+
+    private static List<List<String>> readAll(MappedFlatFileItemReader<List<String>> reader) throws Exception {
+        reader.open(new ExecutionContext());
+        List<List<String>> items = new ArrayList<>();
+        List<String> item;
+        while ((item = reader.read()) != null) {
+            items.add(item);
+        }
+        reader.close();
+        return items;
+    }
+}
@@ -0,0 +1,185 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.reader;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.ExecutionContext;
+import org.springframework.batch.item.database.Order;
+import org.springframework.batch.item.database.support.H2PagingQueryProvider;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PrefetchingJdbcPagingItemReaderTest {
+
+    private static final int ROWS = 25;
+    private static final int PAGE_SIZE = 4;
+
+    private EmbeddedDatabase dataSource;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE items (id INT PRIMARY KEY, name VARCHAR(20))");
+        // Inserted out of order, the sort key alone decides the read order
+        IntStream.rangeClosed(1, ROWS).map(i -> ROWS + 1 - i)
+                .forEach(id -> jdbcTemplate.update("INSERT INTO items VALUES (?, ?)", id, "item-" + id));
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    void pagesAreReadInSortKeyOrder() throws Exception {
+        PrefetchingJdbcPagingItemReader<Integer> reader = reader((rs, rowNum) -> rs.getInt("id"));
+        reader.open(new ExecutionContext());
+
+        List<Integer> items = readAll(reader);
+        reader.close();
+
+        assertEquals(IntStream.rangeClosed(1, ROWS).boxed().toList(), items);
+    }
+
+    @Test
+    void restartResumesAfterTheLastConsumedItem() throws Exception {
+        ExecutionContext executionContext = new ExecutionContext();
+        PrefetchingJdbcPagingItemReader<Integer> first = reader((rs, rowNum) -> rs.getInt("id"));
+        first.open(executionContext);
+        for (int i = 0; i < 6; i++) {
+            first.read();
+        }
+        first.update(executionContext);
+        first.close();
+
+        // Saved from the last consumed item, not from the pages already prefetched
+        assertEquals(Map.of("id", 6), executionContext.get("test.start.after"));
+
+        PrefetchingJdbcPagingItemReader<Integer> restarted = reader((rs, rowNum) -> rs.getInt("id"));
+        restarted.open(executionContext);
+        List<Integer> items = readAll(restarted);
+        restarted.close();
+
+        assertEquals(IntStream.rangeClosed(7, ROWS).boxed().toList(), items);
+    }
+
+    @Test
+    void producerFailureIsThrownAfterThePagesAlreadyFetched() throws Exception {
+        PrefetchingJdbcPagingItemReader<Integer> reader = reader((rs, rowNum) -> {
+            int id = rs.getInt("id");
+            if (id == 7) {
+                throw new IllegalStateException("Unreadable row " + id);
+            }
+            return id;
+        });
+        reader.open(new ExecutionContext());
+
+        List<Integer> items = new ArrayList<>();
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> {
+            Integer item;
+            while ((item = reader.read()) != null) {
+                items.add(item);
+            }
+        });
+        reader.close();
+
+        assertEquals(List.of(1, 2, 3, 4), items);
+        assertEquals("Unreadable row 7", error.getMessage());
+    }
+
+    @Test
+    void closeWaitsForTheRunningFetchAndStopsTheProducer() throws Exception {
+        CountDownLatch fetching = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<Integer> mapped = new ArrayList<>();
+        PrefetchingJdbcPagingItemReader<Integer> reader = reader((rs, rowNum) -> {
+            int id = rs.getInt("id");
+            if (id == PAGE_SIZE + 1) {
+                fetching.countDown();
+                // A JDBC call does not react to interrupts: the query ends on its own
+                awaitUninterruptibly(release);
+            }
+            synchronized (mapped) {
+                mapped.add(id);
+            }
+            return id;
+        });
+        reader.open(new ExecutionContext());
+        assertEquals(1, reader.read());
+        assertTrue(fetching.await(5, TimeUnit.SECONDS));
+
+        CompletableFuture<Void> close = CompletableFuture.runAsync(reader::close);
+        assertThrows(TimeoutException.class, () -> close.get(200, TimeUnit.MILLISECONDS));
+
+        release.countDown();
+        close.get(5, TimeUnit.SECONDS);
+
+        // The second page completes, no further page is queried once the reader is closed
+        synchronized (mapped) {
+            assertEquals(IntStream.rangeClosed(1, 2 * PAGE_SIZE).boxed().toList(), mapped);
+        }
+        assertNull(ReflectionTestUtils.getField(reader, "producer"));
+    }
+
+    private PrefetchingJdbcPagingItemReader<Integer> reader(RowMapper<Integer> rowMapper) throws Exception {
+        H2PagingQueryProvider queryProvider = new H2PagingQueryProvider();
+        queryProvider.setSelectClause("SELECT id, name");
+        queryProvider.setFromClause("FROM items");
+        queryProvider.setSortKeys(Map.of("id", Order.ASCENDING));
+
+        PrefetchingJdbcPagingItemReader<Integer> reader = new PrefetchingJdbcPagingItemReader<>();
+        reader.setName("test");
+        reader.setDataSource(dataSource);
+        reader.setQueryProvider(queryProvider);
+        reader.setRowMapper(rowMapper);
+        reader.setPageSize(PAGE_SIZE);
+        reader.setQueueDepth(1);
+        reader.setTaskExecutor(new SimpleAsyncTaskExecutor("test-prefetch-"));
+        reader.afterPropertiesSet();
+        return reader;
+    }
+
+    private static List<Integer> readAll(PrefetchingJdbcPagingItemReader<Integer> reader) throws Exception {
+        List<Integer> items = new ArrayList<>();
+        Integer item;
+        while ((item = reader.read()) != null) {
+            items.add(item);
+        }
+        return items;
+    }
+
+    private static void awaitUninterruptibly(CountDownLatch latch) {
+        boolean interrupted = false;
+        while (true) {
+            try {
+                latch.await();
+                break;
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
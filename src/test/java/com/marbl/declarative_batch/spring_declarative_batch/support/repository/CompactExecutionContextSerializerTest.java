@@ -0,0 +1,138 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.repository;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.repository.dao.DefaultExecutionContextSerializer;
+import org.springframework.batch.core.repository.dao.Jackson2ExecutionContextStringSerializer;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.net.URL;
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactExecutionContextSerializerTest {
+
+    private final CompactExecutionContextSerializer serializer = new CompactExecutionContextSerializer();
+
+    @Test
+    void smallContextIsStoredAsPlainJson() throws Exception {
+        Map<String, Object> context = new HashMap<>(Map.of("read.count", 10L, "read.offset", 4096L));
+
+        byte[] bytes = serialize(context);
+
+        assertEquals('{', bytes[0]);
+        assertEquals(context, serializer.deserialize(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    void largeContextIsStoredDeflated() throws Exception {
+        Map<String, Object> context = supportedValues();
+        List<String> offsets = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            offsets.add("partition-" + i + ":" + (i * 4096L));
+        }
+        context.put("offsets", offsets);
+
+        byte[] bytes = serialize(context);
+
+        assertEquals('~', bytes[0]);
+        assertTrue(bytes.length < plainJson(context).length / 2, "deflated size: " + bytes.length);
+        assertEquals(context, serializer.deserialize(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    void incompressibleContextIsStoredAsPlainJson() throws Exception {
+        Map<String, Object> context = new HashMap<>();
+        byte[] random = new byte[3000];
+        new Random(42).nextBytes(random);
+        context.put("random", Base64.getEncoder().encodeToString(random));
+
+        byte[] bytes = serialize(context);
+
+        assertNotEquals('~', bytes[0]);
+        assertEquals(context, serializer.deserialize(new ByteArrayInputStream(bytes)));
+    }
+
+    @Test
+    void contextWrittenByDefaultSerializerIsRead() throws Exception {
+        Map<String, Object> context = supportedValues();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new DefaultExecutionContextSerializer().serialize(context, out);
+
+        assertEquals(context, serializer.deserialize(new ByteArrayInputStream(out.toByteArray())));
+    }
+
+    @Test
+    void contextWrittenByJacksonSerializerIsRead() throws Exception {
+        Map<String, Object> context = supportedValues();
+
+        assertEquals(context, serializer.deserialize(new ByteArrayInputStream(plainJson(context))));
+    }
+
+    private static Map<String, Object> supportedValues() throws Exception {
+        Properties properties = new Properties();
+        properties.setProperty("key", "value");
+
+        Map<String, Object> context = new LinkedHashMap<>();
+        context.put("string", "text with \"quotes\" and àccents");
+        context.put("character", 'c');
+        context.put("boolean", true);
+        context.put("byte", (byte) 7);
+        context.put("short", (short) 300);
+        context.put("integer", 42);
+        context.put("long", 1L << 40);
+        context.put("float", 1.5f);
+        context.put("double", 2.25d);
+        context.put("bigDecimal", new BigDecimal("12345.6789"));
+        context.put("bigInteger", new BigInteger("123456789012345678901234567890"));
+        context.put("uuid", UUID.fromString("123e4567-e89b-12d3-a456-426614174000"));
+        context.put("date", new Date(1_700_000_000_000L));
+        context.put("sqlDate", java.sql.Date.valueOf("2024-02-29"));
+        context.put("timestamp", new Timestamp(1_700_000_000_123L));
+        context.put("instant", Instant.ofEpochSecond(1_700_000_000L, 123_000_000L));
+        context.put("duration", Duration.ofMinutes(90));
+        context.put("localDate", LocalDate.of(2024, 2, 29));
+        context.put("localTime", LocalTime.of(23, 59, 58));
+        context.put("localDateTime", LocalDateTime.of(2024, 2, 29, 23, 59, 58));
+        context.put("url", new URL("https://example.org/batch"));
+        context.put("list", new ArrayList<>(List.of("a", "b")));
+        context.put("set", new HashSet<>(Set.of(1, 2, 3)));
+        context.put("map", new HashMap<>(Map.of("nested", 1L)));
+        context.put("properties", properties);
+        return context;
+    }
+
+    private byte[] serialize(Map<String, Object> context) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        serializer.serialize(context, out);
+        return out.toByteArray();
+    }
+
+    private static byte[] plainJson(Map<String, Object> context) throws Exception {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new Jackson2ExecutionContextStringSerializer().serialize(context, out);
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,166 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.retry;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.TransientDataAccessResourceException;
+import org.springframework.retry.RetryContext;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GuardedRetryPolicyTest {
+
+    private static final Exception RETRYABLE = new TransientDataAccessResourceException("connection lost");
+    private static final Exception NOT_RETRYABLE = new IllegalStateException("bad record");
+
+    private final AtomicLong clock = new AtomicLong();
+
+    @Test
+    void budgetIsRefilledOverTime() {
+        GuardedRetryPolicy policy = budget(3, 2);
+
+        assertTrue(failOnce(policy, RETRYABLE));
+        assertTrue(failOnce(policy, RETRYABLE));
+        assertFalse(failOnce(policy, RETRYABLE));
+
+        // Two permits per minute: one is back after thirty seconds
+        advanceSeconds(30);
+        assertTrue(failOnce(policy, RETRYABLE));
+        assertFalse(failOnce(policy, RETRYABLE));
+    }
+
+    @Test
+    void nonRetryableExceptionsDoNotUsePermits() {
+        GuardedRetryPolicy policy = budget(3, 1);
+
+        assertFalse(failOnce(policy, NOT_RETRYABLE));
+        assertFalse(failOnce(policy, NOT_RETRYABLE));
+
+        assertTrue(failOnce(policy, RETRYABLE));
+        assertFalse(failOnce(policy, RETRYABLE));
+    }
+
+    @Test
+    void exhaustedRetriesDoNotUsePermits() {
+        GuardedRetryPolicy policy = budget(2, 2);
+
+        RetryContext context = policy.open(null);
+        policy.registerThrowable(context, RETRYABLE);
+        assertTrue(policy.canRetry(context));
+        // Last attempt of the item: no retry left, no permit taken
+        policy.registerThrowable(context, RETRYABLE);
+        assertFalse(policy.canRetry(context));
+
+        assertTrue(failOnce(policy, RETRYABLE));
+        assertFalse(failOnce(policy, RETRYABLE));
+    }
+
+    @Test
+    void circuitOpensAfterThresholdWithinWindow() {
+        GuardedRetryPolicy policy = circuitBreaker();
+
+        assertTrue(failOnce(policy, RETRYABLE));
+        assertFalse(failOnce(policy, RETRYABLE));
+        assertFalse(failOnce(policy, RETRYABLE));
+
+        advanceSeconds(29);
+        assertFalse(failOnce(policy, RETRYABLE));
+    }
+
+    @Test
+    void failuresOutsideWindowDoNotOpenCircuit() {
+        GuardedRetryPolicy policy = circuitBreaker();
+
+        assertTrue(failOnce(policy, RETRYABLE));
+        advanceSeconds(11);
+        assertTrue(failOnce(policy, RETRYABLE));
+    }
+
+    @Test
+    void nonRetryableExceptionsDoNotCountForCircuit() {
+        GuardedRetryPolicy policy = circuitBreaker();
+
+        failOnce(policy, NOT_RETRYABLE);
+        failOnce(policy, NOT_RETRYABLE);
+
+        assertTrue(failOnce(policy, RETRYABLE));
+    }
+
+    @Test
+    void halfOpenCircuitReopensWhenTrialFails() {
+        GuardedRetryPolicy policy = circuitBreaker();
+        openCircuit(policy);
+
+        advanceSeconds(30);
+        RetryContext trial = policy.open(null);
+        policy.registerThrowable(trial, RETRYABLE);
+        assertTrue(policy.canRetry(trial));
+        // Only one trial while half open
+        assertFalse(failOnce(policy, RETRYABLE));
+
+        policy.registerThrowable(trial, RETRYABLE);
+        assertFalse(policy.canRetry(trial));
+        assertFalse(failOnce(policy, RETRYABLE));
+
+        advanceSeconds(30);
+        assertTrue(failOnce(policy, RETRYABLE));
+    }
+
+    @Test
+    void halfOpenCircuitClosesWhenTrialSucceeds() {
+        GuardedRetryPolicy policy = circuitBreaker();
+        openCircuit(policy);
+
+        advanceSeconds(30);
+        RetryContext trial = policy.open(null);
+        policy.registerThrowable(trial, RETRYABLE);
+        assertTrue(policy.canRetry(trial));
+        policy.onSuccess(trial, null, "ok");
+
+        assertTrue(failOnce(policy, RETRYABLE));
+        assertFalse(failOnce(policy, RETRYABLE));
+    }
+
+    @Test
+    void firstAttemptSuccessDoesNotCloseCircuit() {
+        GuardedRetryPolicy policy = circuitBreaker();
+        openCircuit(policy);
+
+        policy.onSuccess(policy.open(null), null, "ok");
+
+        assertFalse(failOnce(policy, RETRYABLE));
+    }
+
+    private GuardedRetryPolicy budget(int limit, int maxRetriesPerMinute) {
+        return new GuardedRetryPolicy("step", limit, List.of(TransientDataAccessResourceException.class),
+                maxRetriesPerMinute, null, 0, 0, clock::get);
+    }
+
+    private GuardedRetryPolicy circuitBreaker() {
+        return new GuardedRetryPolicy("step", 3, List.of(TransientDataAccessResourceException.class),
+                null, 2, 10_000, 30_000, clock::get);
+    }
+
+    private void openCircuit(GuardedRetryPolicy policy) {
+        failOnce(policy, RETRYABLE);
+        assertFalse(failOnce(policy, RETRYABLE));
+    }
+
+    /**
+     * Opens a retry context for a new item, registers its first failure and tells whether a retry follows.
+     */
+    private boolean failOnce(GuardedRetryPolicy policy, Exception exception) {
+        RetryContext context = policy.open(null);
+        policy.registerThrowable(context, exception);
+        boolean canRetry = policy.canRetry(context);
+        policy.close(context);
+        return canRetry;
+    }
+
+    private void advanceSeconds(long seconds) {
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(seconds));
+    }
+}
@@ -0,0 +1,111 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.writer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.SkipWrapper;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AsyncItemWriterTest {
+
+    private final List<String> written = new ArrayList<>();
+
+    private EmbeddedDatabase dataSource;
+
+    @AfterEach
+    void tearDown() {
+        if (dataSource != null) {
+            dataSource.shutdown();
+        }
+    }
+
+    @Test
+    void resultsAreWrittenInReadOrder() throws Exception {
+        // Later items complete first
+        Chunk<Future<String>> chunk = new Chunk<>(List.of(
+                delayed("a", 150), delayed("b", 100), delayed("c", 50), CompletableFuture.completedFuture("d")));
+
+        new AsyncItemWriter<String>(items -> written.addAll(items.getItems())).write(chunk);
+
+        assertEquals(List.of("a", "b", "c", "d"), written);
+    }
+
+    @Test
+    void filteredItemsAreDropped() throws Exception {
+        Chunk<Future<String>> chunk = new Chunk<>(List.of(
+                CompletableFuture.completedFuture("a"), CompletableFuture.completedFuture(null), CompletableFuture.completedFuture("c")));
+
+        new AsyncItemWriter<String>(items -> written.addAll(items.getItems())).write(chunk);
+
+        assertEquals(List.of("a", "c"), written);
+    }
+
+    @Test
+    void processingErrorIsRethrownUnwrapped() {
+        IllegalArgumentException failure = new IllegalArgumentException("Bad item");
+        Chunk<Future<String>> chunk = new Chunk<>(List.of(
+                CompletableFuture.completedFuture("a"),
+                CompletableFuture.supplyAsync(() -> {
+                    throw new CompletionException(failure);
+                })));
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> new AsyncItemWriter<String>(items -> written.addAll(items.getItems())).write(chunk));
+
+        assertSame(failure, error);
+        assertTrue(written.isEmpty());
+    }
+
+    @Test
+    void skipsOfBisectingWriterAreReportedOnPendingResults() throws Exception {
+        dataSource = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        BisectingItemWriter<String> bisecting = new BisectingItemWriter<>(items -> {
+            for (String item : items) {
+                if (item.startsWith("bad-")) {
+                    throw new IllegalArgumentException("Bad item " + item);
+                }
+            }
+            written.addAll(items.getItems());
+        }, new DataSourceTransactionManager(dataSource), Map.of(IllegalArgumentException.class, true), 10);
+
+        Future<String> bad = CompletableFuture.completedFuture("bad-b");
+        Chunk<Future<String>> chunk = new Chunk<>(List.of(
+                CompletableFuture.completedFuture("a"), bad, CompletableFuture.completedFuture("c")));
+        StepContribution contribution = MetaDataInstanceFactory.createStepExecution().createStepContribution();
+
+        AsyncItemWriter<String> writer = new AsyncItemWriter<>(bisecting);
+        BisectingItemWriter.bindContribution((stepContribution, chunkContext) -> {
+            writer.write(chunk);
+            return RepeatStatus.FINISHED;
+        }).execute(contribution, null);
+
+        assertEquals(List.of("a", "c"), written);
+        assertEquals(2, chunk.size());
+        assertEquals(List.of(bad), chunk.getSkips().stream().map(SkipWrapper::getItem).toList());
+        assertTrue(chunk.getSkips().get(0).getException() instanceof IllegalArgumentException);
+        assertEquals(1, contribution.getWriteSkipCount());
+    }
+
+    private static Future<String> delayed(String item, long millis) {
+        return CompletableFuture.supplyAsync(() -> item, CompletableFuture.delayedExecutor(millis, TimeUnit.MILLISECONDS));
+    }
+}
@@ -0,0 +1,197 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.writer;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.core.JobExecution;
+import org.springframework.batch.core.JobParameters;
+import org.springframework.batch.core.SkipListener;
+import org.springframework.batch.core.StepContribution;
+import org.springframework.batch.core.StepExecution;
+import org.springframework.batch.core.repository.JobRepository;
+import org.springframework.batch.core.repository.support.ResourcelessJobRepository;
+import org.springframework.batch.core.step.builder.StepBuilder;
+import org.springframework.batch.core.step.skip.SkipLimitExceededException;
+import org.springframework.batch.item.Chunk;
+import org.springframework.batch.item.ItemWriter;
+import org.springframework.batch.item.SkipWrapper;
+import org.springframework.batch.item.support.ListItemReader;
+import org.springframework.batch.repeat.RepeatStatus;
+import org.springframework.batch.test.MetaDataInstanceFactory;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BisectingItemWriterTest {
+
+    private final RecordingWriter delegate = new RecordingWriter();
+
+    // Savepoints need a real datasource
+    private EmbeddedDatabase dataSource;
+    private PlatformTransactionManager transactionManager;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        transactionManager = new DataSourceTransactionManager(dataSource);
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    void oneBadItemIsIsolatedAndSkipped() throws Exception {
+        Chunk<String> chunk = new Chunk<>(List.of("a", "b", "c", "bad-d", "e", "f", "g", "h"));
+        StepContribution contribution = contribution();
+
+        write(writer(10), chunk, contribution);
+
+        assertEquals(List.of("a", "b", "c", "e", "f", "g", "h"), delegate.written);
+        assertEquals(List.of("a", "b", "c", "e", "f", "g", "h"), chunk.getItems());
+        assertEquals(List.of("bad-d"), skippedItems(chunk));
+        assertEquals(1, contribution.getWriteSkipCount());
+        // Whole chunk, then one failing and one passing half per level: 1 + 2 * log2(8)
+        assertTrue(delegate.attempts <= 7, "attempts: " + delegate.attempts);
+    }
+
+    @Test
+    void allBadItemsAreSkipped() throws Exception {
+        Chunk<String> chunk = new Chunk<>(List.of("bad-a", "bad-b", "bad-c", "bad-d"));
+        StepContribution contribution = contribution();
+
+        write(writer(10), chunk, contribution);
+
+        assertTrue(delegate.written.isEmpty());
+        assertTrue(chunk.isEmpty());
+        assertEquals(List.of("bad-a", "bad-b", "bad-c", "bad-d"), skippedItems(chunk));
+        assertEquals(4, contribution.getWriteSkipCount());
+    }
+
+    @Test
+    void nonSkippableExceptionIsRethrown() {
+        Chunk<String> chunk = new Chunk<>(List.of("a", "bad-b", "fatal-c", "d"));
+        StepContribution contribution = contribution();
+
+        assertThrows(IllegalStateException.class, () -> write(writer(10), chunk, contribution));
+
+        assertEquals(4, chunk.size());
+        assertTrue(chunk.getSkips().isEmpty());
+        assertEquals(0, contribution.getWriteSkipCount());
+    }
+
+    @Test
+    void skipLimitCountsSkipsOfCurrentChunk() {
+        Chunk<String> chunk = new Chunk<>(List.of("bad-a", "b", "bad-c", "d", "bad-e"));
+        StepContribution contribution = contribution();
+
+        assertThrows(SkipLimitExceededException.class, () -> write(writer(2), chunk, contribution));
+
+        assertTrue(chunk.getSkips().isEmpty());
+        assertEquals(0, contribution.getWriteSkipCount());
+    }
+
+    @Test
+    void skipLimitCountsSkipsOfPreviousChunks() {
+        Chunk<String> chunk = new Chunk<>(List.of("a", "bad-b"));
+        StepExecution stepExecution = MetaDataInstanceFactory.createStepExecution();
+        stepExecution.setWriteSkipCount(2);
+        StepContribution contribution = stepExecution.createStepContribution();
+
+        assertThrows(SkipLimitExceededException.class, () -> write(writer(2), chunk, contribution));
+    }
+
+    @Test
+    void failingItemFailsWriteOutsideBisectingStep() {
+        Chunk<String> chunk = new Chunk<>(List.of("a", "bad-b"));
+
+        assertThrows(IllegalArgumentException.class, () -> writer(10).write(chunk));
+    }
+
+    @Test
+    void skipsAreReportedToStep() throws Exception {
+        JobRepository jobRepository = new ResourcelessJobRepository();
+        List<String> skippedOnWrite = new ArrayList<>();
+        List<String> items = List.of("a", "b", "c", "d", "e", "f", "bad-g", "h", "i", "j");
+
+        var step = new BisectingStepBuilder<>(new StepBuilder("bisect", jobRepository)
+                .<String, String>chunk(5, transactionManager)
+                .reader(new ListItemReader<>(items))
+                .writer(writer(10)))
+                .skip(IllegalArgumentException.class)
+                .skipLimit(10)
+                .listener(new SkipListener<String, String>() {
+                    @Override
+                    public void onSkipInWrite(String item, Throwable t) {
+                        skippedOnWrite.add(item);
+                    }
+                })
+                .build();
+
+        JobExecution jobExecution = jobRepository.createJobExecution("job", new JobParameters());
+        StepExecution stepExecution = jobExecution.createStepExecution("bisect");
+        jobRepository.add(stepExecution);
+        step.execute(stepExecution);
+
+        assertEquals(9, delegate.written.size());
+        assertEquals(9, stepExecution.getWriteCount());
+        assertEquals(1, stepExecution.getWriteSkipCount());
+        assertEquals(0, stepExecution.getRollbackCount());
+        assertEquals(List.of("bad-g"), skippedOnWrite);
+    }
+
+    private BisectingItemWriter<String> writer(int skipLimit) {
+        return new BisectingItemWriter<>(delegate, transactionManager,
+                Map.of(IllegalArgumentException.class, true), skipLimit);
+    }
+
+    private static StepContribution contribution() {
+        return MetaDataInstanceFactory.createStepExecution().createStepContribution();
+    }
+
+    private static void write(BisectingItemWriter<String> writer, Chunk<String> chunk,
+                              StepContribution contribution) throws Exception {
+        BisectingItemWriter.bindContribution((stepContribution, chunkContext) -> {
+            writer.write(chunk);
+            return RepeatStatus.FINISHED;
+        }).execute(contribution, null);
+    }
+
+    private static List<String> skippedItems(Chunk<String> chunk) {
+        return chunk.getSkips().stream().map(SkipWrapper::getItem).toList();
+    }
+
+    /**
+     * Fails the whole write when any item is bad: {@code bad-} items are skippable, {@code fatal-} ones are not.
+     */
+    private static class RecordingWriter implements ItemWriter<String> {
+
+        private final List<String> written = new ArrayList<>();
+        private int attempts;
+
+        @Override
+        public void write(Chunk<? extends String> chunk) {
+            attempts++;
+            for (String item : chunk) {
+                if (item.startsWith("fatal-")) {
+                    throw new IllegalStateException("Fatal item " + item);
+                }
+                if (item.startsWith("bad-")) {
+                    throw new IllegalArgumentException("Bad item " + item);
+                }
+            }
+            written.addAll(chunk.getItems());
+        }
+    }
+}
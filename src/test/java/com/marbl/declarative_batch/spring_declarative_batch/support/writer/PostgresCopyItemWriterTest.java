@@ -0,0 +1,158 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.writer;
+
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.writer.PostgresCopyWriterConfig.CopyFormat;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.batch.item.Chunk;
+
+import javax.sql.DataSource;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PostgresCopyItemWriterTest {
+
+    private final ByteArrayOutputStream copied = new ByteArrayOutputStream();
+
+    private DataSource dataSource;
+    private Connection connection;
+    private CopyManager copyManager;
+    private CopyIn copyIn;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        dataSource = mock(DataSource.class);
+        connection = mock(Connection.class);
+        PGConnection pgConnection = mock(PGConnection.class);
+        copyManager = mock(CopyManager.class);
+        copyIn = mock(CopyIn.class);
+
+        when(dataSource.getConnection()).thenReturn(connection);
+        when(connection.unwrap(PGConnection.class)).thenReturn(pgConnection);
+        when(pgConnection.getCopyAPI()).thenReturn(copyManager);
+        when(copyManager.copyIn(anyString())).thenReturn(copyIn);
+        doAnswer(invocation -> {
+            copied.write(invocation.<byte[]>getArgument(0), invocation.getArgument(1), invocation.getArgument(2));
+            return null;
+        }).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+    }
+
+    @Test
+    void csvQuotesValuesAndEncodesByteaAsHex() throws Exception {
+        PostgresCopyItemWriter<Object[]> writer = writer(CopyFormat.CSV);
+
+        writer.write(chunk(
+                new Object[]{1, "say \"hi\", then\nleave", new byte[]{0x0a, (byte) 0xff}},
+                new Object[]{2, "", null}));
+
+        verify(copyManager).copyIn("COPY items (id, name, payload) FROM STDIN WITH (FORMAT csv)");
+        assertEquals("\"1\",\"say \"\"hi\"\", then\nleave\",\"\\x0aff\"\n\"2\",\"\",\n",
+                copied.toString(StandardCharsets.UTF_8));
+        verify(copyIn).endCopy();
+        verify(connection).close();
+    }
+
+    @Test
+    void binaryWritesThePgcopyEncoding() throws Exception {
+        PostgresCopyItemWriter<Object[]> writer = writer(CopyFormat.BINARY);
+
+        writer.write(chunk(new Object[]{42, "a", LocalDate.of(2000, 1, 3)}, new Object[]{7L, null, new byte[]{1, 2}}));
+
+        ByteArrayOutputStream expected = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(expected);
+        out.write(new byte[]{'P', 'G', 'C', 'O', 'P', 'Y', '\n', (byte) 0xFF, '\r', '\n', 0});
+        out.writeInt(0);
+        out.writeInt(0);
+        out.writeShort(3);
+        out.writeInt(4);
+        out.writeInt(42);
+        out.writeInt(1);
+        out.writeByte('a');
+        out.writeInt(4);
+        out.writeInt(2); // days since 2000-01-01
+        out.writeShort(3);
+        out.writeInt(8);
+        out.writeLong(7L);
+        out.writeInt(-1);
+        out.writeInt(2);
+        out.write(new byte[]{1, 2});
+        out.writeShort(-1);
+
+        verify(copyManager).copyIn("COPY items (id, name, payload) FROM STDIN WITH (FORMAT binary)");
+        assertArrayEquals(expected.toByteArray(), copied.toByteArray());
+    }
+
+    @Test
+    void binaryRejectsUnsupportedTypesAndCancelsTheCopy() throws Exception {
+        PostgresCopyItemWriter<Object[]> writer = writer(CopyFormat.BINARY);
+        when(copyIn.isActive()).thenReturn(true);
+
+        assertThrows(IllegalArgumentException.class,
+                () -> writer.write(chunk(new Object[]{1, "a", new BigDecimal("1.5")})));
+
+        verify(copyIn).cancelCopy();
+        verify(copyIn, never()).endCopy();
+        verify(connection).close();
+    }
+
+    @Test
+    void copyFailureIsReportedWithTheCancelFailureSuppressed() throws Exception {
+        PostgresCopyItemWriter<Object[]> writer = writer(CopyFormat.CSV);
+        SQLException copyError = new SQLException("copy failed");
+        SQLException cancelError = new SQLException("cancel failed");
+        when(copyIn.isActive()).thenReturn(true);
+        doThrow(copyError).when(copyIn).writeToCopy(any(byte[].class), anyInt(), anyInt());
+        doThrow(cancelError).when(copyIn).cancelCopy();
+
+        SQLException error = assertThrows(SQLException.class,
+                () -> writer.write(chunk(new Object[]{1, "a", null})));
+
+        assertSame(copyError, error);
+        assertArrayEquals(new Throwable[]{cancelError}, error.getSuppressed());
+        verify(connection).close();
+    }
+
+    @Test
+    void emptyChunkDoesNotOpenACopy() throws Exception {
+        writer(CopyFormat.CSV).write(new Chunk<>());
+
+        verify(dataSource, never()).getConnection();
+    }
+
+    private static Chunk<Object[]> chunk(Object[]... rows) {
+        return new Chunk<>(List.of(rows));
+    }
+
+    private PostgresCopyItemWriter<Object[]> writer(CopyFormat format) {
+        PostgresCopyItemWriter<Object[]> writer = new PostgresCopyItemWriter<>();
+        writer.setDataSource(dataSource);
+        writer.setTable("items");
+        writer.setColumns(new String[]{"id", "name", "payload"});
+        writer.setFieldExtractor(item -> item);
+        writer.setFormat(format);
+        writer.afterPropertiesSet();
+        return writer;
+    }
+}
@@ -0,0 +1,127 @@
+package com.marbl.declarative_batch.spring_declarative_batch.support.writer;
+
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.writer.StagingMergeWriterConfig.ClearMode;
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.writer.StagingMergeWriterConfig.LoadMethod;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.batch.item.Chunk;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabase;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseBuilder;
+import org.springframework.jdbc.datasource.embedded.EmbeddedDatabaseType;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StagingMergeItemWriterTest {
+
+    private EmbeddedDatabase dataSource;
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        dataSource = new EmbeddedDatabaseBuilder().setType(EmbeddedDatabaseType.H2).generateUniqueName(true).build();
+        jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("CREATE TABLE target (id INT PRIMARY KEY, name VARCHAR(20))");
+        jdbcTemplate.execute("CREATE TABLE stg (id INT, name VARCHAR(20))");
+    }
+
+    @AfterEach
+    void tearDown() {
+        dataSource.shutdown();
+    }
+
+    @Test
+    void eachChunkIsStagedAndMergedInTheChunkTransaction() throws Exception {
+        StagingMergeItemWriter<Object[]> writer = writer(ClearMode.TRUNCATE,
+                "MERGE INTO target (id, name) KEY (id) SELECT id, name FROM stg");
+        TransactionTemplate chunkTransaction = new TransactionTemplate(new DataSourceTransactionManager(dataSource));
+
+        for (Chunk<Object[]> chunk : List.of(
+                chunk(new Object[]{1, "a"}, new Object[]{2, "b"}),
+                chunk(new Object[]{2, "b2"}, new Object[]{3, "c"}))) {
+            chunkTransaction.executeWithoutResult(status -> {
+                try {
+                    writer.write(chunk);
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            });
+        }
+
+        assertEquals(Map.of(1, "a", 2, "b2", 3, "c"), table("target"));
+        // Cleared before the second chunk, which left its own rows
+        assertEquals(Map.of(2, "b2", 3, "c"), table("stg"));
+    }
+
+    @Test
+    void unboundDatasourceWritesTheChunkInALocalTransaction() {
+        jdbcTemplate.update("INSERT INTO target VALUES (1, 'a')");
+        StagingMergeItemWriter<Object[]> writer = writer(ClearMode.DELETE, "INSERT INTO target SELECT id, name FROM stg");
+
+        assertThrows(DuplicateKeyException.class,
+                () -> writer.write(chunk(new Object[]{2, "b"}, new Object[]{1, "duplicate"})));
+
+        // The staged rows and the merge are rolled back together
+        assertEquals(Map.of(1, "a"), table("target"));
+        assertEquals(Map.of(), table("stg"));
+    }
+
+    @Test
+    void onlyATempTableEmptiedOnCommitIsTransactionScoped() {
+        StagingMergeItemWriter<Object[]> writer = writer(ClearMode.NONE, "SELECT 1");
+
+        writer.setStagingDdl("CREATE TEMP TABLE IF NOT EXISTS stg (id INT) ON COMMIT DELETE ROWS");
+        assertTrue(writer.usesTransactionScopedStaging());
+
+        writer.setStagingDdl("create temporary table stg (id int)\non commit drop");
+        assertTrue(writer.usesTransactionScopedStaging());
+
+        writer.setStagingDdl("CREATE TEMP TABLE IF NOT EXISTS stg (id INT) ON COMMIT PRESERVE ROWS");
+        assertFalse(writer.usesTransactionScopedStaging());
+
+        writer.setStagingDdl(null);
+        assertFalse(writer.usesTransactionScopedStaging());
+
+        writer.setStagingDdl("CREATE TEMP TABLE IF NOT EXISTS stg (id INT) ON COMMIT DELETE ROWS");
+        writer.setClearMode(ClearMode.TRUNCATE);
+        assertFalse(writer.usesTransactionScopedStaging());
+    }
+
+    private StagingMergeItemWriter<Object[]> writer(ClearMode clearMode, String mergeSql) {
+        StagingMergeItemWriter<Object[]> writer = new StagingMergeItemWriter<>();
+        writer.setDataSource(dataSource);
+        writer.setStagingTable("stg");
+        writer.setColumns(new String[]{"id", "name"});
+        writer.setMergeSql(mergeSql);
+        writer.setLoadMethod(LoadMethod.BATCH);
+        writer.setClearMode(clearMode);
+        writer.setFieldExtractor(item -> item);
+        writer.afterPropertiesSet();
+        return writer;
+    }
+
+    private Map<Integer, String> table(String name) {
+        return jdbcTemplate.query("SELECT id, name FROM " + name, rs -> {
+            Map<Integer, String> rows = new HashMap<>();
+            while (rs.next()) {
+                rows.put(rs.getInt("id"), rs.getString("name"));
+            }
+            return rows;
+        });
+    }
+
+    private static Chunk<Object[]> chunk(Object[]... rows) {
+        return new Chunk<>(List.of(rows));
+    }
+}
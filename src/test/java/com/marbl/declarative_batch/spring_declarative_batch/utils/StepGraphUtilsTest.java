@@ -0,0 +1,89 @@
+package com.marbl.declarative_batch.spring_declarative_batch.utils;
+
+import com.marbl.declarative_batch.spring_declarative_batch.configuration.batch.StepsConfig;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class StepGraphUtilsTest {
+
+    @Test
+    void stepsAreGroupedAfterTheirDeepestDependency() {
+        List<StepsConfig> steps = List.of(
+                step("report", "load", "audit"),
+                step("extract"),
+                step("load", "transform"),
+                step("transform", "extract"),
+                step("audit", "extract"),
+                step("cleanup"));
+
+        List<List<String>> levels = StepGraphUtils.topologicalLevels(steps).stream()
+                .map(level -> level.stream().map(StepsConfig::getName).toList())
+                .toList();
+
+        // Declaration order is kept inside a level
+        assertEquals(List.of(
+                List.of("extract", "cleanup"),
+                List.of("transform", "audit"),
+                List.of("load"),
+                List.of("report")), levels);
+    }
+
+    @Test
+    void unknownDependencyIsRejected() {
+        List<StepsConfig> steps = List.of(step("extract"), step("load", "transfrom"));
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> StepGraphUtils.topologicalLevels(steps));
+
+        assertEquals("Step 'load' depends on unknown step: transfrom", error.getMessage());
+    }
+
+    @Test
+    void cycleIsRejectedWithItsPath() {
+        List<StepsConfig> steps = List.of(
+                step("extract"),
+                step("transform", "extract", "validate"),
+                step("load", "transform"),
+                step("validate", "load"));
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> StepGraphUtils.topologicalLevels(steps));
+
+        assertEquals("Cyclic step dependencies: transform -> validate -> load -> transform", error.getMessage());
+    }
+
+    @Test
+    void selfDependencyIsACycle() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> StepGraphUtils.topologicalLevels(List.of(step("load", "load"))));
+
+        assertEquals("Cyclic step dependencies: load -> load", error.getMessage());
+    }
+
+    @Test
+    void duplicateStepNameIsRejected() {
+        assertThrows(IllegalArgumentException.class,
+                () -> StepGraphUtils.topologicalLevels(List.of(step("load"), step("load"))));
+    }
+
+    @Test
+    void jobIsADependencyGraphOnlyWhenAStepDeclaresDependsOn() {
+        assertFalse(StepGraphUtils.hasDependencies(List.of(step("extract"), step("load"))));
+        assertTrue(StepGraphUtils.hasDependencies(List.of(step("extract"), step("load", "extract"))));
+    }
+
+    private static StepsConfig step(String name, String... dependsOn) {
+        StepsConfig step = new StepsConfig();
+        step.setName(name);
+        if (dependsOn.length > 0) {
+            step.setDependsOn(List.of(dependsOn));
+        }
+        return step;
+    }
+}